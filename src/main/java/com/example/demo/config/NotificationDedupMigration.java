@@ -0,0 +1,104 @@
+package com.example.demo.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * notification 테이블의 중복 방지 유니크 키(uk_notification_dedup) 마이그레이션
+ * 예전 스케줄 단위 알림은 schedule_id가 비어 있어 유니크 키에 걸리지 않고(MySQL은 NULL끼리 중복으로 보지 않음),
+ * 이미 중복 행이 있으면 ddl-auto=update의 유니크 키 추가가 실패한 채로 넘어간다.
+ * 시작 시 중복 행 삭제 → schedule_id 채우기 → 유니크 키가 없으면 추가 순서로 정리한다. (여러 번 실행해도 결과 동일)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDedupMigration {
+
+    private static final String INDEX_NAME = "uk_notification_dedup";
+
+    // relatedId에 스케줄 ID를 저장하는 스케줄 단위 알림 (ScheduleNotificationService.sendAndSaveNotification)
+    private static final String SCHEDULE_LEVEL_TYPES =
+            "'SCHEDULE_START', 'SUPPLIES_REMINDER', 'ROUTINE_START_REMINDER', 'SEVERE_WEATHER_ALERT', 'TRAFFIC_DELAY_ALERT'";
+
+    // 유니크 키 대상 행 (schedule_id가 있거나, 채워질 예정인 스케줄 단위 알림)
+    private static final String DEDUP_TARGET = "(%1$s.schedule_id IS NOT NULL OR %1$s.notification_type IN (" + SCHEDULE_LEVEL_TYPES + "))";
+
+    // 같은 알림 중 가장 먼저 저장된 행만 남김 (schedule_id가 비어 있으면 채워질 값인 related_id로 비교)
+    private static final String DELETE_DUPLICATES =
+            "DELETE FROM notification WHERE id IN (SELECT id FROM (" +
+            "SELECT n1.id FROM notification n1 JOIN notification n2" +
+            " ON n1.user_id = n2.user_id" +
+            " AND n1.related_id = n2.related_id" +
+            " AND n1.notification_type = n2.notification_type" +
+            " AND COALESCE(n1.schedule_id, n1.related_id) = COALESCE(n2.schedule_id, n2.related_id)" +
+            " AND n1.id > n2.id" +
+            " WHERE " + String.format(DEDUP_TARGET, "n1") + " AND " + String.format(DEDUP_TARGET, "n2") +
+            ") duplicate)";
+
+    private static final String BACKFILL_SCHEDULE_ID =
+            "UPDATE notification SET schedule_id = related_id" +
+            " WHERE schedule_id IS NULL AND related_id IS NOT NULL" +
+            " AND notification_type IN (" + SCHEDULE_LEVEL_TYPES + ")";
+
+    private static final String ADD_UNIQUE_KEY =
+            "ALTER TABLE notification ADD CONSTRAINT " + INDEX_NAME +
+            " UNIQUE (user_id, schedule_id, related_id, notification_type)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${igo.notification.dedup-migration.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int deleted = jdbcTemplate.update(DELETE_DUPLICATES);
+            int backfilled = jdbcTemplate.update(BACKFILL_SCHEDULE_ID);
+            boolean created = false;
+            if (!hasUniqueKey()) {
+                jdbcTemplate.execute(ADD_UNIQUE_KEY);
+                created = true;
+            }
+            if (deleted > 0 || backfilled > 0 || created) {
+                log.info("✅ [NotificationDedupMigration] 알림 중복 정리 완료 - 중복 삭제: {}건, schedule_id 채움: {}건, 유니크 키 추가: {}",
+                        deleted, backfilled, created);
+            }
+        } catch (DataAccessException e) {
+            // 실패해도 저장 경로의 중복 확인(sentKeys)은 동작하므로 기동은 계속함
+            log.error("❌ [NotificationDedupMigration] 알림 중복 정리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean hasUniqueKey() {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // MySQL은 소문자, H2는 대문자로 테이블 이름을 저장
+            for (String table : new String[]{"notification", "NOTIFICATION"}) {
+                try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+                    while (indexes.next()) {
+                        // H2는 제약 조건 이름 뒤에 접미사를 붙인 인덱스를 만듦
+                        String indexName = indexes.getString("INDEX_NAME");
+                        if (indexName != null && indexName.toLowerCase().startsWith(INDEX_NAME)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class NotificationExecutorConfig {
+
+    @Value("${igo.notification.fcm.pool-size:16}")
+    private int poolSize;
+
+    @Value("${igo.notification.fcm.queue-capacity:1000}")
+    private int queueCapacity;
+
+    /**
+     * 알림 전송 전용 스레드 풀
+     * 큐가 가득 차면 호출한 스레드(알림 스케줄러)가 직접 실행하여 자연스럽게 back-pressure가 걸린다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor fcmSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("fcm-send-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
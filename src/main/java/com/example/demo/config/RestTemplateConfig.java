@@ -1,14 +1,139 @@
 package com.example.demo.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 외부 API별 RestTemplate 설정
+ * 제공자마다 커넥션 풀을 분리해 한 API가 느려져도 다른 API 호출이 막히지 않도록 한다.
+ * 설정: igo.http.<provider>.max-connections / connect-timeout-ms / read-timeout-ms / acquire-timeout-ms
+ */
+@Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class RestTemplateConfig {
-    
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    private final List<CloseableHttpClient> httpClients = new CopyOnWriteArrayList<>();
+
+    // Google Maps (Geocoding, Places)
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        return pooledRestTemplate("google", 20, 3000, 5000);
+    }
+
+    // TMAP 도보/자동차/대중교통
+    @Bean
+    public RestTemplate tmapRestTemplate() {
+        return pooledRestTemplate("tmap", 20, 3000, 10000);
+    }
+
+    // ODsay 대중교통
+    @Bean
+    public RestTemplate odsayRestTemplate() {
+        return pooledRestTemplate("odsay", 20, 3000, 10000);
+    }
+
+    // OpenAI (응답 생성이 오래 걸리므로 읽기 타임아웃을 길게 둔다)
+    @Bean
+    public RestTemplate openAiRestTemplate() {
+        return pooledRestTemplate("openai", 10, 5000, 60000);
+    }
+
+    // Google OAuth 토큰 취소
+    @Bean
+    public RestTemplate oauthRestTemplate() {
+        return pooledRestTemplate("oauth", 5, 3000, 5000);
+    }
+
+    @PreDestroy
+    public void closeHttpClients() {
+        for (CloseableHttpClient httpClient : httpClients) {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                log.warn("⚠️ [RestTemplateConfig] HTTP 클라이언트 종료 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private RestTemplate pooledRestTemplate(String provider, int defaultMaxConnections,
+                                            int defaultConnectTimeoutMs, int defaultReadTimeoutMs) {
+        String prefix = "igo.http." + provider + ".";
+        int maxConnections = environment.getProperty(prefix + "max-connections", Integer.class, defaultMaxConnections);
+        int connectTimeoutMs = environment.getProperty(prefix + "connect-timeout-ms", Integer.class, defaultConnectTimeoutMs);
+        int readTimeoutMs = environment.getProperty(prefix + "read-timeout-ms", Integer.class, defaultReadTimeoutMs);
+        int acquireTimeoutMs = environment.getProperty(prefix + "acquire-timeout-ms", Integer.class, 2000);
+
+        // 제공자별 호스트가 하나이므로 라우트당 최대 커넥션 = 전체 최대 커넥션
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        // keep-alive: 서버가 Keep-Alive 헤더를 주지 않으면 기본 3분 유지, 30초 이상 유휴 커넥션은 정리
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+        httpClients.add(httpClient);
+
+        registerPoolMetrics(provider, connectionManager);
+        log.info("✅ [RestTemplateConfig] {} HTTP 풀 생성 - 최대 커넥션: {}, 연결/응답 타임아웃: {}ms/{}ms",
+                provider, maxConnections, connectTimeoutMs, readTimeoutMs);
+
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    private void registerPoolMetrics(String provider, PoolingHttpClientConnectionManager connectionManager) {
+        Gauge.builder("igo.http.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .description("사용 중인 커넥션 수")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("igo.http.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .description("유휴 커넥션 수")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("igo.http.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("커넥션을 기다리는 요청 수")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("igo.http.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .description("최대 커넥션 수")
+                .tag("provider", provider)
+                .register(meterRegistry);
     }
 }
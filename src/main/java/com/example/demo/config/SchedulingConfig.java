@@ -0,0 +1,31 @@
+package com.example.demo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Slf4j
+@Configuration
+public class SchedulingConfig {
+
+    @Value("${igo.scheduling.pool-size:4}")
+    private int poolSize;
+
+    /**
+     * @Scheduled 작업 전용 스레드 풀
+     * 캘린더 outbox 전송처럼 외부 API를 기다리는 작업이 매 분 알림 작업을 밀어내지 않도록 여러 스레드로 실행한다.
+     * (WebSocket 설정이 등록하는 SockJS 스케줄러와 구분되도록 이름을 taskScheduler로 고정)
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("igo-scheduler-");
+        scheduler.setErrorHandler(t -> log.error("❌ [SchedulingConfig] 스케줄 작업 실행 중 오류: {}", t.getMessage(), t));
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.demo.config;
 
+import com.example.demo.jwt.AuthenticatedUserCache;
 import com.example.demo.jwt.JwtAuthenticationFilter;
 import com.example.demo.jwt.JwtTokenProvider;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.service.OAuth2UserService;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.Cookie;
 import lombok.*;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,6 +35,7 @@ public class SecurityConfig {
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
     private final OAuth2UserService oAuth2UserService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -68,6 +71,7 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // 스트리밍 응답 전송 (최초 요청에서 인증 완료)
                         .requestMatchers(
                                 "/greeting", // Greeting 페이지
                                 "/login/**", // 로그인 관련 경로
@@ -108,6 +112,8 @@ public class SecurityConfig {
                                         LocalDateTime.now().plusSeconds(jwtTokenProvider.getRefreshTokenExpirationMillis() / 1000)
                                 );
                                 userRepository.save(user);
+                                // 로그인 시 갱신된 사용자 정보(닉네임, Google 토큰 등)가 인증 캐시에 반영되도록 제거
+                                authenticatedUserCache.invalidate(user.getId());
                             });
 
                             Cookie accessTokenCookie = new Cookie("access_token", accessToken);
@@ -130,7 +136,7 @@ public class SecurityConfig {
                         exceptionHandling.authenticationEntryPoint(new CustomAuthenticationEntryPoint(frontendUrl + "/greeting"))
                 )
                 .addFilterBefore(
-                        new JwtAuthenticationFilter(jwtTokenProvider, userRepository),
+                        new JwtAuthenticationFilter(jwtTokenProvider, authenticatedUserCache),
                         UsernamePasswordAuthenticationFilter.class
                 );
 
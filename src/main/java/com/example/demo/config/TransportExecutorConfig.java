@@ -0,0 +1,53 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class TransportExecutorConfig {
+
+    @Value("${igo.transport.pool-size:12}")
+    private int poolSize;
+
+    @Value("${igo.transport.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${igo.geocoding.pool-size:8}")
+    private int geocodingPoolSize;
+
+    @Value("${igo.geocoding.queue-capacity:100}")
+    private int geocodingQueueCapacity;
+
+    /**
+     * 교통 API(도보/자차/대중교통) 병렬 호출용 스레드 풀
+     * 큐가 가득 차면 호출한 스레드가 직접 실행한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor transportApiExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("transport-api-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * 출발지/도착지 좌표 변환(Geocoding) 병렬 호출용 스레드 풀
+     */
+    @Bean
+    public ThreadPoolTaskExecutor geocodingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(geocodingPoolSize);
+        executor.setMaxPoolSize(geocodingPoolSize);
+        executor.setQueueCapacity(geocodingQueueCapacity);
+        executor.setThreadNamePrefix("geocoding-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -1,17 +1,97 @@
 package com.example.demo.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    @Value("${igo.http.webclient.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${igo.http.webclient.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${igo.http.webclient.read-timeout-ms:10000}")
+    private int readTimeoutMs;
+
+    @Value("${igo.http.webclient.acquire-timeout-ms:2000}")
+    private int acquireTimeoutMs;
+
+    @Value("${openai.api.key}")
+    private String openaiApiKey;
+
+    // 스트리밍 응답은 토큰 사이 간격 기준 (첫 토큰까지 대기 포함)
+    @Value("${igo.http.openai-stream.read-timeout-ms:30000}")
+    private int openAiStreamReadTimeoutMs;
+
+    /**
+     * WebClient 커넥션 풀 (풀 지표는 reactor.netty.connection.provider.* 로 노출)
+     */
     @Bean
-    public WebClient webClient() {
+    public ConnectionProvider webClientConnectionProvider() {
+        return ConnectionProvider.builder("igo-webclient")
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(Duration.ofMillis(acquireTimeoutMs))
+            .maxIdleTime(Duration.ofSeconds(30))
+            .maxLifeTime(Duration.ofMinutes(5))
+            .evictInBackground(Duration.ofSeconds(30))
+            .metrics(true)
+            .build();
+    }
+
+    @Bean
+    public WebClient webClient(ConnectionProvider webClientConnectionProvider) {
         return WebClient.builder()
+            .clientConnector(reactorConnector(webClientConnectionProvider))
             .defaultHeader("User-Agent", "Syu2-Weather-App/1.0")
             .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024)) // 1MB
             .build();
     }
+
+    // ODsay 대중교통 API (역 검색/역 상세정보)
+    @Bean
+    public WebClient odsayWebClient(ConnectionProvider webClientConnectionProvider) {
+        return WebClient.builder()
+            .baseUrl("https://api.odsay.com/v1/api")
+            .clientConnector(reactorConnector(webClientConnectionProvider))
+            .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024)) // 1MB
+            .build();
+    }
+
+    // OpenAI Chat Completions 스트리밍 (SSE)
+    @Bean
+    public WebClient openAiWebClient(ConnectionProvider webClientConnectionProvider) {
+        return WebClient.builder()
+            .baseUrl("https://api.openai.com/v1")
+            .clientConnector(reactorConnector(webClientConnectionProvider, openAiStreamReadTimeoutMs))
+            .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + openaiApiKey)
+            .defaultHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+            .build();
+    }
+
+    private ReactorClientHttpConnector reactorConnector(ConnectionProvider connectionProvider) {
+        return reactorConnector(connectionProvider, readTimeoutMs);
+    }
+
+    private ReactorClientHttpConnector reactorConnector(ConnectionProvider connectionProvider, int responseTimeoutMs) {
+        // TLS 연결에서는 ALPN으로 HTTP/2를 협상하고, 지원하지 않는 서버는 HTTP/1.1 keep-alive 사용
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        return new ReactorClientHttpConnector(httpClient);
+    }
 }
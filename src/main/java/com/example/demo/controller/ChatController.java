@@ -6,9 +6,12 @@ import com.example.demo.entity.entityInterface.AppUser;
 import com.example.demo.service.ChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 
@@ -61,4 +64,28 @@ public class ChatController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 스트리밍 채팅 (Server-Sent Events)
+     * - token: 응답 문장 조각 {"text": "..."}
+     * - result: 일정 처리까지 끝난 최종 ChatResponse
+     * - error: 처리 실패 시 ChatResponse
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamMessage(
+            @AuthenticationPrincipal AppUser appUser,
+            @RequestBody ChatRequest request) {
+
+        log.info("✅ [스트리밍] ChatController - 요청 수신: userId={}, message='{}'",
+            request.getUserId(), request.getMessage());
+
+        if (request.getUserId() == null && appUser != null) {
+            request.setUserId(appUser.getId());
+        }
+        if (request.getCurrentTime() == null) {
+            request.setCurrentTime(LocalDateTime.now());
+        }
+
+        return chatService.streamMessage(request);
+    }
 }
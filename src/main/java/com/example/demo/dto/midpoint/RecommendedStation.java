@@ -17,4 +17,7 @@ public class RecommendedStation {
     private double latitude;          // 위도 (Google Places 기준)
     private Set<String> uniqueLanes;  // 해당 역을 지나는 고유 노선 목록 (ODsay 기준)
     private int laneCount;            // 고유 노선 개수 (정렬용)
+    private Integer stationId;        // ODsay 역 ID (추천 문구 캐시 키)
+    private Integer maxTravelMinutes;     // 참석자 중 가장 오래 걸리는 사람의 예상 이동 시간 (분)
+    private Integer averageTravelMinutes; // 참석자 평균 예상 이동 시간 (분)
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.demo.dto.notification;
+
+import java.util.Map;
+
+/**
+ * 저장된 알림 한 건의 전송 요청 (일괄 전송 시 notificationId로 결과를 매핑)
+ */
+public record NotificationDispatch(Long notificationId, Long userId, String title, String body,
+                                   Map<String, String> data) {
+}
@@ -0,0 +1,17 @@
+package com.example.demo.dto.notification;
+
+/**
+ * 알림 중복 판별 키 (userId, scheduleId, relatedId, notificationType)
+ * 루틴 아이템 알림만 스케줄 ID로 구분하고, 나머지 알림은 relatedId(스케줄 ID)와 타입으로 구분한다.
+ */
+public record NotificationKey(Long userId, Long scheduleId, Long relatedId, String notificationType) {
+
+    public static final String ROUTINE_ITEM_START = "ROUTINE_ITEM_START";
+
+    public NotificationKey {
+        // scheduleId 컬럼이 채워지기 전에 저장된 알림과도 같은 키가 되도록 정규화
+        if (!ROUTINE_ITEM_START.equals(notificationType)) {
+            scheduleId = null;
+        }
+    }
+}
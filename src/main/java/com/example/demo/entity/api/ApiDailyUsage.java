@@ -0,0 +1,60 @@
+package com.example.demo.entity.api;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 외부 API 제공자별 일일 호출 수
+ * 재시작해도 일일 한도가 초기화되지 않도록 ApiQuotaManager가 주기적으로 누적 저장한다.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "api_daily_usage", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_api_daily_usage", columnNames = {"provider", "usage_date"})
+})
+public class ApiDailyUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provider", nullable = false, length = 30)
+    private Provider provider;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Column(name = "call_count", nullable = false)
+    private long callCount;
+
+    /**
+     * 외부 API 제공자 (기본 초당 호출 수, 순간 허용량, 일일 한도)
+     * 일일 한도 -1은 제한 없음. igo.quota.{key}.* 설정으로 변경할 수 있다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Provider {
+        TMAP("tmap", 5.0, 10, -1),
+        TMAP_TRANSIT("tmap-transit", 1.0, 2, 10),
+        ODSAY("odsay", 5.0, 10, -1),
+        GOOGLE_MAPS("google-maps", 10.0, 20, -1),
+        OPENWEATHER("openweather", 1.0, 10, 1000),
+        OPENAI("openai", 3.0, 5, -1);
+
+        private final String key;
+        private final double defaultRatePerSecond;
+        private final int defaultBurst;
+        private final long defaultDailyLimit;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.entity.api;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주소 -> 좌표 변환 결과 캐시
+ * 재시작 후에도 같은 주소로 Google Geocoding API를 다시 호출하지 않도록 GeocodingCache가 저장한다.
+ * 좌표가 없는 행은 검색 결과 없음(ZERO_RESULTS)을 뜻한다.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "geocoding_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_geocoding_cache_address", columnNames = {"normalized_address"})
+}, indexes = {
+        @Index(name = "idx_geocoding_cache_expires_at", columnList = "expires_at")
+})
+public class GeocodingCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "normalized_address", nullable = false, length = 255)
+    private String normalizedAddress;
+
+    private Double lat;
+
+    private Double lng;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public boolean isNegative() {
+        return lat == null || lng == null;
+    }
+}
@@ -15,7 +15,11 @@ import java.time.ZoneId;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "notification")
+@Table(name = "notification", uniqueConstraints = {
+        // 같은 알림의 중복 저장 방지 (userId, scheduleId, relatedId, notificationType)
+        @UniqueConstraint(name = "uk_notification_dedup",
+                columnNames = {"user_id", "schedule_id", "related_id", "notification_type"})
+})
 public class Notification {
 
     @Id
@@ -39,16 +43,27 @@ public class Notification {
     @Column(nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime createdAt;
 
+    @Column(name = "related_id")
     private Long relatedId; // 관련 엔티티의 ID (예: 스케줄 ID)
 
+    @Column(name = "schedule_id")
     private Long scheduleId; // 스케줄 ID (루틴 아이템 알림 구분용)
 
-    @Column(columnDefinition = "VARCHAR(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci")
+    @Column(name = "notification_type", columnDefinition = "VARCHAR(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci")
     private String notificationType; // 알림 타입 (예: "SCHEDULE_START", "NEW_MESSAGE")
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @Builder.Default
+    private DeliveryStatus deliveryStatus = DeliveryStatus.PENDING; // 전송 결과 (비동기 전송 완료 시 갱신)
+
     @PrePersist
     protected void onCreate() {
         // 한국 시간대로 명시적으로 설정
         this.createdAt = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
     }
-}
\ No newline at end of file
+
+    public enum DeliveryStatus {
+        PENDING, SENT_FCM, SENT_WEBSOCKET, FAILED
+    }
+}
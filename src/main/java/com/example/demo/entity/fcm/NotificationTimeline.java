@@ -0,0 +1,49 @@
+package com.example.demo.entity.fcm;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄별 알림 발송 시각(fire time)을 미리 계산해 저장하는 타임라인
+ * 매 분 스케줄러는 fire_at 인덱스로 해당 분에 발송할 항목만 조회한다.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "notification_timeline", indexes = {
+        @Index(name = "idx_notification_timeline_fire_at", columnList = "fireAt"),
+        @Index(name = "idx_notification_timeline_schedule_id", columnList = "scheduleId")
+})
+public class NotificationTimeline {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long scheduleId;
+
+    @Column(nullable = false)
+    private LocalDateTime fireAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private FireType fireType;
+
+    private Long routineItemId; // ROUTINE_ITEM_START 전용
+
+    @Column(columnDefinition = "VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci")
+    private String routineItemName; // ROUTINE_ITEM_START 전용
+
+    // 선언 순서 = 같은 분에 발송될 때의 처리 순서 (상태 전환이 아이템 알림보다 먼저)
+    public enum FireType {
+        ROUTINE_START_REMINDER, SUPPLIES_REMINDER, ROUTINE_START, SCHEDULE_START, ROUTINE_ITEM_START, SCHEDULE_END
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.entity.schedule;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Google Calendar 동기화 대기열 (transactional outbox)
+ * 일정 변경과 같은 트랜잭션에서 저장되고, CalendarOutboxService가 커밋 후 배치로 Google에 반영한다.
+ * 생성 요청은 idempotencyKey로 만든 이벤트 ID를 사용하므로 재시도해도 이벤트가 중복 생성되지 않는다.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "calendar_outbox", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_calendar_outbox_idempotency_key", columnNames = {"idempotencyKey"})
+}, indexes = {
+        @Index(name = "idx_calendar_outbox_status_next", columnList = "status, nextAttemptAt")
+})
+public class CalendarOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long scheduleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Operation operation;
+
+    // 대상 Google Calendar 이벤트 ID (삭제 시에는 일정이 이미 없으므로 여기서 참조)
+    @Column(nullable = false, length = 100)
+    private String eventId;
+
+    @Column(nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Operation {
+        CREATE, UPDATE, DELETE
+    }
+
+    // SKIPPED: 같은 일정의 뒤이은 변경에 흡수되었거나 더 이상 반영할 대상이 없음
+    public enum Status {
+        PENDING, DONE, SKIPPED, FAILED
+    }
+}
@@ -1,18 +1,28 @@
 package com.example.demo.handler;
 
 import com.example.demo.jwt.JwtTokenProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Component
@@ -21,9 +31,40 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
-    // userId -> WebSocketSession 매핑 (한 사용자가 여러 세션을 가질 수 있음)
-    private final Map<String, WebSocketSession> userSessions = new ConcurrentHashMap<>();
+    // 세션 속성에 저장하는 사용자 식별자 키 (sessionId -> userId 역방향 조회용)
+    private static final String USER_ID_ATTRIBUTE = "igo.userId";
+    // 세션 속성에 저장하는 전송용 데코레이터 키
+    private static final String OUTBOUND_ATTRIBUTE = "igo.outbound";
+
+    // userId -> WebSocketSession 집합 (한 사용자가 여러 탭/기기로 접속할 수 있음)
+    private final Map<String, Set<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
+
+    // 전체 세션 수
+    private final AtomicInteger sessionCount = new AtomicInteger();
+
+    // 세션별 전송 제한 (느린 클라이언트가 전송 스레드를 붙잡지 않도록)
+    @Value("${igo.websocket.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+    @Value("${igo.websocket.buffer-size-limit-bytes:524288}")
+    private int bufferSizeLimitBytes;
+    // 버퍼 초과 시 정책 (DROP: 오래된 메시지 버림, TERMINATE: 세션 종료)
+    @Value("${igo.websocket.overflow-strategy:DROP}")
+    private ConcurrentWebSocketSessionDecorator.OverflowStrategy overflowStrategy;
+
+    // 전송 통계 (수신자별 로그 대신 카운터로 집계)
+    private Counter sentFrameCounter;
+    private Counter failedFrameCounter;
+    private Counter broadcastCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        sentFrameCounter = meterRegistry.counter("igo.websocket.frames", "result", "sent");
+        failedFrameCounter = meterRegistry.counter("igo.websocket.frames", "result", "failed");
+        broadcastCounter = meterRegistry.counter("igo.websocket.broadcasts");
+        meterRegistry.gauge("igo.websocket.sessions", sessionCount);
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
@@ -33,12 +74,12 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
 
         if (token != null && jwtTokenProvider.validateToken(token)) {
             String userEmail = jwtTokenProvider.getUserId(token); // 실제로는 이메일이 반환됨
-            userSessions.put(userEmail, session);
+            WebSocketSession outboundSession = registerSession(userEmail, session);
             log.info("✅ [WebSocket] 연결 성공! userEmail: {}, sessionId: {}, 총 연결 수: {}",
-                userEmail, session.getId(), userSessions.size());
+                userEmail, session.getId(), sessionCount.get());
 
             // 연결 성공 메시지 전송
-            sendMessage(session, Map.of(
+            sendMessage(outboundSession, Map.of(
                 "type", "CONNECTION_SUCCESS",
                 "message", "WebSocket 연결이 성공했습니다."
             ));
@@ -56,18 +97,17 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
 
         // PING 메시지에 PONG 응답
         if ("PING".equals(payload)) {
-            sendMessage(session, Map.of("type", "PONG"));
+            sendMessage(outbound(session), Map.of("type", "PONG"));
         }
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         // 연결 종료 시 세션 제거
-        String userId = getUserIdFromSession(session);
+        String userId = unregisterSession(session);
         if (userId != null) {
-            userSessions.remove(userId);
             log.info("🔌 [WebSocket] 연결 종료 - userId: {}, sessionId: {}, 총 연결 수: {}",
-                userId, session.getId(), userSessions.size());
+                userId, session.getId(), sessionCount.get());
         }
     }
 
@@ -84,9 +124,7 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
                 userId != null ? userId : "unknown", session.getId(), exception.getMessage());
         }
 
-        if (userId != null) {
-            userSessions.remove(userId);
-        }
+        unregisterSession(session);
 
         // 세션이 이미 닫혀있을 수 있으므로 체크 후 닫기
         try {
@@ -100,49 +138,123 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
     }
 
     /**
-     * 특정 사용자에게 알림 전송
+     * 특정 사용자에게 알림 전송 (사용자의 모든 세션으로 전송)
+     * @return 전송 성공 여부 (세션이 없거나 모든 세션 전송 실패 시 false)
      */
-    public void sendNotificationToUser(String userId, Map<String, String> notificationData) {
-        WebSocketSession session = userSessions.get(userId);
-        if (session != null && session.isOpen()) {
-            try {
-                Map<String, Object> message = Map.of(
-                    "type", notificationData.getOrDefault("type", "NOTIFICATION"),
-                    "title", notificationData.getOrDefault("title", ""),
-                    "body", notificationData.getOrDefault("body", ""),
-                    "data", notificationData
-                );
-
-                log.info("📤 [WebSocket] 메시지 전송 중...");
-                log.info("   ├─ userId: {}", userId);
-                log.info("   ├─ sessionId: {}", session.getId());
-                log.info("   ├─ type: {}", message.get("type"));
-                log.info("   ├─ title: {}", message.get("title"));
-                log.info("   ├─ body: {}", message.get("body"));
-                log.info("   └─ 전체 메시지: {}", message);
-
-                sendMessage(session, message);
-                log.info("✅ [WebSocket] 메시지 전송 완료: userId={}", userId);
-            } catch (Exception e) {
-                log.error("❌ [WebSocket] 메시지 전송 실패: userId={}, 오류: {}", userId, e.getMessage(), e);
-            }
-        } else {
+    public boolean sendNotificationToUser(String userId, Map<String, String> notificationData) {
+        Set<WebSocketSession> sessions = userSessions.get(userId);
+        if (sessions == null || sessions.isEmpty()) {
             log.debug("⚠️ [WebSocket] 세션이 없거나 닫혀있음: userId={}", userId);
+            return false;
+        }
+
+        TextMessage frame = toNotificationFrame(notificationData);
+        return frame != null && sendFrameToUser(userId, frame);
+    }
+
+    /**
+     * 여러 사용자에게 같은 알림 전송 (예: 지역 기상 특보)
+     * 알림 JSON은 한 번만 직렬화하고 같은 TextMessage를 모든 세션에 전송한다.
+     * @return 한 세션 이상 전송된 사용자 수
+     */
+    public int broadcastNotification(Collection<String> userIds, Map<String, String> notificationData) {
+        TextMessage frame = toNotificationFrame(notificationData);
+        if (frame == null) {
+            return 0;
+        }
+
+        int delivered = 0;
+        for (String userId : userIds) {
+            if (sendFrameToUser(userId, frame)) {
+                delivered++;
+            }
+        }
+        broadcastCounter.increment();
+        log.info("📢 [WebSocket] 브로드캐스트 완료 - type: {}, 대상: {}명, 전송: {}명",
+            notificationData.getOrDefault("type", "NOTIFICATION"), userIds.size(), delivered);
+        return delivered;
+    }
+
+    // 사용자의 모든 세션으로 프레임 전송
+    private boolean sendFrameToUser(String userId, TextMessage frame) {
+        Set<WebSocketSession> sessions = userSessions.get(userId);
+        if (sessions == null) {
+            return false;
+        }
+
+        boolean sent = false;
+        for (WebSocketSession session : sessions) {
+            sent |= sendFrame(userId, session, frame);
+        }
+        return sent;
+    }
+
+    private boolean sendFrame(String userId, WebSocketSession session, TextMessage frame) {
+        if (!session.isOpen()) {
+            log.debug("⚠️ [WebSocket] 세션이 닫혀있음: userId={}, sessionId={}", userId, session.getId());
+            return false;
+        }
+
+        try {
+            session.sendMessage(frame);
+            sentFrameCounter.increment();
+            log.debug("📤 [WebSocket] 메시지 전송 완료: userId={}, sessionId={}", userId, session.getId());
+            return true;
+        } catch (SessionLimitExceededException e) {
+            // 전송 시간/버퍼 제한 초과 - 데코레이터가 세션을 종료함
+            log.warn("⚠️ [WebSocket] 느린 클라이언트 세션 종료: userId={}, sessionId={}, 사유: {}",
+                userId, session.getId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ [WebSocket] 메시지 전송 실패: userId={}, sessionId={}, 오류: {}", userId, session.getId(), e.getMessage());
+        }
+        failedFrameCounter.increment();
+        return false;
+    }
+
+    // 알림 데이터를 전송용 프레임으로 한 번만 직렬화
+    private TextMessage toNotificationFrame(Map<String, String> notificationData) {
+        Map<String, Object> message = Map.of(
+            "type", notificationData.getOrDefault("type", "NOTIFICATION"),
+            "title", notificationData.getOrDefault("title", ""),
+            "body", notificationData.getOrDefault("body", ""),
+            "data", notificationData
+        );
+
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.error("❌ [WebSocket] 알림 직렬화 실패: type={}, 오류: {}", message.get("type"), e.getMessage());
+            return null;
         }
     }
 
     /**
      * 세션에 메시지 전송
+     * 전송용 데코레이터를 거치므로 다른 스레드가 전송 중이면 버퍼에 넣고 바로 반환된다.
      */
-    private void sendMessage(WebSocketSession session, Map<String, ?> message) {
+    private boolean sendMessage(WebSocketSession session, Map<String, ?> message) {
         try {
             String json = objectMapper.writeValueAsString(message);
             session.sendMessage(new TextMessage(json));
+            return true;
+        } catch (SessionLimitExceededException e) {
+            // 전송 시간/버퍼 제한 초과 - 데코레이터가 세션을 종료함
+            log.warn("⚠️ [WebSocket] 느린 클라이언트 세션 종료: sessionId={}, 사유: {}", session.getId(), e.getMessage());
+            return false;
         } catch (IOException e) {
             log.error("메시지 전송 실패: sessionId={}", session.getId(), e);
+            return false;
         }
     }
 
+    /**
+     * 전송용 세션 조회 (등록 전이면 원본 세션)
+     */
+    private WebSocketSession outbound(WebSocketSession session) {
+        Object decorated = session.getAttributes().get(OUTBOUND_ATTRIBUTE);
+        return decorated instanceof WebSocketSession outboundSession ? outboundSession : session;
+    }
+
     /**
      * 쿼리 파라미터에서 토큰 추출
      */
@@ -158,29 +270,61 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
         return null;
     }
 
+    /**
+     * 세션 등록 (userId -> 세션 집합, 세션 속성 -> userId)
+     * 세션은 전송 시간/버퍼 제한이 있는 데코레이터로 감싸서 등록한다.
+     * @return 전송용 세션
+     */
+    private WebSocketSession registerSession(String userId, WebSocketSession session) {
+        WebSocketSession outboundSession = new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMs, bufferSizeLimitBytes, overflowStrategy);
+        session.getAttributes().put(USER_ID_ATTRIBUTE, userId);
+        session.getAttributes().put(OUTBOUND_ATTRIBUTE, outboundSession);
+        if (userSessions.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(outboundSession)) {
+            sessionCount.incrementAndGet();
+        }
+        return outboundSession;
+    }
+
+    /**
+     * 세션 제거 (세션 속성의 userId로 바로 찾아서 제거, 마지막 세션이면 사용자 항목도 제거)
+     * @return 세션의 userId (등록되지 않은 세션이면 null)
+     */
+    private String unregisterSession(WebSocketSession session) {
+        String userId = getUserIdFromSession(session);
+        if (userId == null) {
+            return null;
+        }
+
+        WebSocketSession outboundSession = outbound(session);
+        userSessions.computeIfPresent(userId, (key, sessions) -> {
+            if (sessions.remove(outboundSession)) {
+                sessionCount.decrementAndGet();
+            }
+            return sessions.isEmpty() ? null : sessions;
+        });
+        return userId;
+    }
+
     /**
      * 세션에서 userId 조회
      */
     private String getUserIdFromSession(WebSocketSession session) {
-        return userSessions.entrySet().stream()
-            .filter(entry -> entry.getValue().getId().equals(session.getId()))
-            .map(Map.Entry::getKey)
-            .findFirst()
-            .orElse(null);
+        return (String) session.getAttributes().get(USER_ID_ATTRIBUTE);
     }
 
     /**
-     * 활성 WebSocket 연결 수 반환
+     * 활성 WebSocket 연결(세션) 수 반환
      */
     public int getActiveConnectionCount() {
-        return userSessions.size();
+        return sessionCount.get();
     }
 
     /**
-     * 특정 사용자의 WebSocket 연결 여부 확인
+     * 특정 사용자의 WebSocket 연결 여부 확인 (열린 세션이 하나라도 있으면 true)
      */
     public boolean isUserConnected(String userId) {
-        WebSocketSession session = userSessions.get(userId);
-        return session != null && session.isOpen();
+        Set<WebSocketSession> sessions = userSessions.get(userId);
+        return sessions != null && sessions.stream().anyMatch(WebSocketSession::isOpen);
     }
 }
@@ -0,0 +1,85 @@
+package com.example.demo.jwt;
+
+import com.example.demo.entity.user.User;
+import com.example.demo.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JWT 인증 사용자 캐시 (email -> User)
+ * 매 API 요청마다 findByEmail을 하지 않도록 짧은 TTL과 최대 크기를 두고 보관한다.
+ * 사용자 정보 변경/탈퇴, 로그인 시 invalidate 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${jwt.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private record CachedUser(User user, long expiresAt) {
+    }
+
+    // 접근 순서 LRU (최대 크기 초과 시 가장 오래 사용되지 않은 항목 제거)
+    private final Map<String, CachedUser> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    // 캐시 조회 (없거나 만료되었으면 DB에서 로딩)
+    public Optional<User> findByEmail(String email) {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedUser cached = cache.get(email);
+            if (cached != null && cached.expiresAt() > now) {
+                return Optional.of(cached.user());
+            }
+        }
+
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(found -> {
+            synchronized (cache) {
+                cache.put(email, new CachedUser(found, now + ttlSeconds * 1000));
+            }
+        });
+        return user;
+    }
+
+    // 사용자 변경 시 캐시 무효화 (트랜잭션 종료 후 한 번 더 제거하여 커밋 전에 다시 채워진 값도 정리)
+    public void invalidate(Long userId) {
+        removeUser(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    removeUser(userId);
+                }
+            });
+        }
+        log.debug("인증 사용자 캐시 무효화 - User ID: {}", userId);
+    }
+
+    // 탈퇴 시 이메일이 바뀌므로 이메일이 아닌 사용자 ID로 제거 (사용자 변경은 드물어서 전체 순회)
+    private void removeUser(Long userId) {
+        synchronized (cache) {
+            cache.values().removeIf(cached -> userId.equals(cached.user().getId()));
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.demo.jwt;
 
-import com.example.demo.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -25,7 +25,7 @@ import java.util.ArrayList;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     // 인증이 필요하지 않은 URL 패턴 목록 (SecurityConfig와 일치하게 유지)
     private final List<RequestMatcher> permitAllMatchers = Arrays.asList(
@@ -69,10 +69,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = extractToken(request);
+        // 토큰 검증과 클레임 추출은 요청당 한 번만
+        Claims claims = token != null ? jwtTokenProvider.parseValidClaims(token) : null;
 
         // API 경로에 대해서는 토큰이 없거나 유효하지 않으면 직접 401 응답
         if (request.getRequestURI().startsWith("/api/")) {
-            if (token == null || !jwtTokenProvider.validateToken(token)) {
+            if (claims == null) {
                 SecurityContextHolder.clearContext();
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json;charset=UTF-8");
@@ -82,9 +84,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         // 토큰이 존재하고 유효한 경우에만 인증 시도
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String userId = jwtTokenProvider.getUserId(token);
-            java.util.Optional<com.example.demo.entity.user.User> userOptional = userRepository.findByEmail(userId);
+        if (claims != null) {
+            String userId = claims.get("sub", String.class);
+            // 인증 사용자 캐시 조회 (캐시에 없을 때만 DB 조회)
+            java.util.Optional<com.example.demo.entity.user.User> userOptional =
+                    userId != null ? authenticatedUserCache.findByEmail(userId) : java.util.Optional.empty();
 
             if (userOptional.isPresent()) {
                 com.example.demo.entity.user.User user = userOptional.get();
@@ -30,10 +30,12 @@ public class JwtTokenProvider {
     private long refreshTokenExpirationMillis;
 
     private Key key;
+    private JwtParser jwtParser;
 
     @PostConstruct
     protected void init() {
         this.key = Keys.hmacShaKeyFor(secretKeyEncoded.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public long getAccessTokenExpirationHours() {
@@ -86,20 +88,22 @@ public class JwtTokenProvider {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * 토큰 검증과 클레임 추출을 한 번의 파싱으로 처리
+     * @return 유효한 토큰이면 클레임, 아니면 null
+     */
+    public Claims parseValidClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build()
-                    .parseClaimsJws(token);
-            return true;
+            return extractAllClaims(token);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
     }
+
+    public boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.api.ApiDailyUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface ApiDailyUsageRepository extends JpaRepository<ApiDailyUsage, Long> {
+
+    Optional<ApiDailyUsage> findByProviderAndUsageDate(ApiDailyUsage.Provider provider, LocalDate usageDate);
+
+    // 일일 호출 수 누적 (행이 없으면 0 반환 → 호출 측에서 insert)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ApiDailyUsage u SET u.callCount = u.callCount + :delta WHERE u.provider = :provider AND u.usageDate = :usageDate")
+    int addCallCount(@Param("provider") ApiDailyUsage.Provider provider,
+                     @Param("usageDate") LocalDate usageDate,
+                     @Param("delta") long delta);
+}
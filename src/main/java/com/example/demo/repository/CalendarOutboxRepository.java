@@ -0,0 +1,42 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.schedule.CalendarOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CalendarOutboxRepository extends JpaRepository<CalendarOutbox, Long> {
+
+    // 발송 시각이 된 대기 항목 (등록 순)
+    @Query("SELECT o FROM CalendarOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now ORDER BY o.id ASC")
+    List<CalendarOutbox> findDue(@Param("status") CalendarOutbox.Status status,
+                                 @Param("now") LocalDateTime now,
+                                 Pageable pageable);
+
+    // 같은 일정의 먼저 등록된 대기 항목이 있으면 순서를 지키기 위해 함께 조회
+    List<CalendarOutbox> findByScheduleIdInAndStatusOrderByIdAsc(Collection<Long> scheduleIds, CalendarOutbox.Status status);
+
+    // 생성에 실패한 이벤트를 대상으로 뒤이어 등록된 대기 항목 건너뛰기 (이벤트가 없어 반영할 수 없음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE CalendarOutbox o SET o.status = :skipped " +
+            "WHERE o.scheduleId = :scheduleId AND o.eventId = :eventId AND o.status = :pending AND o.id > :afterId")
+    int skipPendingAfter(@Param("scheduleId") Long scheduleId,
+                         @Param("eventId") String eventId,
+                         @Param("afterId") Long afterId,
+                         @Param("pending") CalendarOutbox.Status pending,
+                         @Param("skipped") CalendarOutbox.Status skipped);
+
+    // 처리 완료 항목 정리
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CalendarOutbox o WHERE o.status <> :pending AND o.createdAt < :before")
+    int deleteFinishedBefore(@Param("pending") CalendarOutbox.Status pending, @Param("before") LocalDateTime before);
+}
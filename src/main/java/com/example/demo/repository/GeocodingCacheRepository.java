@@ -0,0 +1,22 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.api.GeocodingCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface GeocodingCacheRepository extends JpaRepository<GeocodingCacheEntry, Long> {
+
+    Optional<GeocodingCacheEntry> findByNormalizedAddress(String normalizedAddress);
+
+    // 만료된 캐시 정리
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GeocodingCacheEntry g WHERE g.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
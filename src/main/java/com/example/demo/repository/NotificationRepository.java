@@ -1,5 +1,6 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.notification.NotificationKey;
 import com.example.demo.entity.fcm.Notification;
 import com.example.demo.entity.user.User;
 import org.springframework.data.domain.Pageable;
@@ -7,19 +8,33 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserOrderByCreatedAtDesc(User user);
     List<Notification> findByUserAndIsReadOrderByCreatedAtDesc(User user, boolean isRead);
 
-    // 특정 사용자의 특정 관련 ID와 타입으로 알림이 존재하는지 확인하기 위한 메서드
-    Optional<Notification> findByUserAndRelatedIdAndNotificationType(User user, Long relatedId, String notificationType);
+    // 알림 중복 체크용 키 일괄 조회 (한 번의 알림 작업에서 대상 스케줄 전체를 한 번에 조회)
+    // 스케줄 알림은 relatedId, 루틴 아이템 알림은 scheduleId에 스케줄 ID가 저장됨
+    @Query("SELECT new com.example.demo.dto.notification.NotificationKey(n.user.id, n.scheduleId, n.relatedId, n.notificationType) " +
+           "FROM Notification n WHERE n.user.id IN :userIds AND (n.relatedId IN :scheduleIds OR n.scheduleId IN :scheduleIds)")
+    List<NotificationKey> findKeysByUserIdInAndScheduleIdIn(@Param("userIds") Collection<Long> userIds,
+                                                            @Param("scheduleIds") Collection<Long> scheduleIds);
 
-    // 루틴 아이템 알림 중복 체크 (스케줄 ID + 루틴 아이템 ID 조합)
-    Optional<Notification> findByUserAndScheduleIdAndRelatedIdAndNotificationType(User user, Long scheduleId, Long relatedId, String notificationType);
+    // 비동기 전송 완료 후 전송 결과 저장
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.deliveryStatus = :status WHERE n.id = :id")
+    int updateDeliveryStatus(@Param("id") Long id, @Param("status") Notification.DeliveryStatus status);
+
+    // 일괄 전송 완료 후 같은 결과끼리 묶어서 저장
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.deliveryStatus = :status WHERE n.id IN :ids")
+    int updateDeliveryStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") Notification.DeliveryStatus status);
 
     // 사용자의 최근 알림을 Pageable을 사용하여 조회
     List<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
@@ -0,0 +1,31 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.fcm.NotificationTimeline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationTimelineRepository extends JpaRepository<NotificationTimeline, Long> {
+
+    // 발송 시각 범위 조회 (fire_at 인덱스 사용, [from, to) 구간)
+    @Query("SELECT t FROM NotificationTimeline t WHERE t.fireAt >= :from AND t.fireAt < :to ORDER BY t.fireAt ASC")
+    List<NotificationTimeline> findDue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM NotificationTimeline t WHERE t.scheduleId = :scheduleId")
+    void deleteAllByScheduleId(@Param("scheduleId") Long scheduleId);
+
+    // 이미 지나간 항목 정리
+    @Modifying
+    @Query("DELETE FROM NotificationTimeline t WHERE t.fireAt < :before")
+    int deleteAllByFireAtBefore(@Param("before") LocalDateTime before);
+
+    // 사용자 ID로 모든 타임라인 삭제 (회원 탈퇴 시 스케줄 삭제 전에 호출)
+    @Modifying
+    @Query("DELETE FROM NotificationTimeline t WHERE t.scheduleId IN (SELECT s.id FROM Schedule s WHERE s.user.id = :userId)")
+    void deleteAllByUserId(@Param("userId") Long userId);
+}
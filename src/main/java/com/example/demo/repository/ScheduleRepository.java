@@ -7,8 +7,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -67,8 +69,39 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
             @Param("status") Schedule.ScheduleStatus status
     );
 
+    // 알림 타임라인 발송 대상 스케줄 일괄 조회 (User FETCH JOIN, 알림 활성화 사용자만)
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.user WHERE s.id IN :ids AND s.user.notificationsEnabled = true")
+    List<Schedule> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 특정 루틴을 사용하는 스케줄 조회 (루틴 변경 시 알림 타임라인 재계산용)
+    List<Schedule> findByRoutineIdAndStatusIn(Long routineId, Collection<Schedule.ScheduleStatus> statuses);
+
+    // 아직 끝나지 않은 스케줄 조회 (애플리케이션 시작 시 알림 타임라인 재구성용)
+    List<Schedule> findByStatusInAndEndTimeAfter(Collection<Schedule.ScheduleStatus> statuses, LocalDateTime now);
+
     // 사용자 ID로 모든 일정 삭제
     @Modifying
     @Query("DELETE FROM Schedule s WHERE s.user.id = :userId")
     void deleteAllByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    // 비동기로 계산한 교통 시간 저장 (그 사이 좌표가 바뀌었으면 반영하지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Schedule s SET s.originalDrivingTime = :drivingTime, s.originalTransitTime = :transitTime " +
+            "WHERE s.id = :scheduleId AND s.startX = :startX AND s.startY = :startY " +
+            "AND s.destinationX = :destinationX AND s.destinationY = :destinationY")
+    int updateOriginalTransportTimes(@Param("scheduleId") Long scheduleId,
+                                     @Param("startX") Double startX,
+                                     @Param("startY") Double startY,
+                                     @Param("destinationX") Double destinationX,
+                                     @Param("destinationY") Double destinationY,
+                                     @Param("drivingTime") Integer drivingTime,
+                                     @Param("transitTime") Integer transitTime);
+
+    // Google Calendar 생성에 실패한 이벤트 ID 제거 (그 사이 다른 ID로 바뀌었으면 유지)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Schedule s SET s.googleCalendarEventId = NULL " +
+            "WHERE s.id = :scheduleId AND s.googleCalendarEventId = :eventId")
+    int clearGoogleCalendarEventId(@Param("scheduleId") Long scheduleId, @Param("eventId") String eventId);
+}
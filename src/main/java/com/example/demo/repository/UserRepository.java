@@ -2,7 +2,12 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List; // List import 추가
 import java.util.Optional;
 
@@ -27,4 +32,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findAllByAppFcmToken(String appFcmToken);
 
+    // 무효 토큰 일괄 정리 (InvalidFcmTokenQueue)
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.fcmToken = NULL WHERE u.fcmToken IN :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.appFcmToken = NULL WHERE u.appFcmToken IN :tokens")
+    int clearAppFcmTokens(@Param("tokens") Collection<String> tokens);
+
 }
\ No newline at end of file
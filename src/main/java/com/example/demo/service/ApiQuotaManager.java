@@ -0,0 +1,260 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.api.ApiDailyUsage;
+import com.example.demo.entity.api.ApiDailyUsage.Provider;
+import com.example.demo.repository.ApiDailyUsageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 외부 API 호출 한도 관리
+ * 제공자별로 초당 호출 수(토큰 버킷)와 일일 한도를 락 없이 확인하고,
+ * 일일 사용량은 DB에 주기적으로 누적 저장하여 재시작해도 유지한다.
+ * 초당 호출 수를 넘는 요청은 다음 허용 시각까지 기다렸다가 호출하고,
+ * 일일 한도를 소진했을 때(또는 대기 시간이 max-wait를 넘는 과부하일 때)만 거절하여 호출 측의 대체 경로로 넘긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApiQuotaManager {
+
+    private final ApiDailyUsageRepository usageRepository;
+    private final Environment environment;
+
+    // reserve() 결과: 거절 사유
+    private static final long DAILY_EXHAUSTED = -1;
+    private static final long RATE_SATURATED = -2;
+
+    private final Map<Provider, ProviderQuota> quotas = new EnumMap<>(Provider.class);
+
+    // 초당 호출 수 제한으로 기다릴 수 있는 최대 시간
+    private long maxWaitNanos;
+
+    @PostConstruct
+    public void init() {
+        maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(environment.getProperty("igo.quota.max-wait-ms", Long.class, 10_000L));
+        LocalDate today = LocalDate.now();
+        for (Provider provider : Provider.values()) {
+            String prefix = "igo.quota." + provider.getKey() + ".";
+            double ratePerSecond = environment.getProperty(prefix + "rate-per-second", Double.class, provider.getDefaultRatePerSecond());
+            int burst = environment.getProperty(prefix + "burst", Integer.class, provider.getDefaultBurst());
+            long dailyLimit = environment.getProperty(prefix + "daily-limit", Long.class, provider.getDefaultDailyLimit());
+
+            ProviderQuota quota = new ProviderQuota(ratePerSecond, burst, dailyLimit, today);
+            try {
+                // 오늘 이미 사용한 호출 수 복원
+                usageRepository.findByProviderAndUsageDate(provider, today)
+                        .ifPresent(usage -> quota.used.set(usage.getCallCount()));
+            } catch (Exception e) {
+                log.warn("⚠️ [ApiQuotaManager] 일일 사용량 복원 실패 - {}: {}", provider, e.getMessage());
+            }
+            quotas.put(provider, quota);
+            log.info("📊 [ApiQuotaManager] {} - 초당 {}회(순간 {}회), 일일 한도 {}, 오늘 사용 {}회",
+                    provider, ratePerSecond, burst, dailyLimit < 0 ? "없음" : dailyLimit, quota.used.get());
+        }
+    }
+
+    /**
+     * 호출 허용 여부 확인 - 블로킹 호출용 (허용 시 일일 사용량과 토큰을 차감)
+     * 초당 호출 수를 넘으면 다음 허용 시각까지 현재 스레드에서 기다린다.
+     * @return 호출 가능하면 true, 일일 한도 소진 또는 과부하면 false
+     */
+    public boolean tryAcquire(Provider provider) {
+        long waitNanos = reserve(provider);
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 호출 허용 여부 확인 - 논블로킹 호출용
+     * 초당 호출 수를 넘으면 스레드를 막지 않고 다음 허용 시각까지 지연시킨 뒤 true를 내보낸다.
+     * @return 호출 가능하면 true, 일일 한도 소진 또는 과부하면 false
+     */
+    public Mono<Boolean> acquire(Provider provider) {
+        return Mono.defer(() -> {
+            long waitNanos = reserve(provider);
+            if (waitNanos < 0) {
+                return Mono.just(false);
+            }
+            return waitNanos == 0
+                    ? Mono.just(true)
+                    : Mono.delay(Duration.ofNanos(waitNanos)).thenReturn(true);
+        });
+    }
+
+    // 일일 사용량 차감 후 초당 호출 수 토큰 예약, 호출까지 기다릴 시간(ns) 또는 거절 사유(음수) 반환
+    private long reserve(Provider provider) {
+        ProviderQuota quota = quotas.get(provider);
+        quota.rolloverIfNeeded(provider);
+
+        if (!quota.tryConsumeDaily()) {
+            log.warn("⚠️ [ApiQuotaManager] {} 일일 호출 한도 도달 ({}회)", provider, quota.dailyLimit);
+            return DAILY_EXHAUSTED;
+        }
+        long waitNanos = quota.reserveToken(maxWaitNanos);
+        if (waitNanos < 0) {
+            quota.refundDaily();
+            log.warn("⚠️ [ApiQuotaManager] {} 초당 호출 수 초과 - 대기 시간이 {}ms를 넘어 거절",
+                    provider, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            return RATE_SATURATED;
+        }
+        if (waitNanos > 0) {
+            log.debug("⏳ [ApiQuotaManager] {} 초당 호출 수 제한 - {}ms 대기", provider, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+        return waitNanos;
+    }
+
+    /**
+     * 한도 내이면 실제 호출, 아니면 대체 경로(캐시/추정값) 사용
+     */
+    public <T> T callOrDegrade(Provider provider, Supplier<T> call, Supplier<T> degraded) {
+        return tryAcquire(provider) ? call.get() : degraded.get();
+    }
+
+    /**
+     * 제공자별 한도 상태
+     */
+    public Map<String, Object> getStatus(Provider provider) {
+        ProviderQuota quota = quotas.get(provider);
+        quota.rolloverIfNeeded(provider);
+
+        long used = quota.used.get();
+        Map<String, Object> status = new HashMap<>();
+        status.put("available", quota.dailyLimit < 0 || used < quota.dailyLimit);
+        status.put("remainingCalls", quota.dailyLimit < 0 ? -1 : Math.max(quota.dailyLimit - used, 0));
+        status.put("totalLimit", quota.dailyLimit);
+        status.put("usedToday", used);
+        return status;
+    }
+
+    // 누적된 사용량 DB 반영
+    @Scheduled(fixedDelayString = "${igo.quota.flush-interval-ms:30000}")
+    @PreDestroy
+    public void flush() {
+        quotas.forEach((provider, quota) -> persist(provider, quota.date, quota.pending.getAndSet(0)));
+    }
+
+    private void persist(Provider provider, LocalDate date, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        try {
+            if (usageRepository.addCallCount(provider, date, delta) == 0) {
+                try {
+                    usageRepository.save(ApiDailyUsage.builder()
+                            .provider(provider)
+                            .usageDate(date)
+                            .callCount(delta)
+                            .build());
+                } catch (DataIntegrityViolationException e) {
+                    // 다른 인스턴스가 먼저 생성한 경우
+                    usageRepository.addCallCount(provider, date, delta);
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ [ApiQuotaManager] 일일 사용량 저장 실패 - {}: {}", provider, e.getMessage());
+        }
+    }
+
+    /**
+     * 제공자별 한도 상태
+     * 초당 호출 수는 GCRA(토큰 버킷과 동일한 동작)로 다음 허용 시각 하나만 CAS로 갱신한다.
+     */
+    private final class ProviderQuota {
+        private final long emissionIntervalNanos;
+        private final long toleranceNanos;
+        private final long dailyLimit;
+
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+        private final AtomicLong used = new AtomicLong();
+        private final AtomicLong pending = new AtomicLong();
+        private volatile LocalDate date;
+
+        private ProviderQuota(double ratePerSecond, int burst, long dailyLimit, LocalDate date) {
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            this.toleranceNanos = emissionIntervalNanos * Math.max(burst - 1, 0);
+            this.dailyLimit = dailyLimit;
+            this.date = date;
+        }
+
+        /**
+         * 다음 호출 슬롯 예약
+         * @return 슬롯까지 기다릴 시간(ns), 0이면 바로 호출, 기다릴 시간이 maxWait를 넘으면 예약하지 않고 -1
+         */
+        private long reserveToken(long maxWait) {
+            long now = System.nanoTime();
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = Math.max(tat, now);
+                long wait = Math.max(base - now - toleranceNanos, 0);
+                if (wait > maxWait) {
+                    return -1;
+                }
+                if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                    return wait;
+                }
+            }
+        }
+
+        private boolean tryConsumeDaily() {
+            while (true) {
+                long current = used.get();
+                if (dailyLimit >= 0 && current >= dailyLimit) {
+                    return false;
+                }
+                if (used.compareAndSet(current, current + 1)) {
+                    pending.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+
+        private void refundDaily() {
+            used.decrementAndGet();
+            pending.decrementAndGet();
+        }
+
+        // 날짜가 바뀌면 전날 사용량을 저장하고 초기화 (하루 한 번만 동기화)
+        private void rolloverIfNeeded(Provider provider) {
+            LocalDate today = LocalDate.now();
+            if (today.equals(date)) {
+                return;
+            }
+            synchronized (this) {
+                if (today.equals(date)) {
+                    return;
+                }
+                persist(provider, date, pending.getAndSet(0));
+                used.set(0);
+                date = today;
+                log.info("📊 [ApiQuotaManager] {} 일일 호출 카운터 초기화", provider);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.schedule.CalendarOutbox;
+import com.example.demo.entity.schedule.CalendarOutbox.Operation;
+import com.example.demo.entity.schedule.CalendarOutbox.Status;
+import com.example.demo.entity.schedule.Schedule;
+import com.example.demo.repository.CalendarOutboxRepository;
+import com.example.demo.repository.ScheduleRepository;
+import com.example.demo.service.GoogleCalendarService.CalendarMutation;
+import com.example.demo.service.GoogleCalendarService.MutationResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Google Calendar 동기화 outbox
+ * 일정 트랜잭션 안에서는 outbox 행만 저장하고, 스케줄러가 커밋된 항목을 사용자별로 모아
+ * Google 배치 API로 전송한다. 실패 시 지수 백오프로 재시도한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CalendarOutboxService {
+
+    // Google Calendar 이벤트 ID 허용 문자: 소문자 a-v, 숫자 (base32hex)
+    private static final String EVENT_ID_PREFIX = "igo";
+
+    private final CalendarOutboxRepository calendarOutboxRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final GoogleCalendarService googleCalendarService;
+
+    @Value("${igo.calendar.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${igo.calendar.outbox.poll-size:200}")
+    private int pollSize;
+
+    @Value("${igo.calendar.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${igo.calendar.outbox.retention-days:7}")
+    private int retentionDays;
+
+    /**
+     * 이벤트 생성 요청 등록
+     * 이벤트 ID를 미리 정해 일정에 저장하므로, 이후 수정/삭제 요청이 생성 완료를 기다릴 필요가 없다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueCreate(Schedule schedule) {
+        String idempotencyKey = newIdempotencyKey();
+        String eventId = EVENT_ID_PREFIX + idempotencyKey;
+        schedule.setGoogleCalendarEventId(eventId);
+        save(schedule.getUser().getId(), schedule.getId(), Operation.CREATE, eventId, idempotencyKey);
+    }
+
+    // 이벤트 수정 요청 등록 (연동된 이벤트가 없으면 생성 요청)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUpdate(Schedule schedule) {
+        if (schedule.getGoogleCalendarEventId() == null || schedule.getGoogleCalendarEventId().isEmpty()) {
+            enqueueCreate(schedule);
+            return;
+        }
+        save(schedule.getUser().getId(), schedule.getId(), Operation.UPDATE,
+                schedule.getGoogleCalendarEventId(), newIdempotencyKey());
+    }
+
+    // 이벤트 삭제 요청 등록
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDelete(Schedule schedule) {
+        if (schedule.getGoogleCalendarEventId() == null || schedule.getGoogleCalendarEventId().isEmpty()) {
+            return;
+        }
+        save(schedule.getUser().getId(), schedule.getId(), Operation.DELETE,
+                schedule.getGoogleCalendarEventId(), newIdempotencyKey());
+    }
+
+    /**
+     * 커밋된 outbox 항목을 사용자별 배치로 전송
+     * 같은 일정의 요청은 등록 순서대로 한 번에 하나씩만 보낸다.
+     */
+    @Scheduled(fixedDelayString = "${igo.calendar.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<CalendarOutbox> due = calendarOutboxRepository.findDue(Status.PENDING, now, PageRequest.of(0, pollSize));
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Set<Long> scheduleIds = due.stream().map(CalendarOutbox::getScheduleId).collect(Collectors.toSet());
+        Map<Long, List<CalendarOutbox>> pendingBySchedule = calendarOutboxRepository
+                .findByScheduleIdInAndStatusOrderByIdAsc(scheduleIds, Status.PENDING).stream()
+                .collect(Collectors.groupingBy(CalendarOutbox::getScheduleId, LinkedHashMap::new, Collectors.toList()));
+
+        List<CalendarOutbox> toSend = new ArrayList<>();
+        List<CalendarOutbox> changed = new ArrayList<>();
+        for (List<CalendarOutbox> entries : pendingBySchedule.values()) {
+            CalendarOutbox head = entries.get(0);
+            // 앞선 요청이 재시도 대기 중이면 뒤 요청도 기다림
+            if (head.getNextAttemptAt().isAfter(now)) {
+                continue;
+            }
+            toSend.add(head);
+
+            // 생성/수정은 전송 시점의 최신 일정으로 반영하므로 바로 뒤따르는 수정 요청은 흡수
+            if (head.getOperation() != Operation.DELETE) {
+                for (int i = 1; i < entries.size() && entries.get(i).getOperation() == Operation.UPDATE; i++) {
+                    CalendarOutbox superseded = entries.get(i);
+                    superseded.setStatus(Status.SKIPPED);
+                    changed.add(superseded);
+                }
+            }
+        }
+
+        Map<Long, Schedule> schedules = scheduleRepository.findAllById(toSend.stream()
+                        .filter(entry -> entry.getOperation() != Operation.DELETE)
+                        .map(CalendarOutbox::getScheduleId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+
+        Map<Long, List<CalendarOutbox>> byUser = toSend.stream()
+                .collect(Collectors.groupingBy(CalendarOutbox::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        int succeeded = 0;
+        for (Map.Entry<Long, List<CalendarOutbox>> userEntries : byUser.entrySet()) {
+            List<CalendarOutbox> entries = userEntries.getValue();
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                List<CalendarOutbox> chunk = entries.subList(from, Math.min(from + batchSize, entries.size()));
+                succeeded += sendChunk(userEntries.getKey(), chunk, schedules, now, changed);
+            }
+        }
+
+        calendarOutboxRepository.saveAll(changed);
+        log.info("📅 [CalendarOutboxService] 캘린더 동기화 - 전송 {}건, 성공 {}건", toSend.size(), succeeded);
+    }
+
+    // 오래된 처리 완료 항목 정리 (매일 새벽)
+    @Scheduled(cron = "${igo.calendar.outbox.purge-cron:0 40 4 * * *}")
+    public void purgeFinished() {
+        int deleted = calendarOutboxRepository.deleteFinishedBefore(Status.PENDING,
+                LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("🧹 [CalendarOutboxService] 처리 완료된 캘린더 동기화 항목 {}건 삭제", deleted);
+        }
+    }
+
+    private int sendChunk(Long userId, List<CalendarOutbox> chunk, Map<Long, Schedule> schedules,
+                          LocalDateTime now, List<CalendarOutbox> changed) {
+        List<CalendarMutation> mutations = new ArrayList<>();
+        for (CalendarOutbox entry : chunk) {
+            Schedule schedule = schedules.get(entry.getScheduleId());
+            if (entry.getOperation() != Operation.DELETE && schedule == null) {
+                // 전송 전에 일정이 삭제됨 (삭제 요청이 뒤따름)
+                entry.setStatus(Status.SKIPPED);
+                changed.add(entry);
+                continue;
+            }
+            mutations.add(new CalendarMutation(entry.getId(), entry.getOperation(), entry.getEventId(), schedule));
+        }
+        if (mutations.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, MutationResult> results = googleCalendarService.executeBatch(userId, mutations);
+
+        int succeeded = 0;
+        for (CalendarOutbox entry : chunk) {
+            MutationResult result = results.get(entry.getId());
+            if (result == null) {
+                continue;
+            }
+            entry.setAttempts(entry.getAttempts() + 1);
+            switch (result) {
+                case SUCCESS -> {
+                    entry.setStatus(Status.DONE);
+                    entry.setLastError(null);
+                    succeeded++;
+                }
+                case RETRY -> {
+                    if (entry.getAttempts() >= maxAttempts) {
+                        markFailed(entry);
+                    } else {
+                        entry.setNextAttemptAt(now.plusSeconds(backoffSeconds(entry.getAttempts())));
+                        entry.setLastError("재시도 대기");
+                    }
+                }
+                case FAILED -> markFailed(entry);
+            }
+            changed.add(entry);
+        }
+        return succeeded;
+    }
+
+    private void markFailed(CalendarOutbox entry) {
+        entry.setStatus(Status.FAILED);
+        entry.setLastError("Google Calendar 반영 실패 (시도 " + entry.getAttempts() + "회)");
+        // 생성에 실패한 이벤트 ID는 일정에서 제거 (다음 수정 시 새로 생성)
+        // 같은 이벤트에 대한 뒤이은 수정/삭제 요청은 대상 이벤트가 없으므로 건너뜀
+        if (entry.getOperation() == Operation.CREATE) {
+            int skipped = calendarOutboxRepository.skipPendingAfter(entry.getScheduleId(), entry.getEventId(),
+                    entry.getId(), Status.PENDING, Status.SKIPPED);
+            scheduleRepository.clearGoogleCalendarEventId(entry.getScheduleId(), entry.getEventId());
+            if (skipped > 0) {
+                log.info("📅 [CalendarOutboxService] 생성 실패로 대기 중인 후속 요청 {}건 건너뜀 - Schedule ID: {}",
+                        skipped, entry.getScheduleId());
+            }
+        }
+        log.warn("⚠️ [CalendarOutboxService] 캘린더 동기화 실패 - Schedule ID: {}, {} (시도 {}회)",
+                entry.getScheduleId(), entry.getOperation(), entry.getAttempts());
+    }
+
+    // 10초, 20초, 40초 ... 최대 30분
+    private long backoffSeconds(int attempts) {
+        return Math.min(10L << Math.min(attempts - 1, 16), 1800L);
+    }
+
+    private void save(Long userId, Long scheduleId, Operation operation, String eventId, String idempotencyKey) {
+        LocalDateTime now = LocalDateTime.now();
+        calendarOutboxRepository.save(CalendarOutbox.builder()
+                .userId(userId)
+                .scheduleId(scheduleId)
+                .operation(operation)
+                .eventId(eventId)
+                .idempotencyKey(idempotencyKey)
+                .status(Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    // UUID 16진수 32자 (base32hex 허용 문자 범위 안)
+    private String newIdempotencyKey() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
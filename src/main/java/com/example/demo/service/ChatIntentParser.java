@@ -0,0 +1,354 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 규칙 기반 챗봇 의도/슬롯 추출 (모델 호출 전 빠른 경로)
+ * "오늘 일정 보여줘", "내일 오후 2시부터 4시까지 잠실역에서 강남역까지 팀 회의 일정 등록해줘"처럼
+ * 문법이 정해진 요청만 해석하고, 조금이라도 애매하면 빈 값을 반환해 기존처럼 모델이 처리하게 한다.
+ * 슬롯 형식은 모델 응답(JSON)과 같으므로 ChatService의 기존 처리 메서드를 그대로 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatIntentParser {
+
+    private static final DateTimeFormatter SLOT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+    // 날짜 표현
+    private static final Pattern RELATIVE_DAY = Pattern.compile("(내일\\s*모레|그저께|그제|어제|오늘|내일|모레|글피)");
+    private static final Pattern DAYS_LATER = Pattern.compile("(\\d{1,2})\\s*일\\s*(?:뒤|후)");
+    private static final Pattern WEEKDAY = Pattern.compile("(?:(이번\\s*주|다음\\s*주|다다음\\s*주)\\s*)?([월화수목금토일])요일");
+    private static final Pattern MONTH_DAY = Pattern.compile("(\\d{1,2})\\s*월\\s*(\\d{1,2})\\s*일");
+    private static final Pattern[] DATE_PATTERNS = {MONTH_DAY, DAYS_LATER, WEEKDAY, RELATIVE_DAY};
+    private static final String DATE_PARTICLE = "(?:의|은|는|에는|에|까지)?";
+
+    // 시간 표현 (오후 3시, 3시 반, 15시 30분, 15:30)
+    private static final String TIME = "(오전|오후|아침|점심|저녁|밤|새벽|낮)?\\s*(\\d{1,2})(?:\\s*시\\s*(?:(\\d{1,2})\\s*분|(반))?|:(\\d{2}))";
+    private static final Pattern TIME_RANGE = Pattern.compile(TIME + "\\s*(?:에서|부터|~|-)\\s*" + TIME + "\\s*(?:까지)?");
+    private static final Pattern SINGLE_TIME = Pattern.compile(TIME + "\\s*(?:에|부터)?");
+    // 시각 뒤에 따로 쓴 시간대 표현 ("7시 저녁 약속")
+    private static final Pattern PERIOD_WORD = Pattern.compile("오전|오후|아침|점심|저녁|밤|새벽|낮");
+
+    // "잠실역에서 강남역까지"
+    private static final Pattern LOCATION_PAIR = Pattern.compile(
+            "([가-힣A-Za-z0-9]+?)\\s*에서\\s+([가-힣A-Za-z0-9]+?)\\s*(?:까지|으로|로)(?=\\s|$)");
+
+    // 모델이 판단해야 하는 표현 (루틴, 준비물, 비대면, 수정/삭제, 반복 등)
+    private static final Pattern MODEL_ONLY = Pattern.compile(
+            "루틴|준비물|메모|비대면|온라인|화상|원격|재택|줌|zoom|수정|변경|바꿔|옮겨|미뤄|당겨|삭제|취소|지워|빼줘|반복|매일|매주|마다",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SCHEDULE_NOUN = Pattern.compile("(?:일정|스케줄|약속)(?:은|는|이|가|을|를|들)?");
+    private static final Pattern QUERY_WORD = Pattern.compile("\\S*(?:보여|알려|있어|있나|있니|있는지|있을까|확인|조회|목록)\\S*");
+    private static final Pattern WHAT_PLANNED = Pattern.compile("뭐\\s*(?:있|해|하)");
+    private static final Pattern WHAT_PLANNED_WORD = Pattern.compile("뭐\\s*(?:있|해|하)\\S*");
+    private static final Pattern CREATE_PHRASE = Pattern.compile(
+            "(?:(?:일정|스케줄)\\s*(?:을|를|으로|로)?\\s*)?(?:등록|추가|생성|만들어|잡아|넣어)\\S*(?:\\s*(?:줘|주세요|줄래|해줘|해주세요))?\\s*$");
+    private static final Pattern FILLER = Pattern.compile(
+            "(?<=^|\\s)(?:내|나|나의|제|저|저의|우리|전체|모든|좀|다|혹시|무슨|뭐|어떤|한번|해줘|줘|주세요)(?=\\s|$)");
+    private static final Pattern PUNCTUATION = Pattern.compile("[?!.,~]");
+    private static final Pattern TITLE_PARTICLE = Pattern.compile("^(?:에|에는)\\s+|\\s*(?:을|를|으로|로|이라는|라는)$");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${igo.chat.fast-path.enabled:true}")
+    private boolean enabled;
+
+    @Value("${igo.chat.fast-path.max-title-length:30}")
+    private int maxTitleLength;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    /**
+     * 규칙으로 해석한 의도와 슬롯 (ChatService의 handleXxxSchedule 입력과 같은 형식)
+     */
+    public record ParsedIntent(String intent, Map<String, Object> slots) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        hitCounter = meterRegistry.counter("igo.chat.fast-path", "result", "hit");
+        missCounter = meterRegistry.counter("igo.chat.fast-path", "result", "miss");
+        Gauge.builder("igo.chat.fast-path.hit-rate", this, ChatIntentParser::hitRate)
+                .description("모델 호출 없이 규칙으로 처리한 챗봇 요청 비율")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메시지를 규칙으로 해석
+     * @param now 사용자 기준 현재 시간 (상대 날짜 계산용)
+     * @return 확실히 해석된 경우에만 값이 있음
+     */
+    public Optional<ParsedIntent> parse(String message, LocalDateTime now) {
+        if (!enabled || message == null || message.isBlank()) {
+            return Optional.empty();
+        }
+
+        Optional<ParsedIntent> parsed = Optional.empty();
+        try {
+            String text = PUNCTUATION.matcher(message).replaceAll(" ").replaceAll("\\s+", " ").trim();
+            if (!MODEL_ONLY.matcher(text).find()) {
+                parsed = CREATE_PHRASE.matcher(text).find()
+                        ? parseCreate(text, now.toLocalDate())
+                        : parseQuery(text, now.toLocalDate());
+            }
+        } catch (RuntimeException e) {
+            // 규칙 해석 실패는 모델로 넘김
+            log.debug("규칙 기반 의도 해석 실패: '{}' - {}", message, e.getMessage());
+            parsed = Optional.empty();
+        }
+
+        if (parsed.isPresent()) {
+            hitCounter.increment();
+            log.info("⚡ [ChatIntentParser] 규칙 기반 처리 - intent: {}, slots: {}",
+                    parsed.get().intent(), parsed.get().slots());
+        } else {
+            missCounter.increment();
+        }
+        return parsed;
+    }
+
+    public double hitRate() {
+        double total = hitCounter.count() + missCounter.count();
+        return total == 0 ? 0 : hitCounter.count() / total;
+    }
+
+    // "오늘 일정 보여줘", "내일 뭐 있어", "다음주 금요일 약속 알려줘"
+    private Optional<ParsedIntent> parseQuery(String text, LocalDate today) {
+        boolean asksSchedule = SCHEDULE_NOUN.matcher(text).find() && QUERY_WORD.matcher(text).find();
+        if (!asksSchedule && !WHAT_PLANNED.matcher(text).find()) {
+            return Optional.empty();
+        }
+
+        DateMatch date = findDate(text, today);
+        if (date == DateMatch.AMBIGUOUS) {
+            return Optional.empty();
+        }
+        String rest = date == null ? text : date.remove(text);
+        rest = SCHEDULE_NOUN.matcher(rest).replaceAll(" ");
+        rest = QUERY_WORD.matcher(rest).replaceAll(" ");
+        rest = WHAT_PLANNED_WORD.matcher(rest).replaceAll(" ");
+        rest = FILLER.matcher(rest.replaceAll("\\s+", " ")).replaceAll(" ");
+        if (!rest.isBlank()) {
+            // "이번주", 제목/장소 조건 등 규칙으로 처리하지 않는 내용이 남음
+            return Optional.empty();
+        }
+
+        LocalDate target = date != null ? date.date() : today;
+        Map<String, Object> slots = new LinkedHashMap<>();
+        slots.put("datetime", target.atStartOfDay().format(SLOT_FORMATTER));
+        return Optional.of(new ParsedIntent("QUERY_SCHEDULE", slots));
+    }
+
+    // "내일 오후 3시에 강남역에서 잠실역까지 팀 회의 일정 등록해줘"
+    private Optional<ParsedIntent> parseCreate(String text, LocalDate today) {
+        DateMatch date = findDate(text, today);
+        if (date == null || date == DateMatch.AMBIGUOUS) {
+            return Optional.empty();
+        }
+        String rest = date.remove(text);
+
+        LocalTime start;
+        LocalTime end = null;
+        Matcher range = TIME_RANGE.matcher(rest);
+        if (range.find()) {
+            start = toTime(range, 1, null);
+            end = start != null ? toTime(range, 6, start) : null;
+            if (start == null || end == null || !end.isAfter(start)) {
+                return Optional.empty();
+            }
+            rest = cut(rest, range);
+        } else {
+            Matcher single = SINGLE_TIME.matcher(rest);
+            if (!single.find()) {
+                return Optional.empty();
+            }
+            start = toTime(single, 1, null);
+            if (start == null) {
+                return Optional.empty();
+            }
+            rest = cut(rest, single);
+        }
+        if (TIME_RANGE.matcher(rest).find() || SINGLE_TIME.matcher(rest).find()) {
+            return Optional.empty();
+        }
+
+        String startLocation = null;
+        String location = null;
+        Matcher pair = LOCATION_PAIR.matcher(rest);
+        if (pair.find()) {
+            startLocation = pair.group(1);
+            location = pair.group(2);
+            rest = cut(rest, pair);
+        }
+
+        String title = CREATE_PHRASE.matcher(rest.trim()).replaceFirst("").trim();
+        title = TITLE_PARTICLE.matcher(title).replaceAll("").trim();
+        if (title.isEmpty() || title.length() > maxTitleLength
+                || title.matches(".*\\d.*") || title.contains("에서") || title.contains("까지")
+                || PERIOD_WORD.matcher(title).find()) {
+            // 해석하지 못한 시간/장소 표현이 남은 경우 (시간대 표현이 시각과 떨어져 있으면 오전/오후를 확신할 수 없음)
+            return Optional.empty();
+        }
+
+        Map<String, Object> slots = new LinkedHashMap<>();
+        slots.put("title", title);
+        slots.put("datetime", date.date().atTime(start).format(SLOT_FORMATTER));
+        if (end != null) {
+            slots.put("endTime", date.date().atTime(end).format(SLOT_FORMATTER));
+        }
+        if (startLocation != null) {
+            slots.put("startLocation", startLocation);
+            slots.put("location", location);
+        }
+        return Optional.of(new ParsedIntent("CREATE_SCHEDULE", slots));
+    }
+
+    /**
+     * 찾은 날짜와 문장 내 위치 (날짜 표현이 두 개 이상이면 AMBIGUOUS)
+     */
+    private record DateMatch(LocalDate date, int start, int end) {
+        static final DateMatch AMBIGUOUS = new DateMatch(null, -1, -1);
+
+        String remove(String text) {
+            String after = text.substring(end).replaceFirst("^" + DATE_PARTICLE, "");
+            return (text.substring(0, start) + " " + after).replaceAll("\\s+", " ").trim();
+        }
+    }
+
+    private DateMatch findDate(String text, LocalDate today) {
+        DateMatch found = null;
+        String remaining = text;
+        for (Pattern pattern : DATE_PATTERNS) {
+            Matcher matcher = pattern.matcher(remaining);
+            while (matcher.find()) {
+                if (found != null) {
+                    return DateMatch.AMBIGUOUS;
+                }
+                LocalDate date = toDate(pattern, matcher, today);
+                if (date == null) {
+                    return DateMatch.AMBIGUOUS;
+                }
+                found = new DateMatch(date, matcher.start(), matcher.end());
+            }
+            if (found != null) {
+                // 찾은 날짜 표현은 가려서 다른 패턴이 다시 잡지 않게 함 ("3일 후"의 "일" 등)
+                remaining = remaining.substring(0, found.start())
+                        + " ".repeat(found.end() - found.start())
+                        + remaining.substring(found.end());
+            }
+        }
+        return found;
+    }
+
+    private LocalDate toDate(Pattern pattern, Matcher matcher, LocalDate today) {
+        if (pattern == MONTH_DAY) {
+            int month = Integer.parseInt(matcher.group(1));
+            int day = Integer.parseInt(matcher.group(2));
+            if (month < 1 || month > 12 || day < 1 || day > 31) {
+                return null;
+            }
+            LocalDate date;
+            try {
+                date = LocalDate.of(today.getYear(), month, day);
+            } catch (java.time.DateTimeException e) {
+                return null;
+            }
+            // 이미 지난 날짜는 지난 일정 조회인지 내년 일정인지 규칙으로 알 수 없으므로 모델로 넘김
+            return date.isBefore(today) ? null : date;
+        }
+        if (pattern == DAYS_LATER) {
+            return today.plusDays(Integer.parseInt(matcher.group(1)));
+        }
+        if (pattern == WEEKDAY) {
+            DayOfWeek dayOfWeek = DayOfWeek.of("월화수목금토일".indexOf(matcher.group(2)) + 1);
+            String week = matcher.group(1) == null ? null : matcher.group(1).replace(" ", "");
+            if (week == null) {
+                return today.with(TemporalAdjusters.nextOrSame(dayOfWeek));
+            }
+            LocalDate monday = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            int weeks = switch (week) {
+                case "다음주" -> 1;
+                case "다다음주" -> 2;
+                default -> 0;
+            };
+            return monday.plusWeeks(weeks).with(TemporalAdjusters.nextOrSame(dayOfWeek));
+        }
+        return switch (matcher.group(1).replace(" ", "")) {
+            case "그저께", "그제" -> today.minusDays(2);
+            case "어제" -> today.minusDays(1);
+            case "오늘" -> today;
+            case "내일" -> today.plusDays(1);
+            case "모레", "내일모레" -> today.plusDays(2);
+            case "글피" -> today.plusDays(3);
+            default -> null;
+        };
+    }
+
+    /**
+     * TIME 그룹(표현, 시, 분, 반, :분)을 시각으로 변환
+     * @param after 범위의 시작 시각 (끝 시각 계산 시 "오후 2시부터 5시까지"의 오후를 이어받음)
+     * @return 오전/오후 표시가 없거나(1~11시) 자정이거나 잘못된 시각이면 null
+     */
+    private LocalTime toTime(Matcher matcher, int group, LocalTime after) {
+        String period = matcher.group(group);
+        int hour = Integer.parseInt(matcher.group(group + 1));
+        int minute = 0;
+        if (matcher.group(group + 2) != null) {
+            minute = Integer.parseInt(matcher.group(group + 2));
+        } else if (matcher.group(group + 3) != null) {
+            minute = 30;
+        } else if (matcher.group(group + 4) != null) {
+            minute = Integer.parseInt(matcher.group(group + 4));
+        }
+        if (hour > 24 || minute > 59) {
+            return null;
+        }
+
+        if (period != null) {
+            switch (period) {
+                case "오후" -> hour = hour < 12 ? hour + 12 : hour;
+                case "저녁", "밤" -> {
+                    if (hour == 12 || hour == 24) {
+                        return null; // 밤 12시(자정)는 다음 날 0시라 날짜가 바뀌므로 모델로 넘김
+                    }
+                    hour = hour < 12 ? hour + 12 : hour;
+                }
+                case "점심", "낮" -> hour = hour <= 6 ? hour + 12 : hour;
+                default -> hour = hour == 12 ? 0 : hour; // 오전, 아침, 새벽
+            }
+        } else if (after != null) {
+            if (hour < 12 && hour + 12 > after.getHour() && hour <= after.getHour()) {
+                hour += 12;
+            }
+        } else if (hour >= 1 && hour <= 11) {
+            return null; // "7시"는 오전/오후를 알 수 없으므로 모델로 넘김 (12시, 13~23시는 그대로)
+        }
+        return hour >= 24 ? null : LocalTime.of(hour, minute);
+    }
+
+    private String cut(String text, Matcher matcher) {
+        return (text.substring(0, matcher.start()) + " " + text.substring(matcher.end())).replaceAll("\\s+", " ").trim();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 챗봇 요청 메시지 구성 및 토큰 사용량 기록
+ * - 시스템 프롬프트는 항상 같은 문자열로 맨 앞에 두어 OpenAI 프롬프트 캐시(prefix caching)가 적용되게 한다.
+ * - 현재 시간처럼 매번 바뀌는 값은 맨 뒤 짧은 시스템 메시지로 보낸다.
+ * - 히스토리는 최근 턴부터 토큰 예산 안에서만 포함하고, 예산을 넘는 오래된 턴은 한 줄 요약으로 줄인다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatPromptCompactor {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm (E)", Locale.KOREAN);
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+    private static final int SUMMARY_TEXT_LENGTH = 40;
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${igo.chat.prompt.history-token-budget:1500}")
+    private int historyTokenBudget;
+
+    @Value("${igo.chat.prompt.max-summary-lines:5}")
+    private int maxSummaryLines;
+
+    private DistributionSummary inputTokens;
+    private DistributionSummary outputTokens;
+
+    @PostConstruct
+    void registerMetrics() {
+        inputTokens = DistributionSummary.builder("igo.chat.tokens")
+                .tag("type", "input")
+                .description("챗봇 요청 1회의 입력 토큰 수")
+                .register(meterRegistry);
+        outputTokens = DistributionSummary.builder("igo.chat.tokens")
+                .tag("type", "output")
+                .description("챗봇 요청 1회의 출력 토큰 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 메시지 구성: [고정 시스템 프롬프트] [오래된 대화 요약] [최근 대화] [사용자 메시지] [현재 시간]
+     * @param history 오래된 순 대화 (사용자/AI 메시지 쌍)
+     */
+    public List<ChatMessage> build(String systemPrompt, List<ChatMessage> history, ChatMessage userMessage,
+                                   LocalDateTime currentTime) {
+        // 최근 턴부터 예산 안에 들어가는 만큼 포함 (사용자/AI 쌍 단위)
+        int budget = historyTokenBudget;
+        int keepFrom = history.size();
+        while (keepFrom >= 2) {
+            int turnTokens = estimateTokens(history.get(keepFrom - 2)) + estimateTokens(history.get(keepFrom - 1));
+            if (turnTokens > budget) {
+                break;
+            }
+            budget -= turnTokens;
+            keepFrom -= 2;
+        }
+
+        List<ChatMessage> messages = new ArrayList<>(history.size() - keepFrom + 4);
+        messages.add(new ChatMessage("system", systemPrompt));
+
+        String summary = summarize(history.subList(0, keepFrom), budget);
+        if (summary != null) {
+            messages.add(new ChatMessage("system", summary));
+        }
+        messages.addAll(history.subList(keepFrom, history.size()));
+        messages.add(userMessage);
+        messages.add(new ChatMessage("system", "현재 시간: " + currentTime.format(TIME_FORMATTER)));
+
+        if (keepFrom > 0) {
+            log.debug("대화 히스토리 압축 - 전체 {}개 중 최근 {}개 포함, 이전 {}개 요약",
+                    history.size(), history.size() - keepFrom, keepFrom);
+        }
+        return messages;
+    }
+
+    /**
+     * 요청 1회의 토큰 사용량 기록 (OpenAI 응답의 usage 기준)
+     */
+    public void recordUsage(Long userId, long promptTokens, long completionTokens) {
+        inputTokens.record(promptTokens);
+        outputTokens.record(completionTokens);
+        log.info("🧮 [ChatPromptCompactor] 토큰 사용량 - userId: {}, 입력: {}, 출력: {}",
+                userId, promptTokens, completionTokens);
+    }
+
+    /**
+     * 토큰 수 추정 (한글은 글자당 약 1토큰, 그 외는 4글자당 약 1토큰)
+     */
+    static int estimateTokens(ChatMessage message) {
+        String content = message.getContent();
+        if (content == null) {
+            return MESSAGE_OVERHEAD_TOKENS;
+        }
+        int wide = 0;
+        int narrow = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c >= 0x1100 && Character.isLetter(c)) {
+                wide++;
+            } else {
+                narrow++;
+            }
+        }
+        return MESSAGE_OVERHEAD_TOKENS + wide + (narrow + 3) / 4;
+    }
+
+    // 예산에서 제외된 오래된 턴을 "사용자 요청 -> 의도" 한 줄씩 요약 (최근 것 우선)
+    private String summarize(List<ChatMessage> dropped, int budget) {
+        if (dropped.isEmpty() || maxSummaryLines <= 0) {
+            return null;
+        }
+
+        List<String> lines = new ArrayList<>();
+        int used = MESSAGE_OVERHEAD_TOKENS;
+        for (int i = dropped.size() - 2; i >= 0 && lines.size() < maxSummaryLines; i -= 2) {
+            String line = "- " + summarizeTurn(dropped.get(i), dropped.get(i + 1));
+            int lineTokens = estimateTokens(new ChatMessage("system", line));
+            if (used + lineTokens > budget) {
+                break;
+            }
+            used += lineTokens;
+            lines.add(0, line);
+        }
+        return lines.isEmpty() ? null : "이전 대화 요약:\n" + String.join("\n", lines);
+    }
+
+    private String summarizeTurn(ChatMessage user, ChatMessage assistant) {
+        String request = abbreviate(user.getContent());
+        try {
+            JsonNode node = objectMapper.readTree(extractJson(assistant.getContent()));
+            String intent = node.path("intent").asText("");
+            if (!intent.isEmpty()) {
+                String title = node.path("slots").path("title").asText("");
+                String datetime = node.path("slots").path("datetime").asText("");
+                return String.format("\"%s\" -> %s%s%s", request, intent,
+                        title.isEmpty() ? "" : " " + title,
+                        datetime.isEmpty() ? "" : " " + datetime);
+            }
+        } catch (Exception e) {
+            // JSON이 아닌 응답은 사용자 요청만 남김
+        }
+        return "\"" + request + "\"";
+    }
+
+    private String extractJson(String content) {
+        if (content == null) {
+            return "{}";
+        }
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
+        return start >= 0 && end > start ? content.substring(start, end + 1) : "{}";
+    }
+
+    private String abbreviate(String text) {
+        if (text == null) {
+            return "";
+        }
+        String oneLine = text.replaceAll("\\s+", " ").trim();
+        return oneLine.length() <= SUMMARY_TEXT_LENGTH ? oneLine : oneLine.substring(0, SUMMARY_TEXT_LENGTH) + "…";
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 스트리밍 중인 모델 출력에서 사용자에게 바로 보여줄 문장만 골라내는 파서
+ * - JSON 응답({"intent":..., "slots":..., "response": "..."}): "response" 문자열 값만 흘려보냄
+ * - 구조화된 텍스트(INTENT: ...): 완성될 때까지 보내지 않음
+ * - 그 외 일반 텍스트: 받은 그대로 전달
+ * 전체 출력은 버퍼에 남겨 두었다가 스트림이 끝나면 기존 응답 처리(handleFineTunedResponse)에 넘긴다.
+ * 한 스트림 전용이며 스레드 안전하지 않음.
+ */
+class ChatStreamTextExtractor {
+
+    private static final Pattern RESPONSE_FIELD = Pattern.compile("\"response\"\\s*:\\s*\"");
+    private static final String STRUCTURED_PREFIX = "INTENT";
+
+    private enum Mode { UNKNOWN, JSON, STRUCTURED, TEXT }
+
+    private final StringBuilder buffer = new StringBuilder();
+    private Mode mode = Mode.UNKNOWN;
+    private int cursor = -1; // JSON 모드에서 "response" 값 안의 다음 읽을 위치
+    private boolean responseClosed;
+
+    /**
+     * 새로 받은 조각을 추가하고, 이번에 사용자에게 보낼 문장을 반환 (없으면 빈 문자열)
+     */
+    String append(String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return "";
+        }
+        buffer.append(delta);
+
+        if (mode == Mode.UNKNOWN) {
+            mode = detectMode();
+            if (mode == Mode.TEXT) {
+                return buffer.toString().stripLeading();
+            }
+        }
+        return switch (mode) {
+            case TEXT -> delta;
+            case JSON -> readResponseValue();
+            default -> "";
+        };
+    }
+
+    // 모델이 보낸 전체 출력
+    String fullText() {
+        return buffer.toString();
+    }
+
+    private Mode detectMode() {
+        String head = buffer.toString().stripLeading();
+        if (head.isEmpty()) {
+            return Mode.UNKNOWN;
+        }
+        if (head.startsWith("{") || head.startsWith("`")) {
+            return Mode.JSON;
+        }
+        if (head.startsWith(STRUCTURED_PREFIX)) {
+            return Mode.STRUCTURED;
+        }
+        // "INT"까지만 받은 경우 다음 조각을 기다림
+        if (head.length() < STRUCTURED_PREFIX.length() && STRUCTURED_PREFIX.startsWith(head)) {
+            return Mode.UNKNOWN;
+        }
+        return Mode.TEXT;
+    }
+
+    private String readResponseValue() {
+        if (responseClosed) {
+            return "";
+        }
+        if (cursor < 0) {
+            Matcher matcher = RESPONSE_FIELD.matcher(buffer);
+            if (!matcher.find()) {
+                return "";
+            }
+            cursor = matcher.end();
+        }
+
+        StringBuilder out = new StringBuilder();
+        while (cursor < buffer.length()) {
+            char c = buffer.charAt(cursor);
+            if (c == '"') {
+                responseClosed = true;
+                break;
+            }
+            if (c != '\\') {
+                out.append(c);
+                cursor++;
+                continue;
+            }
+
+            // 이스케이프 문자는 끝까지 받은 뒤에 해석
+            if (cursor + 1 >= buffer.length()) {
+                break;
+            }
+            char escaped = buffer.charAt(cursor + 1);
+            if (escaped == 'u') {
+                if (cursor + 6 > buffer.length()) {
+                    break;
+                }
+                try {
+                    out.append((char) Integer.parseInt(buffer.substring(cursor + 2, cursor + 6), 16));
+                } catch (NumberFormatException e) {
+                    // 잘못된 유니코드 이스케이프는 건너뜀
+                }
+                cursor += 6;
+                continue;
+            }
+            out.append(switch (escaped) {
+                case 'n' -> '\n';
+                case 't' -> '\t';
+                case 'r' -> '\r';
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                default -> escaped; // \" \\ \/
+            });
+            cursor += 2;
+        }
+        return out.toString();
+    }
+}
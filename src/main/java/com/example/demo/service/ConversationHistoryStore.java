@@ -0,0 +1,145 @@
+package com.example.demo.service;
+
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 챗봇 대화 히스토리 저장소 (사용자 수 상한 + 미사용 세션 만료)
+ * 사용자마다 최근 메시지만 담는 고정 크기 링 버퍼를 두고, 시스템 프롬프트는 저장하지 않는다
+ * (ChatService가 공용 프롬프트를 요청마다 앞에 붙임).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConversationHistoryStore {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${igo.chat.history.max-messages:20}")
+    private int maxMessages;
+
+    @Value("${igo.chat.history.max-sessions:10000}")
+    private int maxSessions;
+
+    @Value("${igo.chat.history.idle-ttl-minutes:30}")
+    private long idleTtlMinutes;
+
+    // 접근 순서 LRU (최대 세션 수 초과 시 가장 오래 사용되지 않은 세션 제거)
+    private final Map<Long, Session> sessions = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Session> eldest) {
+            return size() > maxSessions;
+        }
+    };
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("igo.chat.history.sessions", this, ConversationHistoryStore::size)
+                .description("메모리에 보관 중인 챗봇 대화 세션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 최근 대화 메시지 (오래된 순, 복사본)
+     */
+    public List<ChatMessage> getHistory(Long userId) {
+        Session session;
+        synchronized (sessions) {
+            session = sessions.get(userId);
+        }
+        return session != null ? session.snapshot() : new ArrayList<>();
+    }
+
+    /**
+     * 한 턴(사용자 메시지 + AI 응답)을 함께 추가
+     * 응답을 받지 못한 요청은 기록하지 않는다.
+     */
+    public void appendTurn(Long userId, ChatMessage userMessage, ChatMessage assistantMessage) {
+        Session session;
+        synchronized (sessions) {
+            session = sessions.computeIfAbsent(userId, id -> new Session(maxMessages));
+        }
+        session.append(userMessage, assistantMessage);
+    }
+
+    public void clear(Long userId) {
+        synchronized (sessions) {
+            sessions.remove(userId);
+        }
+    }
+
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    // 일정 시간 사용하지 않은 세션 제거
+    @Scheduled(fixedDelayString = "${igo.chat.history.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleTtlMinutes * 60 * 1000;
+        int evicted = 0;
+        synchronized (sessions) {
+            Iterator<Session> iterator = sessions.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().lastAccessAt < threshold) {
+                    iterator.remove();
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("🧹 [ConversationHistoryStore] 미사용 대화 세션 {}개 제거", evicted);
+        }
+    }
+
+    /**
+     * 사용자 한 명의 대화 링 버퍼 (가득 차면 가장 오래된 메시지를 덮어씀)
+     */
+    private static final class Session {
+
+        private final ChatMessage[] buffer;
+        private int start;
+        private int count;
+        private volatile long lastAccessAt = System.currentTimeMillis();
+
+        // 사용자/AI 메시지가 짝으로 밀려나도록 짝수 크기로 맞춤
+        Session(int capacity) {
+            this.buffer = new ChatMessage[Math.max(capacity + (capacity & 1), 2)];
+        }
+
+        synchronized List<ChatMessage> snapshot() {
+            lastAccessAt = System.currentTimeMillis();
+            List<ChatMessage> messages = new ArrayList<>(count + 2);
+            for (int i = 0; i < count; i++) {
+                messages.add(buffer[(start + i) % buffer.length]);
+            }
+            return messages;
+        }
+
+        synchronized void append(ChatMessage... messages) {
+            lastAccessAt = System.currentTimeMillis();
+            for (ChatMessage message : messages) {
+                buffer[(start + count) % buffer.length] = message;
+                if (count < buffer.length) {
+                    count++;
+                } else {
+                    start = (start + 1) % buffer.length;
+                }
+            }
+        }
+    }
+}
@@ -1,20 +1,31 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.notification.NotificationDispatch;
+import com.example.demo.entity.fcm.Notification.DeliveryStatus;
 import com.example.demo.entity.user.User;
 import com.example.demo.handler.NotificationWebSocketHandler;
 import com.example.demo.repository.UserRepository;
+import com.google.api.core.ApiFuture;
 import com.google.firebase.messaging.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,11 +34,35 @@ public class FCMService {
 
     private final NotificationWebSocketHandler webSocketHandler;
     private final UserRepository userRepository;
+    private final ThreadPoolTaskExecutor fcmSendExecutor;
+    private final InvalidFcmTokenQueue invalidFcmTokenQueue;
+
+    @Value("${igo.notification.fcm.send-timeout-seconds:10}")
+    private long sendTimeoutSeconds;
+
+    // sendEach 한 번에 보낼 수 있는 최대 메시지 수
+    private static final int MAX_BATCH_SIZE = 500;
+
+    // 단일 기기 전송 결과
+    private enum SendResult {
+        NO_TOKEN, SENT, INVALID_TOKEN, FAILED
+    }
+
+    // 일괄 전송 메시지별 대상 (응답 순서로 사용자/토큰 매핑)
+    private record BatchTarget(NotificationDispatch dispatch, String token, String tokenType) {
+    }
 
     // 단일 기기에 메시지 전송 (FCM)
     public String sendMessageToToken(String token, String title, String body, Map<String, String> data)
             throws FirebaseMessagingException, ExecutionException, InterruptedException {
 
+        String response = FirebaseMessaging.getInstance().sendAsync(buildMessage(token, title, body, data)).get();
+        log.info("FCM 메시지 전송 성공: {}", response);
+        return response;
+    }
+
+    // 기기별 FCM 메시지 생성 (Android, APNs, Webpush 설정 포함)
+    private Message buildMessage(String token, String title, String body, Map<String, String> data) {
         String encodedTitle = ensureUTF8(title);
         String encodedBody = ensureUTF8(body);
         Map<String, String> dataOnly = new HashMap<>(data);
@@ -74,9 +109,7 @@ public class FCMService {
                         .build())
                 .build();
 
-        String response = FirebaseMessaging.getInstance().sendAsync(message).get();
-        log.info("FCM 메시지 전송 성공: {}", response);
-        return response;
+        return message;
     }
 
     /**
@@ -95,6 +128,17 @@ public class FCMService {
         }
     }
 
+    /**
+     * 사용자에게 알림 비동기 전송
+     * 전송 작업을 전송 전용 스레드 풀에 넣고 바로 반환한다. (큐가 가득 차면 호출 스레드에서 실행)
+     *
+     * @return 전송 결과 (FCM / WebSocket / 실패)
+     */
+    public CompletableFuture<DeliveryStatus> sendNotificationToUserAsync(String userId, String title, String body,
+                                                                         Map<String, String> data) {
+        return CompletableFuture.supplyAsync(() -> sendNotificationToUser(userId, title, body, data), fcmSendExecutor);
+    }
+
     /**
      * 사용자에게 알림 전송 (웹/앱 둘 다 시도)
      *
@@ -102,74 +146,189 @@ public class FCMService {
      * @param title  알림 제목
      * @param body   알림 내용
      * @param data   알림 데이터
+     * @return 전송 결과 (FCM / WebSocket / 실패)
      */
-    public void sendNotificationToUser(String userId, String title, String body, Map<String, String> data) {
+    public DeliveryStatus sendNotificationToUser(String userId, String title, String body, Map<String, String> data) {
         long id = Long.parseLong(userId);
         User user = userRepository.findById(id).orElse(null);
 
         if (user == null) {
             log.warn("⚠️ [FCMService] 알림을 보낼 사용자를 찾을 수 없음: userId={}", userId);
-            return;
+            return DeliveryStatus.FAILED;
         }
 
         String webFcmToken = user.getFcmToken();
         String appFcmToken = user.getAppFcmToken();
 
-        boolean fcmSent = false; // 웹이든 앱이든 하나라도 성공하면 true
-        boolean webTokenInvalid = false;
-        boolean appTokenInvalid = false;
+        // 1. 웹/앱 토큰으로 동시에 전송 시작
+        ApiFuture<String> webFuture = sendToToken(webFcmToken, title, body, data);
+        ApiFuture<String> appFuture = sendToToken(appFcmToken, title, body, data);
 
-        // 1. 웹 토큰으로 전송 시도
-        if (webFcmToken != null && !webFcmToken.isEmpty()) {
-            try {
-                sendMessageToToken(webFcmToken, title, body, data);
-                fcmSent = true;
-                log.info("✅ [FCMService] '웹' FCM 알림 전송 성공: userId={}, title={}", userId, title);
-            } catch (Exception e) {
-                log.warn("⚠️ [FCMService] '웹' FCM 알림 전송 실패: userId={}, title={}", userId, title);
-                // 토큰이 무효한지 검사
-                if (isTokenInvalidException(e)) {
-                    webTokenInvalid = true;
-                }
+        // 2. 전송별 타임아웃을 두고 결과 대기
+        SendResult webResult = awaitSend(webFuture, "웹", userId, title);
+        SendResult appResult = awaitSend(appFuture, "앱", userId, title);
+
+        boolean fcmSent = webResult == SendResult.SENT || appResult == SendResult.SENT; // 웹이든 앱이든 하나라도 성공하면 true
+
+        if (webResult == SendResult.INVALID_TOKEN) {
+            deleteInvalidFcmToken(webFcmToken, "WEB");
+        }
+        if (appResult == SendResult.INVALID_TOKEN) {
+            deleteInvalidFcmToken(appFcmToken, "APP");
+        }
+
+        if (fcmSent) {
+            log.info("📭 [FCMService] FCM 전송 성공, WebSocket은 생략: userId={}", userId);
+            return DeliveryStatus.SENT_FCM;
+        }
+
+        log.info("📡 [FCMService] FCM 실패/없음, WebSocket 전송 시도: userId={}", userId);
+        return sendViaWebSocket(userId, title, body, data);
+    }
+
+    /**
+     * 알림 일괄 비동기 전송
+     * 한 번의 알림 작업에서 모인 알림을 전송 스레드 풀에서 sendEach로 묶어 보낸다.
+     *
+     * @return notificationId별 전송 결과
+     */
+    public CompletableFuture<Map<Long, DeliveryStatus>> sendBatchAsync(List<NotificationDispatch> dispatches) {
+        return CompletableFuture.supplyAsync(() -> sendBatch(dispatches), fcmSendExecutor);
+    }
+
+    /**
+     * 알림 일괄 전송 (최대 500개씩 sendEach)
+     * 응답을 사용자별로 매핑하여 무효 토큰은 한 번에 정리하고, FCM 전송이 안 된 사용자는 WebSocket으로 전송
+     *
+     * @return notificationId별 전송 결과
+     */
+    public Map<Long, DeliveryStatus> sendBatch(List<NotificationDispatch> dispatches) {
+        Map<Long, DeliveryStatus> results = new HashMap<>();
+        if (dispatches.isEmpty()) {
+            return results;
+        }
+
+        // 1. 대상 사용자 한 번에 조회
+        Set<Long> userIds = dispatches.stream().map(NotificationDispatch::userId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // 2. 웹/앱 토큰별 메시지 생성
+        List<Message> messages = new ArrayList<>();
+        List<BatchTarget> targets = new ArrayList<>();
+        for (NotificationDispatch dispatch : dispatches) {
+            User user = users.get(dispatch.userId());
+            if (user == null) {
+                log.warn("⚠️ [FCMService] 알림을 보낼 사용자를 찾을 수 없음: userId={}", dispatch.userId());
+                results.put(dispatch.notificationId(), DeliveryStatus.FAILED);
+                continue;
             }
+            addBatchTarget(messages, targets, dispatch, user.getFcmToken(), "WEB");
+            addBatchTarget(messages, targets, dispatch, user.getAppFcmToken(), "APP");
         }
 
-        // 2. 앱 토큰으로 전송 시도
-        if (appFcmToken != null && !appFcmToken.isEmpty()) {
+        // 3. 500개 단위로 전송하고 응답을 순서대로 매핑
+        Set<Long> fcmSent = new HashSet<>();
+        Set<String> invalidWebTokens = new HashSet<>();
+        Set<String> invalidAppTokens = new HashSet<>();
+        for (int from = 0; from < messages.size(); from += MAX_BATCH_SIZE) {
+            int to = Math.min(from + MAX_BATCH_SIZE, messages.size());
             try {
-                sendMessageToToken(appFcmToken, title, body, data);
-                fcmSent = true;
-                log.info("✅ [FCMService] '앱' FCM 알림 전송 성공: userId={}, title={}", userId, title);
-            } catch (Exception e) {
-                log.warn("⚠️ [FCMService] '앱' FCM 알림 전송 실패: userId={}, title={}", userId, title);
-                // 토큰이 무효한지 검사♡
-                if (isTokenInvalidException(e)) {
-                    appTokenInvalid = true;
+                BatchResponse response = FirebaseMessaging.getInstance().sendEach(messages.subList(from, to));
+                List<SendResponse> responses = response.getResponses();
+                for (int i = 0; i < responses.size(); i++) {
+                    SendResponse sendResponse = responses.get(i);
+                    BatchTarget target = targets.get(from + i);
+                    if (sendResponse.isSuccessful()) {
+                        fcmSent.add(target.dispatch().notificationId());
+                    } else if (isTokenInvalidException(sendResponse.getException())) {
+                        ("APP".equals(target.tokenType()) ? invalidAppTokens : invalidWebTokens).add(target.token());
+                    }
                 }
+                log.info("📦 [FCMService] FCM 일괄 전송 완료 - 메시지: {}, 성공: {}, 실패: {}",
+                        to - from, response.getSuccessCount(), response.getFailureCount());
+            } catch (FirebaseMessagingException e) {
+                // 묶음 전체 실패 시 해당 사용자들은 WebSocket으로 전송 시도
+                log.error("❌ [FCMService] FCM 일괄 전송 실패 - 메시지: {}, 오류: {}", to - from, e.getMessage());
             }
         }
 
-        if (webTokenInvalid) {
-            deleteInvalidFcmToken(webFcmToken, "WEB");
+        // 4. 무효 토큰은 정리 대기열로
+        invalidWebTokens.forEach(token -> deleteInvalidFcmToken(token, "WEB"));
+        invalidAppTokens.forEach(token -> deleteInvalidFcmToken(token, "APP"));
+
+        // 5. FCM 전송이 안 된 알림은 WebSocket으로 전송
+        for (NotificationDispatch dispatch : dispatches) {
+            Long notificationId = dispatch.notificationId();
+            if (results.containsKey(notificationId)) {
+                continue;
+            }
+            if (fcmSent.contains(notificationId)) {
+                results.put(notificationId, DeliveryStatus.SENT_FCM);
+            } else {
+                results.put(notificationId, sendViaWebSocket(String.valueOf(dispatch.userId()),
+                        dispatch.title(), dispatch.body(), dispatch.data()));
+            }
         }
-        if (appTokenInvalid) {
-            deleteInvalidFcmToken(appFcmToken, "APP");
+        return results;
+    }
+
+    private void addBatchTarget(List<Message> messages, List<BatchTarget> targets, NotificationDispatch dispatch,
+                                String token, String tokenType) {
+        if (token == null || token.isEmpty()) {
+            return;
         }
+        messages.add(buildMessage(token, dispatch.title(), dispatch.body(), dispatch.data()));
+        targets.add(new BatchTarget(dispatch, token, tokenType));
+    }
 
-        if (!fcmSent) {
-            log.info("📡 [FCMService] FCM 실패/없음, WebSocket 전송 시도: userId={}", userId);
-            try {
-                Map<String, String> wsData = new HashMap<>(data);
-                wsData.put("title", title);
-                wsData.put("body", body);
-                webSocketHandler.sendNotificationToUser(userId, wsData);
+    // WebSocket 전송 (FCM 실패/토큰 없음 시 대체 경로)
+    private DeliveryStatus sendViaWebSocket(String userId, String title, String body, Map<String, String> data) {
+        try {
+            Map<String, String> wsData = new HashMap<>(data);
+            wsData.put("title", title);
+            wsData.put("body", body);
+            if (webSocketHandler.sendNotificationToUser(userId, wsData)) {
                 log.info("✅ [FCMService] WebSocket 알림 전송 성공: userId={}, title={}", userId, title);
-            } catch (Exception e) {
-                log.debug("⚠️ [FCMService] WebSocket 전송 실패 (오프라인 추정): userId={}, 오류: {}",
-                        userId, e.getMessage());
+                return DeliveryStatus.SENT_WEBSOCKET;
             }
-        } else {
-            log.info("📭 [FCMService] FCM 전송 성공, WebSocket은 생략: userId={}", userId);
+        } catch (Exception e) {
+            log.debug("⚠️ [FCMService] WebSocket 전송 실패 (오프라인 추정): userId={}, 오류: {}",
+                    userId, e.getMessage());
+        }
+        return DeliveryStatus.FAILED;
+    }
+
+    // 토큰이 있으면 비동기 전송 시작 (토큰이 없으면 null)
+    private ApiFuture<String> sendToToken(String token, String title, String body, Map<String, String> data) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        return FirebaseMessaging.getInstance().sendAsync(buildMessage(token, title, body, data));
+    }
+
+    // 전송 결과 대기 (전송별 타임아웃 적용)
+    private SendResult awaitSend(ApiFuture<String> future, String tokenType, String userId, String title) {
+        if (future == null) {
+            return SendResult.NO_TOKEN;
+        }
+
+        try {
+            future.get(sendTimeoutSeconds, TimeUnit.SECONDS);
+            log.info("✅ [FCMService] '{}' FCM 알림 전송 성공: userId={}, title={}", tokenType, userId, title);
+            return SendResult.SENT;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("⚠️ [FCMService] '{}' FCM 알림 전송 시간 초과({}초): userId={}, title={}",
+                    tokenType, sendTimeoutSeconds, userId, title);
+            return SendResult.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SendResult.FAILED;
+        } catch (ExecutionException e) {
+            log.warn("⚠️ [FCMService] '{}' FCM 알림 전송 실패: userId={}, title={}", tokenType, userId, title);
+            // 토큰이 무효한지 검사
+            return isTokenInvalidException(e) ? SendResult.INVALID_TOKEN : SendResult.FAILED;
         }
     }
 
@@ -187,44 +346,8 @@ public class FCMService {
         return false;
     }
 
-    @Transactional
+    // 무효 토큰은 정리 대기열에 넣고 백그라운드에서 일괄 삭제 (전송 경로에서 DB 쓰기 제거)
     public void deleteInvalidFcmToken(String invalidToken, String tokenType) {
-        if (invalidToken == null || invalidToken.isEmpty()) {
-            log.warn("삭제할 FCM 토큰 값이 비어있습니다. (Type: {})", tokenType);
-            return;
-        }
-
-        log.warn("!!! FCM 토큰 무효화 감지 (Type: {}), DB에서 삭제합니다. Token: {}...",
-                tokenType, invalidToken.substring(0, Math.min(invalidToken.length(), 10)));
-
-        try {
-            List<User> usersWithToken;
-            if ("APP".equals(tokenType)) {
-                usersWithToken = userRepository.findAllByAppFcmToken(invalidToken);
-            } else {
-                // 기본은 웹 토큰(fcmToken) 검색
-                usersWithToken = userRepository.findAllByFcmToken(invalidToken);
-            }
-
-            if (usersWithToken.isEmpty()) {
-                log.warn("유효하지 않은 토큰 ({})에 해당하는 사용자를 DB에서 찾지 못했습니다.",
-                        invalidToken.substring(0, Math.min(invalidToken.length(), 10)) + "...");
-            } else {
-                for (User user : usersWithToken) {
-                    if ("APP".equals(tokenType) && invalidToken.equals(user.getAppFcmToken())) {
-                        log.info(" -> 사용자 ID {}의 '앱' 토큰을 null로 업데이트합니다.", user.getId());
-                        user.setAppFcmToken(null);
-                        userRepository.save(user);
-                    } else if ("WEB".equals(tokenType) && invalidToken.equals(user.getFcmToken())) {
-                        log.info(" -> 사용자 ID {}의 '웹' 토큰을 null로 업데이트합니다.", user.getId());
-                        user.setFcmToken(null);
-                        userRepository.save(user);
-                    }
-                }
-                log.info("유효하지 않은 토큰(Type: {}) 삭제 처리 완료.", tokenType);
-            }
-        } catch (Exception e) {
-            log.error("DB에서 유효하지 않은 FCM 토큰 삭제 중 오류 발생: {}", e.getMessage(), e);
-        }
+        invalidFcmTokenQueue.enqueue(invalidToken, tokenType);
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.example.demo.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.demo.entity.api.ApiDailyUsage;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -14,18 +16,26 @@ import java.util.Map;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class GPT5ApiService {
 
+    private final ApiQuotaManager apiQuotaManager;
+
     @Value("${openai.api.key}")
     private String openAIApiKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate openAiRestTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * GPT-5 API 직접 호출 (max_completion_tokens 지원) ->
      */
     public String callGPT5(String model, String systemPrompt, int maxCompletionTokens, double temperature) {
+        if (!apiQuotaManager.tryAcquire(ApiDailyUsage.Provider.OPENAI)) {
+            log.warn("GPT-5 API 호출 한도 초과");
+            return null;
+        }
+
         try {
             String url = "https://api.openai.com/v1/chat/completions";
 
@@ -49,7 +59,7 @@ public class GPT5ApiService {
             log.debug("GPT-5 API Request: {}", requestJson);
 
             // API 호출
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
+            ResponseEntity<String> response = openAiRestTemplate.exchange(url, HttpMethod.POST, entity, String.class);
 
             if (response.getStatusCode() == HttpStatus.OK) {
                 JsonNode responseJson = objectMapper.readTree(response.getBody());
@@ -0,0 +1,180 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.midpoint.Coordinates;
+import com.example.demo.entity.api.GeocodingCacheEntry;
+import com.example.demo.repository.GeocodingCacheRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 주소 -> 좌표 변환 결과 캐시 (메모리 LRU + TTL, DB 영속화)
+ * 정규화한 주소를 키로 사용하며, 검색 결과 없음(ZERO_RESULTS)도 짧은 TTL로 저장해 반복 호출을 막는다.
+ * 메모리에 없으면 geocoding_cache 테이블을 확인하므로 재시작 후에도 유지된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeocodingCache {
+
+    // 사용자가 부르는 개인 장소 별칭 -> 대표 이름 (공백 제거, 소문자 기준)
+    private static final Map<String, String> PLACE_ALIASES = Map.ofEntries(
+            Map.entry("우리집", "집"),
+            Map.entry("내집", "집"),
+            Map.entry("자택", "집"),
+            Map.entry("본가", "집"),
+            Map.entry("home", "집"),
+            Map.entry("직장", "회사"),
+            Map.entry("사무실", "회사"),
+            Map.entry("회사사무실", "회사"),
+            Map.entry("office", "회사"),
+            Map.entry("work", "회사")
+    );
+
+    // 사용자마다 위치가 다른 장소 (전역 주소 검색/캐시 대상이 아님)
+    private static final Set<String> PERSONAL_PLACES = Set.of("집", "회사");
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final GeocodingCacheRepository geocodingCacheRepository;
+
+    @Value("${igo.geocoding.cache.ttl-days:30}")
+    private long ttlDays;
+
+    @Value("${igo.geocoding.cache.negative-ttl-hours:6}")
+    private long negativeTtlHours;
+
+    @Value("${igo.geocoding.cache.max-size:5000}")
+    private int maxSize;
+
+    /**
+     * 캐시 항목 (found=false 이면 검색 결과 없음)
+     */
+    public record Entry(double lat, double lng, boolean found, long expiresAt) {
+        // Coordinates는 변경 가능한 DTO이므로 매번 새로 만들어 반환
+        public Coordinates toCoordinates() {
+            return found ? new Coordinates(lat, lng) : null;
+        }
+    }
+
+    // 접근 순서 LRU (최대 크기 초과 시 가장 오래 사용되지 않은 항목 제거)
+    private final Map<String, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * 캐시 키용 주소 정규화 (유니코드 NFC, 앞뒤 공백 제거, 소문자, 연속 공백 하나로, 개인 장소 별칭 통일)
+     * "  강남역 " -> "강남역", "Seoul  Station" -> "seoul station", "우리 집" -> "집"
+     */
+    public String normalize(String address) {
+        if (address == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(address, Normalizer.Form.NFC)
+                .trim()
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ");
+        return PLACE_ALIASES.getOrDefault(normalized.replace(" ", ""), normalized);
+    }
+
+    // "집", "회사"처럼 사용자별로 다른 장소인지 (정규화된 키 기준)
+    public boolean isPersonalPlace(String normalizedAddress) {
+        return PERSONAL_PLACES.contains(normalizedAddress);
+    }
+
+    /**
+     * 캐시 조회 (메모리 -> DB 순)
+     * @return 캐시 항목, 없거나 만료되었으면 null
+     */
+    public Entry get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            Entry cached = cache.get(key);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    return cached;
+                }
+                cache.remove(key);
+            }
+        }
+
+        if (key.length() > MAX_KEY_LENGTH) {
+            return null;
+        }
+        try {
+            GeocodingCacheEntry stored = geocodingCacheRepository.findByNormalizedAddress(key).orElse(null);
+            if (stored == null || !stored.getExpiresAt().isAfter(LocalDateTime.now())) {
+                return null;
+            }
+            long expiresAt = stored.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            Entry entry = stored.isNegative()
+                    ? new Entry(0, 0, false, expiresAt)
+                    : new Entry(stored.getLat(), stored.getLng(), true, expiresAt);
+            synchronized (cache) {
+                cache.put(key, entry);
+            }
+            return entry;
+        } catch (DataAccessException e) {
+            log.warn("⚠️ [GeocodingCache] 캐시 테이블 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 좌표 검색 성공 결과 저장
+    public void putFound(String key, Coordinates coordinates) {
+        long expiresAt = System.currentTimeMillis() + ttlDays * 24 * 60 * 60 * 1000;
+        put(key, new Entry(coordinates.getLat(), coordinates.getLng(), true, expiresAt));
+    }
+
+    // 검색 결과 없음 저장 (짧은 TTL)
+    public void putNotFound(String key) {
+        long expiresAt = System.currentTimeMillis() + negativeTtlHours * 60 * 60 * 1000;
+        put(key, new Entry(0, 0, false, expiresAt));
+    }
+
+    // 만료된 캐시 행 정리 (매일 새벽)
+    @Scheduled(cron = "${igo.geocoding.cache.purge-cron:0 30 4 * * *}")
+    public void purgeExpired() {
+        int deleted = geocodingCacheRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("🧹 [GeocodingCache] 만료된 주소 캐시 {}건 삭제", deleted);
+        }
+    }
+
+    private void put(String key, Entry entry) {
+        synchronized (cache) {
+            cache.put(key, entry);
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return;
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.expiresAt()), ZoneId.systemDefault());
+        try {
+            GeocodingCacheEntry stored = geocodingCacheRepository.findByNormalizedAddress(key)
+                    .orElseGet(() -> GeocodingCacheEntry.builder().normalizedAddress(key).build());
+            stored.setLat(entry.found() ? entry.lat() : null);
+            stored.setLng(entry.found() ? entry.lng() : null);
+            stored.setExpiresAt(expiresAt);
+            geocodingCacheRepository.save(stored);
+        } catch (DataAccessException e) {
+            // 같은 주소를 동시에 저장한 경우(unique 충돌) 등은 메모리 캐시만으로 충분
+            log.debug("주소 캐시 저장 실패 - '{}': {}", key, e.getMessage());
+        }
+    }
+}
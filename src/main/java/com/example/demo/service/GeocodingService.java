@@ -2,6 +2,7 @@ package com.example.demo.service;
 
 import com.example.demo.dto.midpoint.Coordinates; // *** DTO import ***
 import com.example.demo.dto.midpoint.GoogleGeocodingResponse; // Geocoding DTO
+import com.example.demo.entity.api.ApiDailyUsage;
 import com.example.demo.exception.LocationNotFoundException; // Exception import
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,6 +24,8 @@ import java.util.List;
 public class GeocodingService {
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper; // 주입 확인
+    private final ApiQuotaManager apiQuotaManager;
+    private final GeocodingCache geocodingCache;
 
     @Value("${google.maps.api.key}")
     private String googleMapsApiKey;
@@ -32,8 +35,15 @@ public class GeocodingService {
         "구글미트", "google meet", "teams", "webex", "skype"
     );
 
+    // 좌표 검색 결과 (cacheable=false 이면 한도 초과/오류 등 일시적 실패라 캐시하지 않음)
+    private record Lookup(Coordinates coordinates, boolean cacheable) {
+        static final Lookup NOT_FOUND = new Lookup(null, true);
+        static final Lookup FAILED = new Lookup(null, false);
+    }
+
     /**
      * 주소를 좌표로 변환 (비대면 키워드 체크 포함)
+     * 정규화한 주소 기준으로 캐시하며, 검색 결과 없음도 캐시한다.
      * @param address 주소 문자열
      * @return com.example.demo.dto.midpoint.Coordinates 객체, 실패 시 null
      */
@@ -46,7 +56,26 @@ public class GeocodingService {
             log.info("비대면/온라인 키워드 감지. 주소 검색 건너뜀: {}", address.trim());
             return null;
         }
-        return getCoordinatesInternal(address, 0);
+
+        String cacheKey = geocodingCache.normalize(address);
+        if (geocodingCache.isPersonalPlace(cacheKey)) {
+            log.info("개인 장소(집/회사 등)는 사용자마다 위치가 달라 주소 검색 건너뜀: {}", address.trim());
+            return null;
+        }
+
+        GeocodingCache.Entry cached = geocodingCache.get(cacheKey);
+        if (cached != null) {
+            log.debug("Geocoding cache hit for '{}' (found={})", cacheKey, cached.found());
+            return cached.toCoordinates();
+        }
+
+        Lookup lookup = getCoordinatesInternal(address, 0);
+        if (lookup.coordinates() != null) {
+            geocodingCache.putFound(cacheKey, lookup.coordinates());
+        } else if (lookup.cacheable()) {
+            geocodingCache.putNotFound(cacheKey);
+        }
+        return lookup.coordinates();
     }
 
     private boolean shouldSkipGeocoding(String address) {
@@ -59,16 +88,20 @@ public class GeocodingService {
      * 주소 -> 좌표 변환 내부 로직 (재귀 호출 포함)
      * @param address 검색할 주소
      * @param retryCount 재시도 횟수
-     * @return com.example.demo.dto.midpoint.Coordinates 객체, 실패 시 null
+     * @return 검색 결과 (좌표 없음 = 실패)
      */
-    private Coordinates getCoordinatesInternal(String address, int retryCount) { // 반환 타입은 DTO Coordinates
+    private Lookup getCoordinatesInternal(String address, int retryCount) {
         if (retryCount >= 3) {
             log.warn("주소 검색 재시도 횟수 초과: {}", address);
-            return null;
+            return Lookup.NOT_FOUND;
         }
         if (countOccurrences(address, "주변") >= 2) {
             log.warn("주소에 '주변'이 과도하게 포함되어 검색 중단: {}", address);
-            return null;
+            return Lookup.NOT_FOUND;
+        }
+        if (!apiQuotaManager.tryAcquire(ApiDailyUsage.Provider.GOOGLE_MAPS)) {
+            log.warn("Google Maps 호출 한도 초과 - 주소 검색 생략: {}", address);
+            return Lookup.FAILED;
         }
 
         try {
@@ -91,27 +124,30 @@ public class GeocodingService {
                 GoogleGeocodingResponse.Location location = response.getResults().get(0).getGeometry().getLocation();
                 Coordinates resultCoords = new Coordinates(location.getLat(), location.getLng());
                 log.info("✅ Found coordinates for '{}': lat={}, lng={}", address, resultCoords.getLat(), resultCoords.getLng());
-                return resultCoords;
+                return new Lookup(resultCoords, true);
             } else if (response != null && "ZERO_RESULTS".equals(response.getStatus())) {
                 String[] alternatives = generateAlternativeSearchTerms(address);
+                boolean cacheable = true;
                 for (String alternative : alternatives) {
                     if (alternative.equals(address) || alternative.trim().isEmpty()) continue;
                     log.info("주소 검색 실패. 대체 검색어로 재시도 ({}/3): {}", retryCount + 1, alternative);
-                    Coordinates coords = getCoordinatesInternal(alternative, retryCount + 1);
-                    if (coords != null) return coords;
+                    Lookup alternativeLookup = getCoordinatesInternal(alternative, retryCount + 1);
+                    if (alternativeLookup.coordinates() != null) return alternativeLookup;
+                    cacheable &= alternativeLookup.cacheable();
                 }
                 log.warn("대체 검색어로도 '{}' 위치를 찾지 못했습니다.", address);
-                return null;
+                // 대체 검색 중 일시적 실패가 있었다면 결과 없음으로 확정하지 않음
+                return cacheable ? Lookup.NOT_FOUND : Lookup.FAILED;
             } else {
                  String status = (response != null) ? response.getStatus() : "NULL_RESPONSE";
                  log.warn("Geocoding failed for '{}' with status: {}", address, status);
-                 return null;
+                 return Lookup.FAILED;
             }
 
         } catch (Exception e) {
             log.error("Error getting coordinates for address '{}': {}", address, e.getMessage());
             log.debug("Geocoding Exception Stacktrace:", e);
-            return null;
+            return Lookup.FAILED;
         }
     }
 
@@ -1,11 +1,16 @@
 package com.example.demo.service;
 
+import com.example.demo.entity.schedule.CalendarOutbox;
 import com.example.demo.entity.schedule.Schedule;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.entity.user.User;
 import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
@@ -23,6 +28,9 @@ import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +42,8 @@ public class GoogleCalendarService {
 
     private final UserRepository userRepository;
 
+    private volatile NetHttpTransport httpTransport;
+
     private Credential getCredentials(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
@@ -54,70 +64,157 @@ public class GoogleCalendarService {
     }
 
     private Calendar getCalendarService(Long userId) throws GeneralSecurityException, IOException {
-        final NetHttpTransport HTTP_TRANSPORT = GoogleNetHttpTransport.newTrustedTransport();
-        Credential credential = getCredentials(userId);
-        return new Calendar.Builder(HTTP_TRANSPORT, JSON_FACTORY, credential)
+        return buildCalendar(getCredentials(userId));
+    }
+
+    private Calendar buildCalendar(Credential credential) throws GeneralSecurityException, IOException {
+        return new Calendar.Builder(getHttpTransport(), JSON_FACTORY, credential)
                 .setApplicationName(APPLICATION_NAME)
                 .build();
     }
 
+    // HTTP 전송 객체는 스레드 안전하므로 한 번만 만들어 재사용 (커넥션 재사용)
+    private NetHttpTransport getHttpTransport() throws GeneralSecurityException, IOException {
+        NetHttpTransport transport = httpTransport;
+        if (transport == null) {
+            synchronized (this) {
+                if (httpTransport == null) {
+                    httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+                }
+                transport = httpTransport;
+            }
+        }
+        return transport;
+    }
+
     public String createEvent(Schedule schedule, Long userId) throws IOException, GeneralSecurityException {
         Calendar service = getCalendarService(userId);
-        Event event = new Event()
-                .setSummary(schedule.getTitle())
-                .setLocation(schedule.getLocation())
-                .setDescription(schedule.getMemo());
+        Event event = toEvent(schedule);
 
-        // 한국 시간대 명시적 지정
-        ZoneId koreaZoneId = ZoneId.of("Asia/Seoul");
+        event = service.events().insert(CALENDAR_ID, event).execute();
+        logger.info("Google Calendar 이벤트 생성 성공. Event ID: {}, User ID: {}", event.getId(), userId);
+        return event.getId();
+    }
 
-        // LocalDateTime을 Asia/Seoul 시간대로 해석하여 변환
-        DateTime startDateTime = new DateTime(
-                schedule.getStartTime().atZone(koreaZoneId).toInstant().toEpochMilli());
+    // 변경 필드만 patch로 반영 (기존 이벤트를 먼저 조회하지 않음)
+    public void updateEvent(Schedule schedule, Long userId) throws IOException, GeneralSecurityException {
+        Calendar service = getCalendarService(userId);
+        service.events().patch(CALENDAR_ID, schedule.getGoogleCalendarEventId(), toEvent(schedule)).execute();
+        logger.info("Google Calendar 이벤트 업데이트 성공. Event ID: {}, User ID: {}", schedule.getGoogleCalendarEventId(), userId);
+    }
 
-        EventDateTime start = new EventDateTime()
-                .setDateTime(startDateTime)
-                .setTimeZone("Asia/Seoul"); // 명시적으로 KST 지정
+    public void deleteEvent(String eventId, Long userId) throws IOException, GeneralSecurityException {
+        Calendar service = getCalendarService(userId);
+        service.events().delete(CALENDAR_ID, eventId).execute();
+        logger.info("Google Calendar 이벤트 삭제 성공. Event ID: {}, User ID: {}", eventId, userId);
+    }
 
-        event.setStart(start);
+    /**
+     * 한 사용자의 캘린더 변경 요청을 Google 배치 API(batch/calendar/v3)로 한 번에 전송
+     * @return 요청 키별 처리 결과
+     */
+    public Map<Long, MutationResult> executeBatch(Long userId, List<CalendarMutation> mutations) {
+        Map<Long, MutationResult> results = new HashMap<>();
+
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || user.getGoogleAccessToken() == null || user.getGoogleAccessToken().isEmpty()) {
+            logger.warn("Google Access Token이 없어 캘린더 동기화를 건너뜁니다. User ID: {}", userId);
+            mutations.forEach(mutation -> results.put(mutation.key(), MutationResult.FAILED));
+            return results;
+        }
+        if (user.getGoogleTokenExpiresAt() != null && user.getGoogleTokenExpiresAt().isBefore(LocalDateTime.now())) {
+            // 다음 로그인 시 토큰이 갱신되면 재시도
+            logger.info("Google Access Token 만료로 캘린더 동기화 보류. User ID: {}", userId);
+            mutations.forEach(mutation -> results.put(mutation.key(), MutationResult.RETRY));
+            return results;
+        }
 
-        // 종료 시간도 동일한 방식으로 처리
-        if (schedule.getEndTime() != null) {
-            DateTime endDateTime = new DateTime(
-                    schedule.getEndTime().atZone(koreaZoneId).toInstant().toEpochMilli());
-            EventDateTime end = new EventDateTime()
-                    .setDateTime(endDateTime)
-                    .setTimeZone("Asia/Seoul");
-            event.setEnd(end);
-        } else {
-            // 종료 시간 기본값 설정
-            DateTime endDateTime = new DateTime(
-                    schedule.getStartTime().plusHours(1).atZone(koreaZoneId).toInstant().toEpochMilli());
-            EventDateTime end = new EventDateTime()
-                    .setDateTime(endDateTime)
-                    .setTimeZone("Asia/Seoul");
-            event.setEnd(end);
+        try {
+            Calendar service = buildCalendar(new GoogleCredential().setAccessToken(user.getGoogleAccessToken()));
+            BatchRequest batch = service.batch();
+
+            for (CalendarMutation mutation : mutations) {
+                switch (mutation.operation()) {
+                    case CREATE -> service.events()
+                            .insert(CALENDAR_ID, toEvent(mutation.schedule()).setId(mutation.eventId()))
+                            .queue(batch, new MutationCallback<>(mutation, results));
+                    case UPDATE -> service.events()
+                            .patch(CALENDAR_ID, mutation.eventId(), toEvent(mutation.schedule()))
+                            .queue(batch, new MutationCallback<>(mutation, results));
+                    case DELETE -> service.events()
+                            .delete(CALENDAR_ID, mutation.eventId())
+                            .queue(batch, new MutationCallback<>(mutation, results));
+                }
+            }
+
+            batch.execute();
+            logger.info("Google Calendar 배치 동기화 완료. User ID: {}, 요청 {}건", userId, mutations.size());
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            // 요청 구성 중 예외(일정 변환 실패 등)도 이 배치만 재시도로 돌리고 다른 사용자 배치는 계속 전송
+            logger.warn("Google Calendar 배치 요청 실패 (User ID: {}): {}", userId, e.getMessage());
         }
 
-        // 디버깅 로그 추가
-        logger.info("시간 정보 - 원본: {}, Google Calendar 전송: {}, 시간대: Asia/Seoul",
-                schedule.getStartTime(),
-                startDateTime.toStringRfc3339());
+        // 응답을 받지 못한 요청은 재시도
+        mutations.forEach(mutation -> results.putIfAbsent(mutation.key(), MutationResult.RETRY));
+        return results;
+    }
 
-        event = service.events().insert(CALENDAR_ID, event).execute();
-        logger.info("Google Calendar 이벤트 생성 성공. Event ID: {}, User ID: {}", event.getId(), userId);
-        return event.getId();
+    /**
+     * 캘린더 변경 요청
+     * @param key 결과 매핑용 키 (outbox ID)
+     * @param schedule CREATE/UPDATE 시 반영할 일정 (DELETE는 null)
+     */
+    public record CalendarMutation(Long key, CalendarOutbox.Operation operation, String eventId, Schedule schedule) {
     }
 
-    public void updateEvent(Schedule schedule, Long userId) throws IOException, GeneralSecurityException {
-        Calendar service = getCalendarService(userId);
-        Event event = service.events().get(CALENDAR_ID, schedule.getGoogleCalendarEventId()).execute();
+    // RETRY: 일시적 실패(네트워크, 429/5xx, 인증 만료), FAILED: 재시도해도 성공할 수 없음
+    public enum MutationResult {
+        SUCCESS, RETRY, FAILED
+    }
+
+    private static final class MutationCallback<T> extends JsonBatchCallback<T> {
+        private final CalendarMutation mutation;
+        private final Map<Long, MutationResult> results;
+
+        private MutationCallback(CalendarMutation mutation, Map<Long, MutationResult> results) {
+            this.mutation = mutation;
+            this.results = results;
+        }
 
-        event.setSummary(schedule.getTitle());
-        event.setLocation(schedule.getLocation());
-        event.setDescription(schedule.getMemo());
+        @Override
+        public void onSuccess(T response, HttpHeaders responseHeaders) {
+            results.put(mutation.key(), MutationResult.SUCCESS);
+        }
 
-        // 한국 시간대 명시적 지정 (createEvent와 동일하게 적용)
+        @Override
+        public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+            int code = error.getCode();
+            MutationResult result;
+            if (code == 409 && mutation.operation() == CalendarOutbox.Operation.CREATE) {
+                // 같은 이벤트 ID로 이미 생성됨 (이전 시도가 성공했지만 응답을 받지 못한 경우)
+                result = MutationResult.SUCCESS;
+            } else if ((code == 404 || code == 410) && mutation.operation() == CalendarOutbox.Operation.DELETE) {
+                // 이미 삭제됨
+                result = MutationResult.SUCCESS;
+            } else if (code == 401 || code == 403 || code == 429 || code >= 500) {
+                result = MutationResult.RETRY;
+            } else {
+                result = MutationResult.FAILED;
+            }
+            logger.warn("Google Calendar {} 실패. Event ID: {}, code: {}, message: {} -> {}",
+                    mutation.operation(), mutation.eventId(), code, error.getMessage(), result);
+            results.put(mutation.key(), result);
+        }
+    }
+
+    // 일정 -> Google Calendar 이벤트 (시간은 Asia/Seoul 기준)
+    private Event toEvent(Schedule schedule) {
+        Event event = new Event()
+                .setSummary(schedule.getTitle())
+                .setLocation(schedule.getLocation())
+                .setDescription(schedule.getMemo());
+
+        // 한국 시간대 명시적 지정
         ZoneId koreaZoneId = ZoneId.of("Asia/Seoul");
 
         // LocalDateTime을 Asia/Seoul 시간대로 해석하여 변환
@@ -128,34 +225,17 @@ public class GoogleCalendarService {
                 .setTimeZone("Asia/Seoul"); // 명시적으로 KST 지정
         event.setStart(start);
 
-        if (schedule.getEndTime() != null) {
-            DateTime endDateTime = new DateTime(
-                    schedule.getEndTime().atZone(koreaZoneId).toInstant().toEpochMilli());
-            EventDateTime end = new EventDateTime()
-                    .setDateTime(endDateTime)
-                    .setTimeZone("Asia/Seoul");
-            event.setEnd(end);
-        } else {
-            DateTime endDateTime = new DateTime(
-                    schedule.getStartTime().plusHours(1).atZone(koreaZoneId).toInstant().toEpochMilli());
-            EventDateTime end = new EventDateTime()
-                    .setDateTime(endDateTime)
-                    .setTimeZone("Asia/Seoul");
-            event.setEnd(end);
-        }
+        // 종료 시간이 없으면 시작 1시간 후
+        LocalDateTime endTime = schedule.getEndTime() != null ? schedule.getEndTime() : schedule.getStartTime().plusHours(1);
+        DateTime endDateTime = new DateTime(endTime.atZone(koreaZoneId).toInstant().toEpochMilli());
+        EventDateTime end = new EventDateTime()
+                .setDateTime(endDateTime)
+                .setTimeZone("Asia/Seoul");
+        event.setEnd(end);
 
-        // 디버깅을 위한 로그 추가
-        logger.info("이벤트 업데이트 - 원본 시작: {}, 변환 후(Asia/Seoul): {}",
+        logger.debug("시간 정보 - 원본: {}, Google Calendar 전송: {}, 시간대: Asia/Seoul",
                 schedule.getStartTime(),
                 startDateTime.toStringRfc3339());
-
-        service.events().update(CALENDAR_ID, event.getId(), event).execute();
-        logger.info("Google Calendar 이벤트 업데이트 성공. Event ID: {}, User ID: {}", event.getId(), userId);
-    }
-
-    public void deleteEvent(String eventId, Long userId) throws IOException, GeneralSecurityException {
-        Calendar service = getCalendarService(userId);
-        service.events().delete(CALENDAR_ID, eventId).execute();
-        logger.info("Google Calendar 이벤트 삭제 성공. Event ID: {}, User ID: {}", eventId, userId);
+        return event;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 무효 FCM 토큰 정리 큐
+ * 알림 전송 경로에서는 토큰만 큐에 넣고, 백그라운드 작업이 모아서 한 번의 UPDATE로 null 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvalidFcmTokenQueue {
+
+    // IN 절 하나에 넣을 최대 토큰 수
+    private static final int MAX_TOKENS_PER_UPDATE = 500;
+
+    private final UserRepository userRepository;
+
+    private final Queue<String> webTokens = new ConcurrentLinkedQueue<>();
+    private final Queue<String> appTokens = new ConcurrentLinkedQueue<>();
+
+    // 무효 토큰 등록 (tokenType: "WEB" / "APP")
+    public void enqueue(String token, String tokenType) {
+        if (token == null || token.isEmpty()) {
+            log.warn("삭제할 FCM 토큰 값이 비어있습니다. (Type: {})", tokenType);
+            return;
+        }
+
+        log.warn("!!! FCM 토큰 무효화 감지 (Type: {}), 정리 대기열에 추가합니다. Token: {}...",
+                tokenType, token.substring(0, Math.min(token.length(), 10)));
+        ("APP".equals(tokenType) ? appTokens : webTokens).offer(token);
+    }
+
+    // 대기 중인 무효 토큰 일괄 정리
+    @Scheduled(fixedDelayString = "${igo.notification.fcm.token-cleanup-interval-ms:5000}")
+    public void drain() {
+        drain(webTokens, "WEB");
+        drain(appTokens, "APP");
+    }
+
+    private void drain(Queue<String> queue, String tokenType) {
+        Set<String> tokens = new LinkedHashSet<>();
+        String token;
+        while ((token = queue.poll()) != null) {
+            tokens.add(token);
+        }
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        List<String> pending = new ArrayList<>(tokens);
+        int cleared = 0;
+        int from = 0;
+        try {
+            for (; from < pending.size(); from += MAX_TOKENS_PER_UPDATE) {
+                List<String> chunk = pending.subList(from, Math.min(from + MAX_TOKENS_PER_UPDATE, pending.size()));
+                cleared += "APP".equals(tokenType)
+                        ? userRepository.clearAppFcmTokens(chunk)
+                        : userRepository.clearFcmTokens(chunk);
+            }
+            log.info("유효하지 않은 토큰 일괄 삭제 완료 (Type: {}) - 토큰 {}개, 사용자 {}명", tokenType, tokens.size(), cleared);
+        } catch (DataAccessException e) {
+            // 아직 정리하지 못한 토큰은 다시 큐에 넣어 다음 주기에 재시도
+            List<String> remaining = pending.subList(from, pending.size());
+            queue.addAll(remaining);
+            log.error("DB에서 유효하지 않은 FCM 토큰 삭제 중 오류 발생 (Type: {}) - 토큰 {}개 재시도 예정: {}",
+                    tokenType, remaining.size(), e.getMessage(), e);
+        }
+    }
+}
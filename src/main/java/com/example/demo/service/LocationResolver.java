@@ -0,0 +1,50 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.midpoint.Coordinates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 일정의 출발지/도착지 좌표 변환
+ * 두 위치를 동시에 변환하며, 호출 측은 결과를 기다리는 동안 루틴 조회 등 다른 작업을 진행할 수 있다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LocationResolver {
+
+    private final GeocodingService geocodingService;
+    private final ThreadPoolTaskExecutor geocodingExecutor;
+
+    /**
+     * 좌표 변환 결과 (이름이 없거나 변환에 실패한 쪽은 null)
+     */
+    public record ResolvedLocations(Coordinates start, Coordinates destination) {
+    }
+
+    /**
+     * 출발지/도착지 좌표를 병렬로 변환
+     * @param startLocation 출발지 (없으면 null)
+     * @param destination 도착지 (없으면 null)
+     */
+    public CompletableFuture<ResolvedLocations> resolveAsync(String startLocation, String destination) {
+        CompletableFuture<Coordinates> start = geocodeAsync(startLocation);
+        CompletableFuture<Coordinates> dest = geocodeAsync(destination);
+        return start.thenCombine(dest, ResolvedLocations::new);
+    }
+
+    private CompletableFuture<Coordinates> geocodeAsync(String location) {
+        if (location == null || location.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> geocodingService.getCoordinates(location), geocodingExecutor)
+                .exceptionally(e -> {
+                    log.warn("좌표 변환 실패: {} - {}", location, e.getMessage());
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.midpoint.Coordinates;
+import com.example.demo.dto.midpoint.RecommendedStation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 중간 지점 계산 및 후보 역 순위 결정
+ * - 시작점: 참석자 좌표의 기하 중앙값(Weiszfeld), 산술 평균보다 멀리 떨어진 한 사람에게 덜 끌려간다.
+ * - 순위: 참석자 전원의 대중교통 소요 시간으로 점수를 매김 (최대 시간 + 가중치 x 평균 시간, 낮을수록 좋음)
+ * - 직선 거리로 구한 낙관적 하한이 현재 상위 N개 점수보다 나쁜 후보는 ODsay를 호출하지 않고 제외한다.
+ * - ODsay 조회에 실패한 참석자는 거리로 추정하고, 추정이 섞인 점수는 estimatedCount로 표시한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MidpointEngine {
+
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+    private static final int MEDIAN_MAX_ITERATIONS = 100;
+    private static final double MEDIAN_TOLERANCE_METERS = 1.0;
+
+    private final OdysseyTransitService odysseyTransitService;
+    private final ThreadPoolTaskExecutor transportApiExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${igo.midpoint.engine.sum-weight:0.5}")
+    private double sumWeight;
+
+    // 하한 계산용 직선 거리 기준 최고 속도 (실제 대중교통보다 빠르게 잡아야 하한이 유지됨)
+    @Value("${igo.midpoint.engine.max-speed-kmh:60}")
+    private double maxSpeedKmh;
+
+    // ODsay 조회 실패 시 추정 속도 / 대기·도보 시간
+    @Value("${igo.midpoint.engine.estimate-speed-kmh:20}")
+    private double estimateSpeedKmh;
+
+    @Value("${igo.midpoint.engine.estimate-overhead-minutes:10}")
+    private double estimateOverheadMinutes;
+
+    @Value("${igo.midpoint.engine.max-candidates:8}")
+    private int maxCandidates;
+
+    @Value("${igo.midpoint.engine.parallelism:4}")
+    private int parallelism;
+
+    private Counter evaluatedCounter;
+    private Counter prunedCounter;
+    private Counter cappedCounter;
+
+    /**
+     * 후보 역 점수 (분 단위)
+     * @param estimatedCount ODsay 조회에 실패해 거리로 추정한 참석자 수 (0이면 모두 실제 조회 시간)
+     */
+    public record ScoredStation(RecommendedStation station, double maxMinutes, double averageMinutes, double score,
+                                int estimatedCount) {
+
+        public boolean estimated() {
+            return estimatedCount > 0;
+        }
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        evaluatedCounter = Counter.builder("igo.midpoint.engine.candidates")
+                .tag("result", "evaluated")
+                .description("이동 시간을 조회해 점수를 매긴 후보 역 수")
+                .register(meterRegistry);
+        prunedCounter = Counter.builder("igo.midpoint.engine.candidates")
+                .tag("result", "pruned")
+                .description("하한 비교로 평가를 건너뛰거나 중단한 후보 역 수")
+                .register(meterRegistry);
+        cappedCounter = Counter.builder("igo.midpoint.engine.candidates")
+                .tag("result", "capped")
+                .description("max-candidates 제한으로 평가 대상에서 빠진 후보 역 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기하 중앙값 (각 참석자까지의 직선 거리 합이 최소인 지점)
+     * 서울 권역 정도의 범위에서는 위경도를 평면(미터)으로 근사해 계산한다.
+     */
+    public Coordinates geometricMedian(List<Coordinates> points) {
+        if (points == null || points.isEmpty()) {
+            throw new IllegalArgumentException("좌표 목록이 비어있습니다.");
+        }
+
+        double refLat = points.stream().mapToDouble(Coordinates::getLat).average().orElse(0);
+        double metersPerDegreeLng = METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(refLat));
+        int n = points.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double x = 0;
+        double y = 0;
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getLng() * metersPerDegreeLng;
+            ys[i] = points.get(i).getLat() * METERS_PER_DEGREE_LAT;
+            x += xs[i] / n;
+            y += ys[i] / n;
+        }
+
+        // 산술 평균에서 시작해 거리의 역수로 가중 평균을 반복
+        for (int iteration = 0; iteration < MEDIAN_MAX_ITERATIONS; iteration++) {
+            double weightedX = 0;
+            double weightedY = 0;
+            double weightSum = 0;
+            for (int i = 0; i < n; i++) {
+                double distance = Math.hypot(xs[i] - x, ys[i] - y);
+                if (distance < MEDIAN_TOLERANCE_METERS) {
+                    continue; // 참석자 위치와 겹치면 0으로 나누지 않도록 제외
+                }
+                weightedX += xs[i] / distance;
+                weightedY += ys[i] / distance;
+                weightSum += 1 / distance;
+            }
+            if (weightSum == 0) {
+                break;
+            }
+            double nextX = weightedX / weightSum;
+            double nextY = weightedY / weightSum;
+            double moved = Math.hypot(nextX - x, nextY - y);
+            x = nextX;
+            y = nextY;
+            if (moved < MEDIAN_TOLERANCE_METERS) {
+                break;
+            }
+        }
+        return new Coordinates(y / METERS_PER_DEGREE_LAT, x / metersPerDegreeLng);
+    }
+
+    /**
+     * 후보 역을 이동 시간 점수 순으로 정렬해 상위 topN개 반환
+     * 하한이 낮은 후보부터 parallelism개씩 동시에 평가하고, 하한이 현재 N번째 점수 이상이면 남은 후보는 평가하지 않는다.
+     * 점수가 같으면 환승 노선이 많은 역을 앞에 둔다.
+     */
+    public List<ScoredStation> rank(List<Coordinates> participants, List<RecommendedStation> candidates, int topN) {
+        if (participants.isEmpty() || candidates.isEmpty() || topN <= 0) {
+            return List.of();
+        }
+
+        List<Candidate> ordered = candidates.stream()
+                .map(station -> new Candidate(station, lowerBounds(participants, station)))
+                .sorted(Comparator.comparingDouble((Candidate c) -> score(c.lowerBounds())))
+                .limit(Math.max(maxCandidates, topN))
+                .toList();
+
+        TopScores best = new TopScores(topN);
+        AtomicInteger evaluated = new AtomicInteger();
+        int step = Math.max(parallelism, 1);
+        for (int from = 0; from < ordered.size(); from += step) {
+            // 하한 오름차순이므로 이번 묶음 첫 후보가 안 되면 나머지도 모두 안 됨
+            if (score(ordered.get(from).lowerBounds()) >= best.threshold()) {
+                break;
+            }
+            List<CompletableFuture<Void>> futures = ordered.subList(from, Math.min(from + step, ordered.size())).stream()
+                    .map(candidate -> CompletableFuture.runAsync(() -> {
+                        ScoredStation scored = evaluate(candidate, participants, best);
+                        if (scored != null) {
+                            evaluated.incrementAndGet();
+                            best.offer(scored);
+                        }
+                    }, transportApiExecutor))
+                    .toList();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        }
+
+        List<ScoredStation> ranked = best.sorted();
+        int capped = candidates.size() - ordered.size();
+        int pruned = ordered.size() - evaluated.get();
+        evaluatedCounter.increment(evaluated.get());
+        prunedCounter.increment(pruned);
+        cappedCounter.increment(capped);
+        log.info("🧭 [MidpointEngine] 후보 역 {}개 중 제한 초과 {}개, 하한 제외 {}개, 상위: {}",
+                candidates.size(), capped, pruned,
+                ranked.stream()
+                        .map(s -> String.format("%s(최대 %.0f분, 평균 %.0f분%s)", s.station().getStationName(),
+                                s.maxMinutes(), s.averageMinutes(), s.estimated() ? ", 추정 포함" : ""))
+                        .toList());
+        return ranked;
+    }
+
+    // 참석자별 실제 이동 시간을 조회 (오래 걸릴 것 같은 참석자부터, 중간에 가망이 없어지면 null)
+    private ScoredStation evaluate(Candidate candidate, List<Coordinates> participants, TopScores best) {
+        RecommendedStation station = candidate.station();
+        double[] minutes = candidate.lowerBounds().clone();
+        List<Integer> order = new ArrayList<>(participants.size());
+        for (int i = 0; i < participants.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> candidate.lowerBounds()[i]).reversed());
+
+        int estimatedCount = 0;
+        for (int i : order) {
+            // 조회한 참석자는 실제 시간, 나머지는 하한으로 계산한 점수도 현재 N번째보다 나쁘면 중단
+            if (score(minutes) >= best.threshold()) {
+                return null;
+            }
+            Coordinates from = participants.get(i);
+            Integer transitMinutes = odysseyTransitService.getTransitTime(
+                    from.getLng(), from.getLat(), station.getLongitude(), station.getLatitude());
+            if (transitMinutes != null) {
+                minutes[i] = transitMinutes;
+            } else {
+                minutes[i] = estimateMinutes(distanceMeters(from, station), minutes[i]);
+                estimatedCount++;
+            }
+        }
+
+        double max = 0;
+        double sum = 0;
+        for (double m : minutes) {
+            max = Math.max(max, m);
+            sum += m;
+        }
+        return new ScoredStation(station, max, sum / minutes.length, score(minutes), estimatedCount);
+    }
+
+    private double[] lowerBounds(List<Coordinates> participants, RecommendedStation station) {
+        double metersPerMinute = maxSpeedKmh * 1000 / 60;
+        double[] bounds = new double[participants.size()];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = distanceMeters(participants.get(i), station) / metersPerMinute;
+        }
+        return bounds;
+    }
+
+    // ODsay 조회 실패 (호출 한도 초과, 너무 가까운 거리 등) 시 거리 기반 추정
+    private double estimateMinutes(double distanceMeters, double lowerBound) {
+        double estimate = distanceMeters / (estimateSpeedKmh * 1000 / 60) + estimateOverheadMinutes;
+        return Math.max(estimate, lowerBound);
+    }
+
+    private double score(double[] minutes) {
+        double max = 0;
+        double sum = 0;
+        for (double m : minutes) {
+            max = Math.max(max, m);
+            sum += m;
+        }
+        return max + sumWeight * sum / minutes.length;
+    }
+
+    private double distanceMeters(Coordinates from, RecommendedStation station) {
+        double dLat = (station.getLatitude() - from.getLat()) * METERS_PER_DEGREE_LAT;
+        double dLng = (station.getLongitude() - from.getLng()) * METERS_PER_DEGREE_LAT
+                * Math.cos(Math.toRadians((station.getLatitude() + from.getLat()) / 2));
+        return Math.hypot(dLat, dLng);
+    }
+
+    private record Candidate(RecommendedStation station, double[] lowerBounds) {
+    }
+
+    /**
+     * 현재까지 점수가 가장 좋은 N개 (여러 스레드에서 동시에 갱신)
+     */
+    private static final class TopScores {
+
+        private static final Comparator<ScoredStation> ORDER = Comparator.comparingDouble(ScoredStation::score)
+                .thenComparing(s -> s.station().getLaneCount(), Comparator.reverseOrder());
+
+        private final int limit;
+        private final List<ScoredStation> entries = new ArrayList<>();
+
+        TopScores(int limit) {
+            this.limit = limit;
+        }
+
+        synchronized void offer(ScoredStation scored) {
+            entries.add(scored);
+            entries.sort(ORDER);
+            if (entries.size() > limit) {
+                entries.remove(entries.size() - 1);
+            }
+        }
+
+        // N개가 채워지기 전에는 모든 후보를 평가
+        synchronized double threshold() {
+            return entries.size() < limit ? Double.POSITIVE_INFINITY : entries.get(entries.size() - 1).score();
+        }
+
+        synchronized List<ScoredStation> sorted() {
+            return new ArrayList<>(entries);
+        }
+    }
+}
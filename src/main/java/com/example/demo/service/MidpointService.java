@@ -3,6 +3,7 @@ package com.example.demo.service;
 import com.example.demo.dto.midpoint.Coordinates; // Coordinates DTO import
 import com.example.demo.dto.midpoint.GooglePlace; // GooglePlace DTO import
 import com.example.demo.dto.midpoint.GooglePlacesResponse; // GooglePlacesResponse DTO import
+import com.example.demo.entity.api.ApiDailyUsage;
 import com.example.demo.exception.LocationNotFoundException; // LocationNotFoundException import
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ import java.util.List;
 public class MidpointService {
 
     private final RestTemplate restTemplate;
+    private final ApiQuotaManager apiQuotaManager;
 
     @Value("${google.maps.api.key}")
     private String googleMapsApiKey;
@@ -88,6 +90,10 @@ public class MidpointService {
                 .toUri();
 
         log.debug("Google Places API request (rankby=distance, type={}): {}", type, uri);
+        if (!apiQuotaManager.tryAcquire(ApiDailyUsage.Provider.GOOGLE_MAPS)) {
+            log.warn("Google Places API (rankby=distance) 호출 한도 초과 - type: {}", type);
+            return Collections.emptyList();
+        }
         try {
             GooglePlacesResponse response = restTemplate.getForObject(uri, GooglePlacesResponse.class);
             if (response != null && "OK".equals(response.getStatus()) && response.getResults() != null) {
@@ -119,6 +125,10 @@ public class MidpointService {
                 .toUri();
 
          log.debug("Google Places API request (radius={}, type={}): {}", radius, type, uri);
+        if (!apiQuotaManager.tryAcquire(ApiDailyUsage.Provider.GOOGLE_MAPS)) {
+            log.warn("Google Places API (radius) 호출 한도 초과 - type: {}", type);
+            return Collections.emptyList();
+        }
         try {
             GooglePlacesResponse response = restTemplate.getForObject(uri, GooglePlacesResponse.class);
             if (response != null && "OK".equals(response.getStatus()) && response.getResults() != null) {
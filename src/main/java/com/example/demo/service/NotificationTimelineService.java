@@ -0,0 +1,164 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.fcm.NotificationTimeline;
+import com.example.demo.entity.fcm.NotificationTimeline.FireType;
+import com.example.demo.entity.schedule.Schedule;
+import com.example.demo.repository.NotificationTimelineRepository;
+import com.example.demo.repository.RoutineRepository;
+import com.example.demo.repository.ScheduleRepository;
+import com.example.demo.service.RoutineTimingCache.RoutineTiming;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 알림 타임라인 관리
+ * 스케줄/루틴이 생성·변경될 때 발송 시각을 미리 계산해 두고,
+ * 매 분 스케줄러는 해당 분의 항목만 조회한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class NotificationTimelineService {
+
+    private static final List<Schedule.ScheduleStatus> ACTIVE_STATUSES =
+            List.of(Schedule.ScheduleStatus.PENDING, Schedule.ScheduleStatus.IN_PROGRESS);
+
+    private final NotificationTimelineRepository timelineRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final RoutineRepository routineRepository;
+    private final RoutineTimingCache routineTimingCache;
+
+    @Value("${igo.notification.supplies.minutes.before:5}")
+    private int suppliesNotificationMinutesBefore;
+
+    // 스케줄 생성/수정 시 타임라인 재계산
+    public void rebuild(Schedule schedule) {
+        RoutineTiming timing = schedule.getRoutineId() != null ? findTiming(schedule.getRoutineId()) : null;
+        rebuild(schedule, timing);
+    }
+
+    // 루틴 변경 시 해당 루틴을 사용하는 진행 전/진행 중 스케줄의 타임라인 재계산
+    public void rebuildForRoutine(Long routineId) {
+        // 새로 추가된 루틴 아이템의 ID가 확정되도록 먼저 반영
+        routineRepository.flush();
+
+        List<Schedule> schedules = scheduleRepository.findByRoutineIdAndStatusIn(routineId, ACTIVE_STATUSES);
+        if (schedules.isEmpty()) {
+            return;
+        }
+
+        RoutineTiming timing = findTiming(routineId);
+        for (Schedule schedule : schedules) {
+            rebuild(schedule, timing);
+        }
+        log.info("🗓️ [NotificationTimelineService] 루틴 변경 반영 - Routine ID: {}, 스케줄 {}개 재계산", routineId, schedules.size());
+    }
+
+    // 스케줄 삭제 시 타임라인 제거
+    public void deleteForSchedule(Long scheduleId) {
+        timelineRepository.deleteAllByScheduleId(scheduleId);
+    }
+
+    // 발송할 항목 조회 ([from, to))
+    @Transactional(readOnly = true)
+    public List<NotificationTimeline> findDue(LocalDateTime from, LocalDateTime to) {
+        return timelineRepository.findDue(from, to);
+    }
+
+    // 처리가 끝난 구간(before 이전)의 항목 정리
+    public int purgeBefore(LocalDateTime before) {
+        return timelineRepository.deleteAllByFireAtBefore(before);
+    }
+
+    // 애플리케이션 시작 시 진행 전/진행 중 스케줄 전체의 타임라인 재구성
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        List<Schedule> schedules = scheduleRepository.findByStatusInAndEndTimeAfter(ACTIVE_STATUSES, LocalDateTime.now());
+        for (Schedule schedule : schedules) {
+            RoutineTiming timing = schedule.getRoutineId() != null ? findTiming(schedule.getRoutineId()) : null;
+            rebuild(schedule, timing);
+        }
+        log.info("🗓️ [NotificationTimelineService] 알림 타임라인 재구성 완료 - 스케줄 {}개", schedules.size());
+    }
+
+    private void rebuild(Schedule schedule, RoutineTiming timing) {
+        timelineRepository.deleteAllByScheduleId(schedule.getId());
+
+        if (schedule.getStatus() == Schedule.ScheduleStatus.COMPLETED || schedule.getStartTime() == null) {
+            return;
+        }
+
+        // 이번 분의 작업은 이미 실행되었을 수 있으므로 다음 분부터 등록
+        LocalDateTime nextTick = LocalDateTime.now().withSecond(0).withNano(0).plusMinutes(1);
+        List<NotificationTimeline> entries = new ArrayList<>();
+
+        if (timing != null && !timing.isEmpty()) {
+            LocalDateTime routineStartTime = schedule.getStartTime().minusMinutes(timing.getTotalDuration());
+
+            addIfNotPast(entries, schedule, FireType.ROUTINE_START_REMINDER, routineStartTime.minusHours(1), nextTick);
+
+            if (schedule.getSupplies() != null && !schedule.getSupplies().trim().isEmpty()) {
+                addIfNotPast(entries, schedule, FireType.SUPPLIES_REMINDER,
+                        routineStartTime.minusMinutes(suppliesNotificationMinutesBefore), nextTick);
+            }
+
+            // 상태 전환은 지난 시각이어도 다음 분에 처리되도록 당겨서 등록
+            if (schedule.getStatus() == Schedule.ScheduleStatus.PENDING) {
+                entries.add(entry(schedule, FireType.ROUTINE_START, max(routineStartTime, nextTick)));
+            }
+
+            for (int i = 0; i < timing.size(); i++) {
+                LocalDateTime itemStartTime = routineStartTime.plusMinutes(timing.getStartOffset(i));
+                if (!itemStartTime.isBefore(nextTick)) {
+                    NotificationTimeline itemEntry = entry(schedule, FireType.ROUTINE_ITEM_START, itemStartTime);
+                    itemEntry.setRoutineItemId(timing.getItemId(i));
+                    itemEntry.setRoutineItemName(timing.getItemName(i));
+                    entries.add(itemEntry);
+                }
+            }
+        }
+
+        addIfNotPast(entries, schedule, FireType.SCHEDULE_START, schedule.getStartTime(), nextTick);
+
+        if (schedule.getEndTime() != null) {
+            entries.add(entry(schedule, FireType.SCHEDULE_END, max(schedule.getEndTime(), nextTick)));
+        }
+
+        timelineRepository.saveAll(entries);
+        log.debug("🗓️ [NotificationTimelineService] 타임라인 등록 - Schedule ID: {}, 항목 {}개", schedule.getId(), entries.size());
+    }
+
+    // 삭제된 루틴이면 null (루틴 없는 스케줄로 취급)
+    private RoutineTiming findTiming(Long routineId) {
+        return routineTimingCache.find(routineId).orElse(null);
+    }
+
+    private void addIfNotPast(List<NotificationTimeline> entries, Schedule schedule, FireType fireType,
+                              LocalDateTime fireAt, LocalDateTime nextTick) {
+        if (!fireAt.isBefore(nextTick)) {
+            entries.add(entry(schedule, fireType, fireAt));
+        }
+    }
+
+    private NotificationTimeline entry(Schedule schedule, FireType fireType, LocalDateTime fireAt) {
+        return NotificationTimeline.builder()
+                .scheduleId(schedule.getId())
+                .fireType(fireType)
+                .fireAt(fireAt)
+                .build();
+    }
+
+    private LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -16,7 +16,7 @@ import java.util.logging.Logger;
 @RequiredArgsConstructor
 public class OAuthRevokeService {
     private static final Logger logger = Logger.getLogger(OAuthRevokeService.class.getName());
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate oauthRestTemplate;
 
     public boolean revokeGoogleToken(String accessToken) {
         if (accessToken == null || accessToken.isEmpty()) {
@@ -35,7 +35,7 @@ public class OAuthRevokeService {
 
             HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(map, headers);
 
-            restTemplate.postForEntity(revokeEndpoint, request, String.class);
+            oauthRestTemplate.postForEntity(revokeEndpoint, request, String.class);
             logger.info("Google 액세스 토큰 취소 성공");
             return true;
         } catch (RestClientException e) {
@@ -1,22 +1,24 @@
 package com.example.demo.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import com.example.demo.dto.odsay.OdsaySearchStationResponse;
+import com.example.demo.entity.api.ApiDailyUsage;
 import com.example.demo.dto.odsay.OdsaySubwayStationInfoResponse;
 import com.example.demo.dto.odsay.OdsayPointSearchResponse;
-import java.net.URI;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import reactor.core.publisher.Mono; // Mono 클래스
 
@@ -28,12 +30,23 @@ import reactor.core.publisher.Mono; // Mono 클래스
 @RequiredArgsConstructor
 public class OdysseyTransitService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate odsayRestTemplate;
+    private final WebClient odsayWebClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RouteCache routeCache;
+    private final ApiQuotaManager apiQuotaManager;
 
     @Value("${odsay.api.key:}")
     private String odysseyApiKey;
 
+    // 구간(격자 칸 + 출발 시간대)별 대중교통 소요 시간 캐시
+    private SingleFlightCache<RouteCache.RouteKey, Integer> transitTimeCache;
+
+    @PostConstruct
+    public void initCache() {
+        transitTimeCache = routeCache.create("odsay-transit");
+    }
+
     /**
      * 오디세이 API로 대중교통 소요 시간 조회
      * @param startX 출발지 경도
@@ -43,6 +56,27 @@ public class OdysseyTransitService {
      * @return 대중교통 소요 시간 (분), 실패 시 null
      */
     public Integer getTransitTime(Double startX, Double startY, Double endX, Double endY) {
+        RouteCache.RouteKey cacheKey = routeCache.key("odsay-transit", startX, startY, endX, endY);
+        try {
+            // 같은 구간의 동시 요청은 한 번만 호출, 실패(null)는 캐시하지 않음
+            return transitTimeCache.get(cacheKey, () -> {
+                Integer transitTime = fetchTransitTime(startX, startY, endX, endY);
+                return transitTime != null
+                        ? CompletableFuture.completedFuture(transitTime)
+                        : CompletableFuture.failedFuture(new IllegalStateException("대중교통 시간 조회 실패"));
+            }).join();
+        } catch (CompletionException e) {
+            return null;
+        }
+    }
+
+    // 오디세이 API 실제 호출
+    private Integer fetchTransitTime(Double startX, Double startY, Double endX, Double endY) {
+        if (!apiQuotaManager.tryAcquire(ApiDailyUsage.Provider.ODSAY)) {
+            log.warn("⚠️ [OdysseyTransitService] ODsay 호출 한도 초과 - 대중교통 시간 조회 생략");
+            return null;
+        }
+
         try {
             // 오디세이 API 엔드포인트
             String url = "https://api.odsay.com/v1/api/searchPubTransPathT";
@@ -57,7 +91,7 @@ public class OdysseyTransitService {
             HttpHeaders headers = new HttpHeaders();
             headers.set("Accept", "application/json");
 
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<String> response = odsayRestTemplate.exchange(
                     urlWithParams, HttpMethod.GET, new HttpEntity<>(headers), String.class);
 
             if (response.getStatusCode() == HttpStatus.OK) {
@@ -90,94 +124,75 @@ public class OdysseyTransitService {
         return null;
     }
 
-    /**
-     * ODsay API로 역 이름 검색 (searchStation)
-     * @param stationName 검색할 역 이름 (2자 이상)
-     * @return 검색된 정류장/역 목록 Mono (stationClass 필터링 전)
-     */
     /**
      * ODsay API로 역 이름 검색 (searchStation)
      * @param stationName 검색할 역 이름 (2자 이상)
      * @return 검색된 지하철역 목록 Mono (stationClass=2 필터링 적용)
      */
     public Mono<List<OdsaySearchStationResponse.StationInfo>> searchStationByName(String stationName) {
-        // RestTemplate 호출을 Mono.fromCallable로 감싸 비동기처럼 반환
-        return Mono.fromCallable(() -> {
+        // 구독 시점에 한도 확인 (초당 호출 수 초과 시 지연) 후 WebClient로 논블로킹 호출
+        return apiQuotaManager.acquire(ApiDailyUsage.Provider.ODSAY).flatMap(allowed -> {
             // API 키 값 확인 로그 (유지)
             if (odysseyApiKey == null || odysseyApiKey.isBlank()) {
                 log.error("❌ [OdysseyTransitService] ODsay API Key가 로드되지 않았습니다! application.properties 파일을 확인하세요.");
-                return Collections.<OdsaySearchStationResponse.StationInfo>emptyList();
+                return Mono.just(Collections.<OdsaySearchStationResponse.StationInfo>emptyList());
+            }
+            if (!allowed) {
+                log.warn("⚠️ [OdysseyTransitService] ODsay 호출 한도 초과 - 역 이름 검색 생략: '{}'", stationName);
+                return Mono.just(Collections.<OdsaySearchStationResponse.StationInfo>emptyList());
             }
 
-            try {
-                // stationName과 apiKey 모두 인코딩
-                String encodedApiKey = URLEncoder.encode(odysseyApiKey, StandardCharsets.UTF_8.toString());
-                String encodedStationName = URLEncoder.encode(stationName, StandardCharsets.UTF_8.toString());
-
-                // *** [수정] String.format에 apiKey(%s)와 해당 값(encodedApiKey) 다시 추가 ***
-                String urlString = String.format(
-                    "https://api.odsay.com/v1/api/searchStation?apiKey=%s&lang=0&stationName=%s&stationClass=2",
-                    encodedApiKey, // *** API 키 값 전달 ***
-                    encodedStationName
-                );
-                URI uri = URI.create(urlString);
-
-                log.info("🔍 [OdysseyTransitService] 역 이름 검색: '{}'", stationName);
-                log.debug("Request URL: {}", urlString); // 로그에서 apiKey 값 확인 가능
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.set("Accept", "application/json");
-
-                ResponseEntity<String> response = restTemplate.exchange(
-                        uri, HttpMethod.GET, new HttpEntity<>(headers), String.class);
-
-                // ... (이하 응답 처리 및 에러 핸들링 로직은 이전과 동일) ...
-                if (response.getStatusCode() == HttpStatus.OK) {
-                    String responseBody = response.getBody();
-                    log.debug("ODsay searchStation raw response for '{}': {}", stationName, responseBody);
-
-                    JsonNode root = objectMapper.readTree(responseBody);
-                     if (root.has("error")) {
-                         String errorCode = root.path("error").get(0).path("code").asText();
-                         String errorMessage = root.path("error").get(0).path("message").asText();
-                         log.warn("⚠️ [OdysseyTransitService] ODsay API Error (searchStation for '{}'): code={}, message={}", stationName, errorCode, errorMessage);
-                         if ("500".equals(errorCode) && errorMessage.contains("ApiKeyAuthFailed")) {
-                            log.error("!!!!!!!!!!!!!!!!!!!! ODsay API Key 인증 실패! application.properties 또는 환경 변수를 확인하세요. 전달된 키: {}", odysseyApiKey);
-                         }
-                         return Collections.<OdsaySearchStationResponse.StationInfo>emptyList();
-                     }
-
-                    OdsaySearchStationResponse parsedResponse = objectMapper.readValue(
-                        responseBody, OdsaySearchStationResponse.class);
-
-                    if (parsedResponse != null && parsedResponse.getResult() != null
-                        && parsedResponse.getResult().getStation() != null) {
+            log.info("🔍 [OdysseyTransitService] 역 이름 검색: '{}'", stationName);
+
+            return odsayWebClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/searchStation")
+                            .queryParam("apiKey", "{apiKey}")
+                            .queryParam("lang", 0)
+                            .queryParam("stationName", "{stationName}")
+                            .queryParam("stationClass", 2)
+                            .build(odysseyApiKey, stationName))
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .map(root -> {
+                        log.debug("ODsay searchStation raw response for '{}': {}", stationName, root);
+
+                        JsonNode error = errorNode(root);
+                        if (error != null) {
+                            String errorCode = error.path("code").asText();
+                            String errorMessage = error.path("message").asText();
+                            log.warn("⚠️ [OdysseyTransitService] ODsay API Error (searchStation for '{}'): code={}, message={}", stationName, errorCode, errorMessage);
+                            if ("500".equals(errorCode) && errorMessage.contains("ApiKeyAuthFailed")) {
+                                log.error("!!!!!!!!!!!!!!!!!!!! ODsay API Key 인증 실패! application.properties 또는 환경 변수를 확인하세요.");
+                            }
+                            return Collections.<OdsaySearchStationResponse.StationInfo>emptyList();
+                        }
+
+                        OdsaySearchStationResponse parsedResponse = toResponse(root, OdsaySearchStationResponse.class);
+                        if (parsedResponse == null || parsedResponse.getResult() == null
+                                || parsedResponse.getResult().getStation() == null) {
+                            log.warn("⚠️ [OdysseyTransitService] '{}' 검색 결과 구조가 비어있습니다.", stationName);
+                            return Collections.<OdsaySearchStationResponse.StationInfo>emptyList();
+                        }
 
                         List<OdsaySearchStationResponse.StationInfo> stations = parsedResponse.getResult().getStation();
                         // stationClass=2 필터링 (API 파라미터 + 응답 확인)
                         List<OdsaySearchStationResponse.StationInfo> subwayStations = stations.stream()
-                            .filter(s -> s.getStationClass() != null && s.getStationClass() == 2)
-                            .collect(Collectors.toList());
+                                .filter(s -> s.getStationClass() != null && s.getStationClass() == 2)
+                                .collect(Collectors.toList());
 
                         log.info("✅ [OdysseyTransitService] '{}' 검색 결과: {}개 역 발견 (필터링 후 {}개)",
-                                 stationName, stations.size(), subwayStations.size());
+                                stationName, stations.size(), subwayStations.size());
                         return subwayStations;
-
-                    } else {
-                        log.warn("⚠️ [OdysseyTransitService] '{}' 검색 결과 구조가 비어있습니다.", stationName);
-                        return Collections.<OdsaySearchStationResponse.StationInfo>emptyList();
-                    }
-                } else {
-                    log.warn("⚠️ [OdysseyTransitService] API 응답 코드: {}", response.getStatusCode());
-                    return Collections.<OdsaySearchStationResponse.StationInfo>emptyList();
-                }
-            } catch (HttpClientErrorException | HttpServerErrorException e) {
-                 log.error("❌ [OdysseyTransitService] 역 이름 검색 API 호출 실패 ('{}'): Status={}, Body={}", stationName, e.getStatusCode(), e.getResponseBodyAsString(), e);
-                 return Collections.<OdsaySearchStationResponse.StationInfo>emptyList();
-            } catch (Exception e) {
-                log.error("❌ [OdysseyTransitService] 역 이름 검색 처리 실패 ('{}'): {}", stationName, e.getMessage(), e);
-                return Collections.<OdsaySearchStationResponse.StationInfo>emptyList();
-            }
+                    })
+                    .onErrorResume(WebClientResponseException.class, e -> {
+                        log.error("❌ [OdysseyTransitService] 역 이름 검색 API 호출 실패 ('{}'): Status={}, Body={}", stationName, e.getStatusCode(), e.getResponseBodyAsString());
+                        return Mono.just(Collections.<OdsaySearchStationResponse.StationInfo>emptyList());
+                    })
+                    .onErrorResume(e -> {
+                        log.error("❌ [OdysseyTransitService] 역 이름 검색 처리 실패 ('{}'): {}", stationName, e.getMessage(), e);
+                        return Mono.just(Collections.<OdsaySearchStationResponse.StationInfo>emptyList());
+                    });
         });
     }
 
@@ -188,60 +203,43 @@ public class OdysseyTransitService {
      * @return 역 상세 정보 DTO Mono
      */
     public Mono<OdsaySubwayStationInfoResponse> getStationInfo(int stationID) {
-        // RestTemplate 호출을 Mono.fromCallable로 감싸 비동기처럼 반환
-        return Mono.fromCallable(() -> {
-             try {
-                String encodedApiKey = URLEncoder.encode(odysseyApiKey, StandardCharsets.UTF_8);
-                String urlString = String.format(
-                    "https://api.odsay.com/v1/api/subwayStationInfo?apiKey=%s&stationID=%d",
-                    encodedApiKey, stationID
-                );
-                URI uri = URI.create(urlString);
-
-                log.info("ℹ️ [OdysseyTransitService] 역 상세정보 조회: stationID={}", stationID);
-                log.debug("Request URL: {}", urlString);
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.set("Accept", "application/json");
-
-                ResponseEntity<String> response = restTemplate.exchange(
-                        uri, HttpMethod.GET, new HttpEntity<>(headers), String.class);
-
-                if (response.getStatusCode() == HttpStatus.OK) {
-                    String responseBody = response.getBody();
-                    log.debug("ODsay subwayStationInfo response for {}: {}", stationID, responseBody);
-
-                    // 에러 응답 우선 체크
-                    JsonNode root = objectMapper.readTree(responseBody);
-                     if (root.has("error")) {
-                         log.warn("⚠️ [OdysseyTransitService] ODsay API Error (subwayStationInfo for {}): code={}, message={}", stationID, root.path("error").get(0).path("code").asText(), root.path("error").get(0).path("message").asText());
-                         // 에러 시 빈 응답 객체 반환 대신 예외 발생 고려
-                         throw new RuntimeException("ODsay API Error for subwayStationInfo: " + root.path("error").get(0).path("message").asText());
-                     }
-
-                    OdsaySubwayStationInfoResponse parsedResponse = objectMapper.readValue(
-                        responseBody, OdsaySubwayStationInfoResponse.class);
-
-                    if (parsedResponse != null && parsedResponse.getResult() != null) {
-                         log.info("✅ [OdysseyTransitService] 역 {} 상세정보 조회 성공", stationID);
-                         return parsedResponse;
-                    } else {
-                        log.warn("⚠️ [OdysseyTransitService] 역 {} 상세정보 결과 구조가 비어있습니다.", stationID);
-                        throw new RuntimeException("역 상세정보 결과 구조가 비어있습니다: " + stationID);
-                    }
-
-                } else {
-                    log.warn("⚠️ [OdysseyTransitService] API 응답 코드: {}", response.getStatusCode());
-                    throw new RuntimeException("API 응답 코드 에러: " + response.getStatusCode());
-                }
-            } catch (HttpClientErrorException | HttpServerErrorException e) {
-                 log.error("❌ [OdysseyTransitService] 역 상세정보 조회 API 호출 실패 (stationID: {}): Status={}, Body={}", stationID, e.getStatusCode(), e.getResponseBodyAsString(), e);
-                 throw new RuntimeException("API 호출 실패", e); // 예외 다시 던지기
-            } catch (Exception e) {
-                log.error("❌ [OdysseyTransitService] 역 상세정보 조회 처리 실패 (stationID: {}): {}",
-                         stationID, e.getMessage(), e);
-                 throw new RuntimeException("처리 실패", e); // 예외 다시 던지기
+        return apiQuotaManager.acquire(ApiDailyUsage.Provider.ODSAY).flatMap(allowed -> {
+            if (!allowed) {
+                log.warn("⚠️ [OdysseyTransitService] ODsay 호출 한도 초과 - 역 상세정보 조회 생략: stationID={}", stationID);
+                return Mono.error(new IllegalStateException("ODsay 호출 한도 초과: " + stationID));
             }
+
+            log.info("ℹ️ [OdysseyTransitService] 역 상세정보 조회: stationID={}", stationID);
+
+            return odsayWebClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/subwayStationInfo")
+                            .queryParam("apiKey", "{apiKey}")
+                            .queryParam("stationID", stationID)
+                            .build(odysseyApiKey))
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .map(root -> {
+                        log.debug("ODsay subwayStationInfo response for {}: {}", stationID, root);
+
+                        // 에러 응답 우선 체크
+                        JsonNode error = errorNode(root);
+                        if (error != null) {
+                            log.warn("⚠️ [OdysseyTransitService] ODsay API Error (subwayStationInfo for {}): code={}, message={}", stationID, error.path("code").asText(), error.path("message").asText());
+                            throw new RuntimeException("ODsay API Error for subwayStationInfo: " + error.path("message").asText());
+                        }
+
+                        OdsaySubwayStationInfoResponse parsedResponse = toResponse(root, OdsaySubwayStationInfoResponse.class);
+                        if (parsedResponse == null || parsedResponse.getResult() == null) {
+                            log.warn("⚠️ [OdysseyTransitService] 역 {} 상세정보 결과 구조가 비어있습니다.", stationID);
+                            throw new RuntimeException("역 상세정보 결과 구조가 비어있습니다: " + stationID);
+                        }
+
+                        log.info("✅ [OdysseyTransitService] 역 {} 상세정보 조회 성공", stationID);
+                        return parsedResponse;
+                    })
+                    .doOnError(WebClientResponseException.class, e ->
+                            log.error("❌ [OdysseyTransitService] 역 상세정보 조회 API 호출 실패 (stationID: {}): Status={}, Body={}", stationID, e.getStatusCode(), e.getResponseBodyAsString()));
         });
     }
 
@@ -254,68 +252,74 @@ public class OdysseyTransitService {
      */
     @Deprecated
     public Mono<List<OdsayPointSearchResponse.Station>> findNearbyStations(double longitude, double latitude, int radius) {
-        // ... (이전 답변의 코드 유지) ...
-         return Mono.fromCallable(() -> {
-            try {
-                String encodedApiKey = URLEncoder.encode(odysseyApiKey, StandardCharsets.UTF_8);
-                String urlString = String.format(
-                    "https://api.odsay.com/v1/api/pointSearch?apiKey=%s&x=%s&y=%s&radius=%d&stationClass=1",
-                    encodedApiKey, longitude, latitude, radius
-                );
-                URI uri = URI.create(urlString);
-
-                log.info("🔍 [OdysseyTransitService(Deprecated)] 근처 역/정류장 조회: lon={}, lat={}, radius={}m (stationClass=1 요청)",
-                         longitude, latitude, radius);
-                log.debug("Request URL: {}", urlString);
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.set("Accept", "application/json");
-
-                ResponseEntity<String> response = restTemplate.exchange(
-                        uri, HttpMethod.GET, new HttpEntity<>(headers), String.class);
-
-                if (response.getStatusCode() == HttpStatus.OK) {
-                    String responseBody = response.getBody();
-                    log.debug("ODsay pointSearch raw response: {}", responseBody);
-
-                    JsonNode root = objectMapper.readTree(responseBody);
-                     if (root.has("error")) {
-                         log.warn("⚠️ [OdysseyTransitService(Deprecated)] ODsay API Error (pointSearch): code={}, message={}", root.path("error").get(0).path("code").asText(), root.path("error").get(0).path("message").asText());
-                         return Collections.emptyList();
-                     }
-
-                    OdsayPointSearchResponse parsedResponse = objectMapper.readValue(
-                        responseBody, OdsayPointSearchResponse.class);
-
-                    if (parsedResponse != null && parsedResponse.getResult() != null
-                        && parsedResponse.getResult().getStation() != null) {
-                        List<OdsayPointSearchResponse.Station> allStations = parsedResponse.getResult().getStation();
-                        log.info("✅ [OdysseyTransitService(Deprecated)] API 응답: 총 {}개의 역/정류장 발견", allStations.size());
-                        List<OdsayPointSearchResponse.Station> subwayStations = allStations.stream()
-                                .filter(station -> "1".equals(station.getStationClass()))
-                                .collect(Collectors.toList());
-                        if (subwayStations.isEmpty()) {
-                             log.warn("⚠️ [OdysseyTransitService(Deprecated)] 필터링 결과: 근처에 지하철역(stationClass=1)이 없습니다.");
-                        } else {
-                            log.info("✅ [OdysseyTransitService(Deprecated)] 필터링 결과: {}개의 지하철역만 추출", subwayStations.size());
-                        }
-                        return subwayStations;
-                    } else {
+        log.info("🔍 [OdysseyTransitService(Deprecated)] 근처 역/정류장 조회: lon={}, lat={}, radius={}m (stationClass=1 요청)",
+                longitude, latitude, radius);
+
+        return odsayWebClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/pointSearch")
+                        .queryParam("apiKey", "{apiKey}")
+                        .queryParam("x", longitude)
+                        .queryParam("y", latitude)
+                        .queryParam("radius", radius)
+                        .queryParam("stationClass", 1)
+                        .build(odysseyApiKey))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(root -> {
+                    log.debug("ODsay pointSearch raw response: {}", root);
+
+                    JsonNode error = errorNode(root);
+                    if (error != null) {
+                        log.warn("⚠️ [OdysseyTransitService(Deprecated)] ODsay API Error (pointSearch): code={}, message={}", error.path("code").asText(), error.path("message").asText());
+                        return Collections.<OdsayPointSearchResponse.Station>emptyList();
+                    }
+
+                    OdsayPointSearchResponse parsedResponse = toResponse(root, OdsayPointSearchResponse.class);
+                    if (parsedResponse == null || parsedResponse.getResult() == null
+                            || parsedResponse.getResult().getStation() == null) {
                         log.warn("⚠️ [OdysseyTransitService(Deprecated)] 결과 구조가 비어있습니다.");
-                        return Collections.emptyList();
+                        return Collections.<OdsayPointSearchResponse.Station>emptyList();
                     }
-                } else {
-                    log.warn("⚠️ [OdysseyTransitService(Deprecated)] API 응답 코드: {}", response.getStatusCode());
-                    return Collections.emptyList();
-                }
-            } catch (HttpClientErrorException | HttpServerErrorException e) {
-                 log.error("❌ [OdysseyTransitService(Deprecated)] 지하철역 조회 API 호출 실패: Status={}, Body={}", e.getStatusCode(), e.getResponseBodyAsString(), e);
-                 return Collections.emptyList();
-            } catch (Exception e) {
-                log.error("❌ [OdysseyTransitService(Deprecated)] 지하철역 조회 처리 실패: {}", e.getMessage(), e);
-                return Collections.emptyList();
-            }
-        });
+
+                    List<OdsayPointSearchResponse.Station> allStations = parsedResponse.getResult().getStation();
+                    log.info("✅ [OdysseyTransitService(Deprecated)] API 응답: 총 {}개의 역/정류장 발견", allStations.size());
+                    List<OdsayPointSearchResponse.Station> subwayStations = allStations.stream()
+                            .filter(station -> "1".equals(station.getStationClass()))
+                            .collect(Collectors.toList());
+                    if (subwayStations.isEmpty()) {
+                        log.warn("⚠️ [OdysseyTransitService(Deprecated)] 필터링 결과: 근처에 지하철역(stationClass=1)이 없습니다.");
+                    } else {
+                        log.info("✅ [OdysseyTransitService(Deprecated)] 필터링 결과: {}개의 지하철역만 추출", subwayStations.size());
+                    }
+                    return subwayStations;
+                })
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("❌ [OdysseyTransitService(Deprecated)] 지하철역 조회 API 호출 실패: Status={}, Body={}", e.getStatusCode(), e.getResponseBodyAsString());
+                    return Mono.just(Collections.<OdsayPointSearchResponse.Station>emptyList());
+                })
+                .onErrorResume(e -> {
+                    log.error("❌ [OdysseyTransitService(Deprecated)] 지하철역 조회 처리 실패: {}", e.getMessage(), e);
+                    return Mono.just(Collections.<OdsayPointSearchResponse.Station>emptyList());
+                });
+    }
+
+    // ODsay 에러 응답 ({"error": [{...}]} 또는 {"error": {...}}), 없으면 null
+    private JsonNode errorNode(JsonNode root) {
+        JsonNode error = root.path("error");
+        if (error.isMissingNode() || error.isNull()) {
+            return null;
+        }
+        return error.isArray() ? error.path(0) : error;
+    }
+
+    // WebClient가 비동기 파서로 디코딩한 트리를 DTO로 변환 (추가 파싱 없음)
+    private <T> T toResponse(JsonNode root, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(root, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("ODsay 응답 변환 실패: " + e.getOriginalMessage(), e);
+        }
     }
 
 }
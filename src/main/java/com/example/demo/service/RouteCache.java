@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 경로(출발지 → 도착지) 결과 캐시 공용 설정
+ * 좌표를 일정 크기의 격자 칸으로 맞추고 출발 시각을 시간대 구간으로 묶어 캐시 키를 만든다.
+ * 몇 미터 차이 나는 좌표나 같은 주소를 다시 지오코딩한 좌표도 같은 키가 되어 외부 API 호출을 줄인다.
+ * TransportService(TMAP), OdysseyTransitService(ODsay)가 함께 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RouteCache {
+
+    // 위도 1도의 거리 (m)
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    private final MeterRegistry meterRegistry;
+
+    // 격자 한 칸의 크기 (m)
+    @Value("${igo.route-cache.cell-meters:100}")
+    private double cellMeters;
+
+    // 출발 시각 구간 (분)
+    @Value("${igo.route-cache.time-bucket-minutes:30}")
+    private int timeBucketMinutes;
+
+    @Value("${igo.route-cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${igo.route-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * 경로 캐시 키
+     * @param mode            제공자/교통수단 구분 (예: tmap, tmap-transit, odsay-transit)
+     * @param startCell       출발지 격자 칸
+     * @param endCell         도착지 격자 칸
+     * @param departureBucket 출발 시각 구간 번호
+     */
+    public record RouteKey(String mode, String startCell, String endCell, long departureBucket) {
+
+        // 같은 구간/시간대의 다른 교통수단 키
+        public RouteKey withMode(String otherMode) {
+            return new RouteKey(otherMode, startCell, endCell, departureBucket);
+        }
+    }
+
+    // 현재 시각 출발 기준 키
+    public RouteKey key(String mode, double startX, double startY, double endX, double endY) {
+        return key(mode, startX, startY, endX, endY, LocalDateTime.now());
+    }
+
+    public RouteKey key(String mode, double startX, double startY, double endX, double endY, LocalDateTime departureTime) {
+        long epochMinutes = departureTime.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+        return new RouteKey(mode, cell(startX, startY), cell(endX, endY), epochMinutes / timeBucketMinutes);
+    }
+
+    /**
+     * 경로 캐시 생성 및 적중률 지표 등록
+     * igo.route.cache.requests{cache, result=hit|miss}, igo.route.cache.hit.ratio{cache}, igo.route.cache.size{cache}
+     */
+    public <V> SingleFlightCache<RouteKey, V> create(String name) {
+        SingleFlightCache<RouteKey, V> cache = new SingleFlightCache<>(name, maxSize, ttlMinutes * 60 * 1000);
+
+        FunctionCounter.builder("igo.route.cache.requests", cache, SingleFlightCache::getHitCount)
+                .tag("cache", name).tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("igo.route.cache.requests", cache, SingleFlightCache::getMissCount)
+                .tag("cache", name).tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("igo.route.cache.hit.ratio", cache, SingleFlightCache::getHitRatio)
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("igo.route.cache.size", cache, SingleFlightCache::size)
+                .tag("cache", name)
+                .register(meterRegistry);
+
+        log.info("🗺️ [RouteCache] 경로 캐시 등록 - {} (격자 {}m, 시간대 {}분, TTL {}분)", name, cellMeters, timeBucketMinutes, ttlMinutes);
+        return cache;
+    }
+
+    // 좌표를 격자 칸 번호로 변환 (경도 칸 크기는 위도 칸 중심 기준으로 보정해 같은 위도 칸 안에서는 격자가 같음)
+    private String cell(double x, double y) {
+        double latStep = cellMeters / METERS_PER_DEGREE;
+        long latIndex = (long) Math.floor(y / latStep);
+        double centerLat = (latIndex + 0.5) * latStep;
+        double lngStep = latStep / Math.max(Math.cos(Math.toRadians(centerLat)), 0.01);
+        long lngIndex = (long) Math.floor(x / lngStep);
+        return latIndex + ":" + lngIndex;
+    }
+}
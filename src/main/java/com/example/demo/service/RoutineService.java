@@ -7,11 +7,13 @@ import com.example.demo.entity.user.User;
 import com.example.demo.repository.RoutineItemRepository;
 import com.example.demo.repository.RoutineRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.RoutineTimingCache.RoutineTiming;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -24,6 +26,8 @@ public class RoutineService {
     private final RoutineRepository routineRepository;
     private final RoutineItemRepository routineItemRepository;
     private final UserRepository userRepository;
+    private final NotificationTimelineService notificationTimelineService;
+    private final RoutineTimingCache routineTimingCache;
 
     // 모든 루틴 조회
     @Transactional(readOnly = true)
@@ -83,6 +87,8 @@ public class RoutineService {
         }
 
         routineRepository.save(routine);
+        routineTimingCache.invalidate(routineId);
+        notificationTimelineService.rebuildForRoutine(routineId);
         return convertToRoutineResponseDTO(routine);
     }
 
@@ -90,6 +96,8 @@ public class RoutineService {
     public void deleteRoutine(Long userId, Long routineId) {
         Routine routine = getRoutineWithOwnerCheck(userId, routineId);
         routineRepository.delete(routine);
+        routineTimingCache.invalidate(routineId);
+        notificationTimelineService.rebuildForRoutine(routineId);
     }
 
     // 루틴에 아이템 추가 (개별 아이템 추가 시 사용)
@@ -103,6 +111,8 @@ public class RoutineService {
 
         routine.addItem(item);
         routineRepository.save(routine);
+        routineTimingCache.invalidate(routineId);
+        notificationTimelineService.rebuildForRoutine(routineId);
         RoutineItem savedItem = routine.getItems().get(routine.getItems().size() - 1);
         return convertToRoutineItemDTO(savedItem);
     }
@@ -121,6 +131,8 @@ public class RoutineService {
         item.setFlexible(requestDTO.isFlexibleTime());
 
         routineItemRepository.save(item);
+        routineTimingCache.invalidate(routineId);
+        notificationTimelineService.rebuildForRoutine(routineId);
         return convertToRoutineItemDTO(item);
     }
 
@@ -140,6 +152,8 @@ public class RoutineService {
         }
 
         routineRepository.save(routine);
+        routineTimingCache.invalidate(routineId);
+        notificationTimelineService.rebuildForRoutine(routineId);
     }
 
     // 아이템 순서 변경
@@ -158,6 +172,8 @@ public class RoutineService {
         routine.getItems().sort(Comparator.comparingInt(RoutineItem::getOrderIndex));
 
         routineRepository.save(routine);
+        routineTimingCache.invalidate(routineId);
+        notificationTimelineService.rebuildForRoutine(routineId);
 
         return routine.getItems().stream()
                 .map(this::convertToRoutineItemDTO)
@@ -229,57 +245,29 @@ public class RoutineService {
                 .collect(Collectors.toList());
     }
 
-    // 특정 루틴에 속한 아이템들의 실제 실행 시간을 계산
+    // 특정 루틴에 속한 아이템들의 실제 실행 시간을 계산 (루틴별 누적 소요 시간은 캐시 사용)
     @Transactional(readOnly = true)
     public List<CalculatedRoutineItemTime> calculateRoutineItemTimes(Long routineId, LocalDateTime scheduleStartTime) {
-        Routine routine = routineRepository.findById(routineId)
-                .orElseThrow(() -> new IllegalArgumentException("루틴을 찾을 수 없습니다. ID: " + routineId));
-
-        List<CalculatedRoutineItemTime> calculatedTimes = new ArrayList<>();
-
-        // RoutineItem을 orderIndex 순으로 정렬
-        List<RoutineItem> sortedItems = routine.getItems().stream()
-                .sorted(Comparator.comparingInt(RoutineItem::getOrderIndex))
-                .toList();
-
-        // 전체 루틴 소요 시간 계산
-        int totalRoutineDuration = sortedItems.stream()
-                .mapToInt(RoutineItem::getDurationMinutes)
-                .sum();
+        RoutineTiming timing = routineTimingCache.get(routineId);
 
         // 루틴 시작 시간 = 스케줄 시작 시간 - 전체 루틴 소요 시간
-        LocalDateTime routineStartTime = scheduleStartTime.minusMinutes(totalRoutineDuration);
-
-        log.info("🔍 [RoutineService] 루틴 시간 계산 시작");
-        log.info("   ├─ 루틴 ID: {}, 루틴 이름: '{}'", routineId, routine.getName());
-        log.info("   ├─ 스케줄 시작 시간: {}", scheduleStartTime);
-        log.info("   ├─ 전체 루틴 소요 시간: {}분", totalRoutineDuration);
-        log.info("   └─ 계산된 루틴 시작 시간: {}", routineStartTime);
-
-        LocalDateTime currentItemStartTime = routineStartTime;
-        int itemIndex = 0;
-
-        for (RoutineItem item : sortedItems) {
-            LocalDateTime itemEndTime = currentItemStartTime.plusMinutes(item.getDurationMinutes());
-
-            log.info("   🔹 아이템 #{}: '{}'", itemIndex + 1, item.getName());
-            log.info("      ├─ 시작 시간: {}", currentItemStartTime);
-            log.info("      ├─ 종료 시간: {}", itemEndTime);
-            log.info("      └─ 소요 시간: {}분", item.getDurationMinutes());
+        LocalDateTime routineStartTime = scheduleStartTime.minusMinutes(timing.getTotalDuration());
 
+        List<CalculatedRoutineItemTime> calculatedTimes = new ArrayList<>(timing.size());
+        for (int i = 0; i < timing.size(); i++) {
+            LocalDateTime itemStartTime = routineStartTime.plusMinutes(timing.getStartOffset(i));
             calculatedTimes.add(new CalculatedRoutineItemTime(
-                    item.getId(),
-                    item.getName(),
-                    currentItemStartTime,
-                    itemEndTime,
-                    item.getDurationMinutes(),
-                    routine.getId()
+                    timing.getItemId(i),
+                    timing.getItemName(i),
+                    itemStartTime,
+                    itemStartTime.plusMinutes(timing.getDuration(i)),
+                    timing.getDuration(i),
+                    routineId
             ));
-            currentItemStartTime = itemEndTime; // 다음 아이템의 시작 시간은 현재 아이템의 종료 시간
-            itemIndex++;
         }
 
-        log.info("✅ [RoutineService] 루틴 시간 계산 완료 - 총 {}개 아이템", calculatedTimes.size());
+        log.debug("[RoutineService] 루틴 시간 계산 - 루틴 ID: {}, 시작: {}, 총 {}분, 아이템 {}개",
+                routineId, routineStartTime, timing.getTotalDuration(), calculatedTimes.size());
 
         return calculatedTimes;
     }
@@ -287,23 +275,13 @@ public class RoutineService {
     // 현재 시간에 해당하는 루틴 아이템을 찾는 메서드
     @Transactional(readOnly = true)
     public String getCurrentRoutineItemName(Long routineId, LocalDateTime scheduleStartTime, LocalDateTime currentTime) {
-        List<CalculatedRoutineItemTime> calculatedTimes = calculateRoutineItemTimes(routineId, scheduleStartTime);
-
-        for (CalculatedRoutineItemTime itemTime : calculatedTimes) {
-            if (!currentTime.isBefore(itemTime.getStartTime()) && currentTime.isBefore(itemTime.getEndTime())) {
-                return itemTime.getRoutineItemName();
-            }
-        }
+        RoutineTiming timing = routineTimingCache.get(routineId);
+        LocalDateTime routineStartTime = scheduleStartTime.minusMinutes(timing.getTotalDuration());
 
-        // 현재 시간이 모든 루틴 아이템 시간을 지났다면, 마지막 아이템 반환
-        if (!calculatedTimes.isEmpty()) {
-            CalculatedRoutineItemTime lastItem = calculatedTimes.get(calculatedTimes.size() - 1);
-            if (!currentTime.isBefore(lastItem.getEndTime())) {
-                return lastItem.getRoutineItemName();
-            }
-        }
-
-        return null; // 해당하는 아이템이 없는 경우
+        // 현재 시간이 모든 루틴 아이템 시간을 지났다면 마지막 아이템, 시작 전이면 null
+        long elapsedMinutes = Math.floorDiv(Duration.between(routineStartTime, currentTime).getSeconds(), 60);
+        int index = timing.indexAt(elapsedMinutes);
+        return index >= 0 ? timing.getItemName(index) : null;
     }
 
     /**
@@ -319,10 +297,14 @@ public class RoutineService {
         }
 
         try {
-            List<CalculatedRoutineItemTime> calculatedTimes = calculateRoutineItemTimes(routineId, scheduleStartTime);
+            RoutineTiming timing = routineTimingCache.find(routineId).orElse(null);
+            if (timing == null) {
+                log.warn("루틴을 찾을 수 없습니다 - Routine ID: {}", routineId);
+                return null;
+            }
 
-            if (!calculatedTimes.isEmpty()) {
-                LocalDateTime routineStartTime = calculatedTimes.get(0).getStartTime();
+            if (!timing.isEmpty()) {
+                LocalDateTime routineStartTime = scheduleStartTime.minusMinutes(timing.getTotalDuration());
                 log.debug("루틴 시작 시간 계산 완료 - Routine ID: {}, 시작 시간: {}", routineId, routineStartTime);
                 return routineStartTime;
             }
@@ -0,0 +1,183 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.routine.Routine;
+import com.example.demo.entity.routine.RoutineItem;
+import com.example.demo.repository.RoutineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 루틴별 아이템 소요 시간 누적값 캐시
+ * 루틴 아이템 시간 계산 시 매번 DB 조회/정렬하지 않도록 정렬된 누적 분(offset)을 보관한다.
+ * RoutineService의 생성/수정/순서 변경/삭제 시 invalidate 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoutineTimingCache {
+
+    private final RoutineRepository routineRepository;
+
+    private final ConcurrentMap<Long, RoutineTiming> cache = new ConcurrentHashMap<>();
+    // 루틴별 무효화 세대 (로딩 중 무효화되면 로딩한 값은 이전 상태일 수 있으므로 캐시에 넣지 않음)
+    private final ConcurrentMap<Long, Long> generations = new ConcurrentHashMap<>();
+
+    // 캐시 조회 (없으면 DB에서 로딩), 루틴이 없으면 예외
+    @Transactional(readOnly = true)
+    public RoutineTiming get(Long routineId) {
+        return find(routineId)
+                .orElseThrow(() -> new IllegalArgumentException("루틴을 찾을 수 없습니다. ID: " + routineId));
+    }
+
+    // 캐시 조회 (없으면 DB에서 로딩), 삭제된 루틴이면 빈 값
+    // 예외를 던지지 않으므로 호출 측 트랜잭션이 rollback-only로 표시되지 않는다
+    @Transactional(readOnly = true)
+    public Optional<RoutineTiming> find(Long routineId) {
+        RoutineTiming timing = cache.get(routineId);
+        if (timing != null) {
+            return Optional.of(timing);
+        }
+
+        long generation = generations.getOrDefault(routineId, 0L);
+        Optional<RoutineTiming> loaded = routineRepository.findById(routineId).map(RoutineTiming::of);
+        // 세대 확인과 저장을 invalidate의 세대 증가와 같은 키 잠금 안에서 수행
+        loaded.ifPresent(value -> generations.compute(routineId, (id, current) -> {
+            if ((current == null ? 0L : current) == generation) {
+                cache.put(routineId, value);
+            }
+            return current;
+        }));
+        return loaded;
+    }
+
+    // 루틴 변경 시 캐시 무효화
+    // 트랜잭션 종료 후 한 번 더 제거하여, 커밋 전에 다시 채워진 값(변경 중 상태 또는 이전 상태)도 정리
+    // 제거할 때마다 세대를 올려, 그 전에 시작된 로딩이 끝난 뒤 이전 값을 다시 넣지 못하게 한다
+    public void invalidate(Long routineId) {
+        evict(routineId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(routineId);
+                }
+            });
+        }
+        log.debug("루틴 시간 캐시 무효화 - Routine ID: {}", routineId);
+    }
+
+    private void evict(Long routineId) {
+        generations.compute(routineId, (id, current) -> {
+            cache.remove(routineId);
+            return current == null ? 1L : current + 1;
+        });
+    }
+
+    /**
+     * orderIndex 순으로 정렬된 루틴 아이템의 누적 소요 시간
+     * offsets[i] = i번째 아이템 시작까지의 분, offsets[n] = 전체 소요 시간
+     */
+    public static final class RoutineTiming {
+        private final Long routineId;
+        private final String routineName;
+        private final long[] itemIds;
+        private final String[] itemNames;
+        private final int[] offsets;
+
+        private RoutineTiming(Long routineId, String routineName, long[] itemIds, String[] itemNames, int[] offsets) {
+            this.routineId = routineId;
+            this.routineName = routineName;
+            this.itemIds = itemIds;
+            this.itemNames = itemNames;
+            this.offsets = offsets;
+        }
+
+        static RoutineTiming of(Routine routine) {
+            List<RoutineItem> sortedItems = routine.getItems().stream()
+                    .sorted(Comparator.comparingInt(RoutineItem::getOrderIndex))
+                    .toList();
+
+            int size = sortedItems.size();
+            long[] itemIds = new long[size];
+            String[] itemNames = new String[size];
+            int[] offsets = new int[size + 1];
+
+            for (int i = 0; i < size; i++) {
+                RoutineItem item = sortedItems.get(i);
+                itemIds[i] = item.getId();
+                itemNames[i] = item.getName();
+                offsets[i + 1] = offsets[i] + item.getDurationMinutes();
+            }
+            return new RoutineTiming(routine.getId(), routine.getName(), itemIds, itemNames, offsets);
+        }
+
+        public Long getRoutineId() {
+            return routineId;
+        }
+
+        public String getRoutineName() {
+            return routineName;
+        }
+
+        public int size() {
+            return itemIds.length;
+        }
+
+        public boolean isEmpty() {
+            return itemIds.length == 0;
+        }
+
+        public long getItemId(int index) {
+            return itemIds[index];
+        }
+
+        public String getItemName(int index) {
+            return itemNames[index];
+        }
+
+        // 루틴 시작 기준 i번째 아이템 시작까지의 분
+        public int getStartOffset(int index) {
+            return offsets[index];
+        }
+
+        public int getDuration(int index) {
+            return offsets[index + 1] - offsets[index];
+        }
+
+        public int getTotalDuration() {
+            return offsets[itemIds.length];
+        }
+
+        /**
+         * 루틴 시작 후 경과 분에 해당하는 아이템 인덱스 (이진 탐색)
+         * @return 시작 전이면 -1, 모든 아이템이 끝났으면 마지막 인덱스
+         */
+        public int indexAt(long elapsedMinutes) {
+            if (isEmpty() || elapsedMinutes < 0) {
+                return -1;
+            }
+            int low = 0;
+            int high = itemIds.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (offsets[mid] <= elapsedMinutes) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+    }
+}
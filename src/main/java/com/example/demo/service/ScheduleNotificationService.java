@@ -1,8 +1,10 @@
 package com.example.demo.service;
 
-import com.example.demo.dto.routine.CalculatedRoutineItemTime;
+import com.example.demo.dto.notification.NotificationDispatch;
+import com.example.demo.dto.notification.NotificationKey;
 import com.example.demo.dto.weather.WeatherResponse;
 import com.example.demo.entity.fcm.Notification;
+import com.example.demo.entity.fcm.NotificationTimeline;
 import com.example.demo.entity.schedule.Schedule;
 import com.example.demo.entity.user.User;
 import com.example.demo.repository.NotificationRepository;
@@ -12,14 +14,17 @@ import com.example.demo.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -33,12 +38,25 @@ public class ScheduleNotificationService {
     private final ScheduleRepository scheduleRepository;
     private final NotificationRepository notificationRepository;
     private final FCMService fcmService;
-    private final RoutineService routineService;
+    private final NotificationTimelineService notificationTimelineService;
     private final WeatherApiService weatherApiService;
     private final TransportService transportService;
     private final OdysseyTransitService odysseyTransitService;
     private final UserRepository userRepository;
 
+    // 알림 작업(tick) 중에 저장된 알림을 모아두었다가 작업 끝에 일괄 전송
+    private final ThreadLocal<List<NotificationDispatch>> tickBatch = new ThreadLocal<>();
+
+    @Value("${igo.notification.fcm.batch-enabled:true}")
+    private boolean batchEnabled;
+
+    // 작업이 늦게 실행되거나 건너뛰어졌을 때 밀린 항목을 이어서 처리할 최대 범위
+    @Value("${igo.notification.timeline.max-catch-up-minutes:30}")
+    private int maxCatchUpMinutes;
+
+    // 이 시각 이전(미포함)의 타임라인 항목은 처리 완료 (애플리케이션 시작 후 첫 작업 전에는 null)
+    private volatile LocalDateTime processedUntil;
+
     @Value("${igo.notification.supplies.minutes.before:5}")
     private int suppliesNotificationMinutesBefore;
     @Value("${igo.notification.schedule.title.start}")
@@ -55,374 +73,227 @@ public class ScheduleNotificationService {
         LocalDateTime now = LocalDateTime.now().withSecond(0).withNano(0);
         log.info("스케줄 및 루틴 알림 작업 실행: 현재 시간 {}", now);
 
-        // 1. 루틴 시작 1시간 전 알림 처리
-        processRoutineStartReminders(now);
-
-        // 2. 준비물 알림 처리 (루틴 시작 N분 전)
-        processSuppliesNotification(now);
-
-        // 3. PENDING 스케줄 알림 처리 (준비물 제외)
-        processPendingScheduleNotifications(now);
+        // 마지막으로 처리한 시각부터 이번 분까지 ([from, now + 1분)), 지연·누락된 작업의 항목도 이어서 처리
+        LocalDateTime to = now.plusMinutes(1);
+        LocalDateTime from = processedUntil != null ? processedUntil : now;
+        LocalDateTime oldest = to.minusMinutes(Math.max(maxCatchUpMinutes, 1));
+        if (from.isBefore(oldest)) {
+            log.warn("⚠️ [ScheduleNotificationService] {}분 넘게 밀린 알림 항목은 발송하지 않음 - {} ~ {}",
+                    maxCatchUpMinutes, from, oldest);
+            from = oldest;
+        }
+        if (!from.isBefore(to)) {
+            return; // 이미 처리한 구간 (시계 조정 등)
+        }
+        if (from.isBefore(now)) {
+            log.warn("⏰ [ScheduleNotificationService] 지연된 알림 작업 - {}부터 밀린 항목 처리", from);
+        }
 
-        // 4. IN_PROGRESS 루틴 아이템 시작 알림 처리
-        processInProgressScheduleNotifications(now);
-    }
+        // 처리할 구간의 타임라인 항목만 조회 (fire_at 인덱스 범위 조회)
+        List<NotificationTimeline> dueEntries = new ArrayList<>(notificationTimelineService.findDue(from, to));
 
+        if (!dueEntries.isEmpty()) {
+            Set<Long> scheduleIds = dueEntries.stream()
+                    .map(NotificationTimeline::getScheduleId)
+                    .collect(Collectors.toSet());
 
-    // 루틴 시작 1시간 전 알림 처리 (날씨 정보 포함)
-    private void processRoutineStartReminders(LocalDateTime now) {
-        // 루틴 소요 시간을 고려하여 약속 시간 검색 범위를 넓게 설정 (현재 시간 + 1시간 ~ 현재 시간 + 5시간)
-        // 이는 루틴의 최대 소요 시간을 4시간으로 가정하는 것
-        LocalDateTime searchStart = now.plusHours(1);
-        LocalDateTime searchEnd = now.plusHours(5);
+            // 대상 스케줄을 User와 함께 한 번에 조회 (알림 비활성화 사용자는 제외됨)
+            Map<Long, Schedule> schedules = scheduleRepository.findAllWithUserByIdIn(scheduleIds).stream()
+                    .collect(Collectors.toMap(Schedule::getId, Function.identity()));
 
-        log.info("🔍 [ScheduleNotificationService] 1시간 전 알림 처리 시작 - 현재시간: {}, 약속시간 검색범위: {} ~ {}",
-                now, searchStart, searchEnd);
+            // 대상 스케줄의 기존 알림 키를 한 번에 조회하여 메모리에서 중복 판별
+            Set<NotificationKey> sentKeys = loadSentNotificationKeys(schedules.values());
 
-        // 검색 범위 내의 루틴이 포함된 PENDING 상태의 스케줄들 조회
-        List<Schedule> candidateSchedules = scheduleRepository.findByStartTimeAndStatusAndRoutineIdNotNull(
-                searchStart, searchEnd, Schedule.ScheduleStatus.PENDING);
+            // 분 단위 시각 순, 같은 분의 항목은 상태 전환 → 알림 순서로 처리
+            dueEntries.sort(Comparator.comparing((NotificationTimeline t) -> t.getFireAt().truncatedTo(ChronoUnit.MINUTES))
+                    .thenComparing(NotificationTimeline::getFireType));
 
-        log.info("📋 [ScheduleNotificationService] 1시간 전 알림 후보 스케줄 {}개 발견", candidateSchedules.size());
+            log.info("📋 [ScheduleNotificationService] 발송 대상 타임라인 {}개 (스케줄 {}개)", dueEntries.size(), schedules.size());
 
-        for (Schedule schedule : candidateSchedules) {
+            if (batchEnabled) {
+                tickBatch.set(new ArrayList<>());
+            }
             try {
-                // 각 스케줄의 실제 루틴 시작 시간 계산
-                List<CalculatedRoutineItemTime> calculatedItems = routineService.calculateRoutineItemTimes(
-                        schedule.getRoutineId(), schedule.getStartTime());
-
-                if (calculatedItems.isEmpty()) {
-                    continue;
-                }
-
-                LocalDateTime routineStartTime = calculatedItems.get(0).getStartTime();
-
-                // 루틴 시작 시간이 정확히 1시간 후인지 확인
-                if (routineStartTime.withSecond(0).withNano(0).isEqual(now.plusHours(1))) {
-                    log.debug("🎯 [ScheduleNotificationService] 알림 대상 스케줄 찾음 - ID: {}, 제목: '{}', 약속시간: {}, 루틴시작시간: {}",
-                            schedule.getId(), schedule.getTitle(), schedule.getStartTime(), routineStartTime);
-
-                    User user = schedule.getUser();
-                    if (!isValidNotificationUser(user) || !user.isNotifyRoutineProgress()) {
-                        log.debug("⚠️ [ScheduleNotificationService] 사용자 알림 조건 미충족 - User ID: {}, FCM Token: {}, NotifyRoutineProgress: {}",
-                                user.getId(),
-                                (user.getFcmToken() != null ? "있음" : "없음"),
-                                user.isNotifyRoutineProgress());
+                for (NotificationTimeline entry : dueEntries) {
+                    Schedule schedule = schedules.get(entry.getScheduleId());
+                    if (schedule == null) {
                         continue;
                     }
 
-                    // 이미 알림을 보냈는지 확인
-                    log.debug("🔍 [NotificationRepository] 중복 알림 확인 시도 - User ID: {}, Related ID: {}, Type: {}",
-                            user.getId(), schedule.getId(), NOTIFICATION_TYPE_ROUTINE_START_REMINDER);
-                    Optional<Notification> existingNotification = notificationRepository
-                            .findByUserAndRelatedIdAndNotificationType(user, schedule.getId(), NOTIFICATION_TYPE_ROUTINE_START_REMINDER);
-
-                    if (existingNotification.isEmpty()) {
-                        log.info("📤 [ScheduleNotificationService] 1시간 전 알림 전송 시작 - Schedule ID: {}, User ID: {}",
-                                schedule.getId(), user.getId());
-                        sendRoutineStartReminderWithWeather(schedule, user);
-                    } else {
-                        log.debug("🔄 [ScheduleNotificationService] 이미 1시간 전 알림 전송됨 - Schedule ID: {}, Notification ID: {}",
-                                schedule.getId(), existingNotification.get().getId());
+                    try {
+                        processTimelineEntry(entry, schedule, sentKeys);
+                    } catch (Exception e) {
+                        log.error("❌ [ScheduleNotificationService] 타임라인 처리 중 오류 발생 - Schedule ID: {}, Type: {}, 에러: {}",
+                                schedule.getId(), entry.getFireType(), e.getMessage(), e);
                     }
                 }
-            } catch (Exception e) {
-                log.error("❌ [ScheduleNotificationService] 루틴 시작 1시간 전 알림 처리 중 오류 발생 - Schedule ID: {}, 에러: {}",
-                        schedule.getId(), e.getMessage(), e);
+            } finally {
+                List<NotificationDispatch> batch = tickBatch.get();
+                tickBatch.remove();
+                if (batch != null && !batch.isEmpty()) {
+                    dispatchBatch(batch);
+                }
             }
         }
 
-        log.info("✅ [ScheduleNotificationService] 1시간 전 알림 처리 완료");
+        // 처리가 끝난 구간의 타임라인 항목만 정리 (처리 중 예외로 여기까지 오지 못하면 다음 작업에서 다시 처리)
+        processedUntil = to;
+        notificationTimelineService.purgeBefore(to);
     }
 
-    // PENDING 상태의 스케줄들에 대한 알림 처리
-    private void processPendingScheduleNotifications(LocalDateTime now) {
-        LocalDateTime scheduleNotificationRangeEnd = now.plusMinutes(10);
-
-        List<Schedule> pendingSchedules = scheduleRepository.findByStartTimeBetweenAndStatusAndUserFcmTokenIsNotNull(
-                now,
-                scheduleNotificationRangeEnd.plusMinutes(suppliesNotificationMinutesBefore),
-                Schedule.ScheduleStatus.PENDING
-        );
-
-        log.info("📋 [ScheduleNotificationService] PENDING 스케줄 처리 - 총 {}개", pendingSchedules.size());
-
-        for (Schedule schedule : pendingSchedules) {
-            User user = schedule.getUser();
-            if (!isValidNotificationUser(user)) {
-                continue;
-            }
-
-            // 루틴이 있는 스케줄인 경우, 루틴 시작 시간 체크
-            if (schedule.getRoutineId() != null && user.isNotifyRoutineProgress()) {
-                checkAndStartRoutine(schedule, user, now);
-            }
-
-            // 스케줄 시작 알림 처리
-            processScheduleStartNotification(schedule, user, now);
+    // 이번 작업 대상 스케줄들에 대해 이미 저장된 알림 키 조회 (쿼리 1회)
+    private Set<NotificationKey> loadSentNotificationKeys(Collection<Schedule> schedules) {
+        if (schedules.isEmpty()) {
+            return new HashSet<>();
         }
-    }
-
-    // 루틴 시작 시간 체크 및 스케줄 IN_PROGRESS 전환
-    private void checkAndStartRoutine(Schedule schedule, User user, LocalDateTime now) {
-        try {
-            List<CalculatedRoutineItemTime> calculatedItems = routineService.calculateRoutineItemTimes(
-                    schedule.getRoutineId(), schedule.getStartTime());
 
-            if (calculatedItems.isEmpty()) {
-                return;
-            }
-
-            LocalDateTime routineStartTime = calculatedItems.get(0).getStartTime();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> scheduleIds = new HashSet<>();
+        for (Schedule schedule : schedules) {
+            userIds.add(schedule.getUser().getId());
+            scheduleIds.add(schedule.getId());
+        }
 
-            log.info("🕐 [ScheduleNotificationService] 루틴 시작 시간 체크");
-            log.info("   ├─ 스케줄 ID: {}, 제목: '{}'", schedule.getId(), schedule.getTitle());
-            log.info("   ├─ 현재 시간: {}", now);
-            log.info("   ├─ 루틴 시작 시간: {}", routineStartTime);
-            log.info("   └─ 스케줄 시작 시간: {}", schedule.getStartTime());
+        return new HashSet<>(notificationRepository.findKeysByUserIdInAndScheduleIdIn(userIds, scheduleIds));
+    }
 
-            if (routineStartTime.isEqual(now) || routineStartTime.isBefore(now)) {
-                log.info("   ✅ 루틴 시작 조건 충족! 스케줄을 IN_PROGRESS로 전환");
-                markScheduleAsInProgress(schedule);
+    // 타임라인 항목 종류별 처리
+    private void processTimelineEntry(NotificationTimeline entry, Schedule schedule, Set<NotificationKey> sentKeys) {
+        User user = schedule.getUser();
+        if (!isValidNotificationUser(user)) {
+            return;
+        }
 
-                for (CalculatedRoutineItemTime itemTime : calculatedItems) {
-                    if (itemTime.getStartTime().isEqual(now)) {
-                        log.info("   📤 루틴 아이템 알림 전송: '{}'", itemTime.getRoutineItemName());
-                        processRoutineItemStartNotification(schedule, user, itemTime);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.error("❌ [ScheduleNotificationService] 루틴 시작 체크 실패 - Schedule ID: {}, 에러: {}",
-                    schedule.getId(), e.getMessage(), e);
+        switch (entry.getFireType()) {
+            case ROUTINE_START_REMINDER -> processRoutineStartReminder(schedule, user, sentKeys);
+            case SUPPLIES_REMINDER -> processSuppliesNotification(schedule, user, entry.getFireAt(), sentKeys);
+            case ROUTINE_START -> processRoutineStart(schedule, user);
+            case SCHEDULE_START -> processScheduleStartNotification(schedule, user, sentKeys);
+            case ROUTINE_ITEM_START -> processRoutineItemStartNotification(schedule, user,
+                    entry.getRoutineItemId(), entry.getRoutineItemName(), sentKeys);
+            case SCHEDULE_END -> processScheduleEnd(schedule);
         }
     }
 
-    // IN_PROGRESS 상태의 스케줄들에 대한 루틴 아이템 알림 처리
-    private void processInProgressScheduleNotifications(LocalDateTime now) {
-        List<Schedule> inProgressSchedules = scheduleRepository.findByStatusAndUserFcmTokenIsNotNull(Schedule.ScheduleStatus.IN_PROGRESS);
-
-        for (Schedule schedule : inProgressSchedules) {
-            User user = schedule.getUser();
-            if (!isValidNotificationUser(user) || !user.isNotifyRoutineProgress() || schedule.getRoutineId() == null) {
-                // 루틴 없는 스케줄의 완료 처리
-                if (schedule.getRoutineId() == null && isScheduleCompleted(schedule, now)) {
-                    markScheduleAsCompleted(schedule);
-                }
-                continue;
-            }
+    // 루틴 시작 1시간 전 알림 처리 (날씨 정보 포함)
+    private void processRoutineStartReminder(Schedule schedule, User user, Set<NotificationKey> sentKeys) {
+        if (schedule.getStatus() != Schedule.ScheduleStatus.PENDING || !user.isNotifyRoutineProgress()) {
+            log.debug("⚠️ [ScheduleNotificationService] 1시간 전 알림 조건 미충족 - Schedule ID: {}, Status: {}, NotifyRoutineProgress: {}",
+                    schedule.getId(), schedule.getStatus(), user.isNotifyRoutineProgress());
+            return;
+        }
 
-            processRoutineItemNotifications(schedule, user, now);
+        // 이미 알림을 보냈는지 확인
+        if (sentKeys.add(scheduleNotificationKey(user, schedule, NOTIFICATION_TYPE_ROUTINE_START_REMINDER))) {
+            log.info("📤 [ScheduleNotificationService] 1시간 전 알림 전송 시작 - Schedule ID: {}, User ID: {}",
+                    schedule.getId(), user.getId());
+            sendRoutineStartReminderWithWeather(schedule, user);
+        } else {
+            log.debug("🔄 [ScheduleNotificationService] 이미 1시간 전 알림 전송됨 - Schedule ID: {}", schedule.getId());
         }
     }
 
-    // 준비물 알림 (루틴 시작 N분 전 기준)
-
     /**
      * 준비물 알림 처리 (루틴 시작 N분 전)
-     * processRoutineStartReminders와 유사한 로직으로 구현
      */
+    private void processSuppliesNotification(Schedule schedule, User user, LocalDateTime suppliesNotificationTime,
+                                             Set<NotificationKey> sentKeys) {
+        // 준비물 알림 비활성화 또는 준비물 없음
+        if (schedule.getStatus() != Schedule.ScheduleStatus.PENDING ||
+                !user.isNotifySupplies() ||
+                schedule.getSupplies() == null ||
+                schedule.getSupplies().trim().isEmpty()) {
+            return;
+        }
 
-    private void processSuppliesNotification(LocalDateTime now) {
-        // 조회 범위 설정 (현재 ~ 현재+150분)
-        LocalDateTime searchStart = now;
-        LocalDateTime searchEnd = now.plusMinutes(150);
-
-        // PENDING 상태의 루틴이 있는 스케줄 조회
-        List<Schedule> schedulesWithRoutine = scheduleRepository.findByStartTimeAndStatusAndRoutineIdNotNull(
-                searchStart, searchEnd, Schedule.ScheduleStatus.PENDING);
+        LocalDateTime routineStartTime = suppliesNotificationTime.plusMinutes(suppliesNotificationMinutesBefore);
 
-        log.info("📦 [SuppliesNotification] 준비물 알림 체크 - 총 {}개 스케줄", schedulesWithRoutine.size());
+        // ⭐ 알림 중복 체크
+        if (!sentKeys.add(scheduleNotificationKey(user, schedule, NOTIFICATION_TYPE_SUPPLIES_REMINDER))) {
+            log.info("📦 준비물 알림 중복 감지 (이미 전송됨) - 스케줄 ID: {}", schedule.getId());
+            return;
+        }
 
-        for (Schedule schedule : schedulesWithRoutine) {
-            User user = schedule.getUser();
+        log.info("📦 준비물 알림 전송 - 사용자: {}, 스케줄 ID: {}, 루틴 시작 {}분 전",
+                user.getEmail(), schedule.getId(), suppliesNotificationMinutesBefore);
 
-            // 사용자 유효성 검사
-            if (!isValidNotificationUser(user)) {
-                continue;
-            }
+        String title = "준비물 알림";
+        String body = String.format("🎒 %s 준비물 체크하세요!\n일정 시작까지 %d분 남았습니다.",
+                schedule.getSupplies(),
+                suppliesNotificationMinutesBefore);
 
-            // 준비물 알림 비활성화 또는 준비물 없음
-            if (!user.isNotifySupplies() ||
-                    schedule.getSupplies() == null ||
-                    schedule.getSupplies().trim().isEmpty()) {
-                continue;
-            }
+        Map<String, String> data = new HashMap<>();
+        data.put("type", NOTIFICATION_TYPE_SUPPLIES_REMINDER);
+        data.put("scheduleId", String.valueOf(schedule.getId()));
+        data.put("routineId", String.valueOf(schedule.getRoutineId()));
+        data.put("supplies", schedule.getSupplies());
+        data.put("routineStartTime", routineStartTime.toString());
+        data.put("reminderMinutes", String.valueOf(suppliesNotificationMinutesBefore));
 
-            try {
-            List<CalculatedRoutineItemTime> calculatedItems = routineService.calculateRoutineItemTimes(
-                    schedule.getRoutineId(),
-                    schedule.getStartTime()
-            );
-
-            // 루틴 아이템이 없으면 건너뜀
-            if (calculatedItems == null || calculatedItems.isEmpty()) {
-                log.debug("루틴 아이템이 없음 - 스케줄 ID: {}", schedule.getId());
-                continue;
-            }
+        sendAndSaveNotification(user, title, body, data, schedule.getId(), NOTIFICATION_TYPE_SUPPLIES_REMINDER);
 
-            // 첫 번째 아이템의 시작 시간 = 루틴 시작 시간
-            LocalDateTime routineStartTime = calculatedItems.get(0).getStartTime();
-
-            // 준비물 알림 시간 = 루틴 시작 - N분
-            LocalDateTime suppliesNotificationTime = routineStartTime.minusMinutes(suppliesNotificationMinutesBefore);
-
-            log.info("📦 [준비물 알림 시간 계산] 스케줄 ID: {}", schedule.getId());
-            log.info("   ├─ 현재 시간: {}", now);
-            log.info("   ├─ 스케줄 시작: {}", schedule.getStartTime());
-            log.info("   ├─ 루틴 시작: {}", routineStartTime);
-            log.info("   ├─ 준비물 알림 시간: {}", suppliesNotificationTime);
-            log.info("   ├─ N분 전: {}분", suppliesNotificationMinutesBefore);
-            log.info("   └─ 시간 일치 여부: {}", suppliesNotificationTime.isEqual(now));
-
-            // 알림 시간 도달 확인
-            if (suppliesNotificationTime.isEqual(now)) {
-                // ⭐ 알림 중복 체크 추가
-                Optional<Notification> existingNotification = notificationRepository
-                        .findByUserAndRelatedIdAndNotificationType(user, schedule.getId(), NOTIFICATION_TYPE_SUPPLIES_REMINDER);
-
-                if (existingNotification.isEmpty()) {
-                    log.info("📦 준비물 알림 전송 - 사용자: {}, 스케줄 ID: {}, 루틴 시작 {}분 전",
-                            user.getEmail(), schedule.getId(), suppliesNotificationMinutesBefore);
-
-                    String title = "준비물 알림";
-                    String body = String.format("🎒 %s 준비물 체크하세요!\n일정 시작까지 %d분 남았습니다.",
-                            schedule.getSupplies(),
-                            suppliesNotificationMinutesBefore);
-
-                    Map<String, String> data = new HashMap<>();
-                    data.put("type", NOTIFICATION_TYPE_SUPPLIES_REMINDER);
-                    data.put("scheduleId", String.valueOf(schedule.getId()));
-                    data.put("routineId", String.valueOf(schedule.getRoutineId()));
-                    data.put("supplies", schedule.getSupplies());
-                    data.put("routineStartTime", routineStartTime.toString());
-                    data.put("reminderMinutes", String.valueOf(suppliesNotificationMinutesBefore));
-
-                    sendAndSaveNotification(user, title, body, data, schedule.getId(), NOTIFICATION_TYPE_SUPPLIES_REMINDER);
-
-                    log.info("✅ 준비물 알림 전송 완료 - 스케줄 ID: {}", schedule.getId());
-                } else {
-                    log.info("📦 준비물 알림 중복 감지 (이미 전송됨) - 스케줄 ID: {}", schedule.getId());
-                }
-            } else {
-                log.debug("⏰ 준비물 알림 시간 아님 - 스케줄 ID: {}, 알림 시간: {}, 현재: {}",
-                        schedule.getId(), suppliesNotificationTime, now);
-            }
+        log.info("✅ 준비물 알림 전송 완료 - 스케줄 ID: {}", schedule.getId());
+    }
 
-        } catch (Exception e) {
-            log.error("준비물 알림 처리 중 오류 - 스케줄 ID: {}, 오류: {}",
-                    schedule.getId(), e.getMessage(), e);
+    // 루틴 시작 시각 도달 시 스케줄 IN_PROGRESS 전환
+    private void processRoutineStart(Schedule schedule, User user) {
+        if (schedule.getStatus() == Schedule.ScheduleStatus.PENDING && user.isNotifyRoutineProgress()) {
+            log.info("🕐 [ScheduleNotificationService] 루틴 시작 - Schedule ID: {}, 제목: '{}'", schedule.getId(), schedule.getTitle());
+            markScheduleAsInProgress(schedule);
         }
     }
-}
-
 
     // 스케줄 시작 알림 처리
-    private void processScheduleStartNotification(Schedule schedule, User user, LocalDateTime now) {
-        if (user.isNotifyNextSchedule() && schedule.getStartTime().isEqual(now)) {
-            Optional<Notification> existingNotification = notificationRepository
-                    .findByUserAndRelatedIdAndNotificationType(user, schedule.getId(), NOTIFICATION_TYPE_SCHEDULE_START);
-
-            if (existingNotification.isEmpty()) {
-                String title = scheduleStartTitle;
-                String body = createScheduleStartBody(schedule);
-
-                Map<String, String> data = createNotificationData(schedule.getId().toString(), NOTIFICATION_TYPE_SCHEDULE_START);
-                sendAndSaveNotification(user, title, body, data, schedule.getId(), NOTIFICATION_TYPE_SCHEDULE_START);
-                processRoutineItemsAtScheduleStart(schedule, user, now);
-
-                markScheduleAsInProgress(schedule);
-            } else {
-                if (schedule.getStatus() == Schedule.ScheduleStatus.PENDING) {
-                    markScheduleAsInProgress(schedule);
-                }
-            }
+    private void processScheduleStartNotification(Schedule schedule, User user, Set<NotificationKey> sentKeys) {
+        if (schedule.getStatus() != Schedule.ScheduleStatus.PENDING || !user.isNotifyNextSchedule()) {
+            return;
         }
-    }
 
-    // 루틴 아이템 알림 처리
-    private void processRoutineItemNotifications(Schedule schedule, User user, LocalDateTime now) {
-        log.info("🔔 [ScheduleNotificationService] 루틴 아이템 알림 처리 시작");
-        log.info("   ├─ 스케줄 ID: {}, 제목: '{}'", schedule.getId(), schedule.getTitle());
-        log.info("   ├─ 현재 시간: {}", now);
-        log.info("   └─ 루틴 ID: {}", schedule.getRoutineId());
-
-        List<CalculatedRoutineItemTime> calculatedItems = routineService.calculateRoutineItemTimes(
-                schedule.getRoutineId(), schedule.getStartTime());
-        boolean allItemsCompleted = true;
-
-        for (CalculatedRoutineItemTime itemTime : calculatedItems) {
-            log.debug("   🔸 아이템 체크: '{}'", itemTime.getRoutineItemName());
-            log.debug("      ├─ 시작 시간: {} (현재와 비교: {})",
-                    itemTime.getStartTime(),
-                    itemTime.getStartTime().isEqual(now) ? "일치 ✅" : "불일치");
-            log.debug("      └─ 종료 시간: {}", itemTime.getEndTime());
-
-            if (itemTime.getStartTime().isEqual(now)) {
-                log.info("   ✅ 알림 발송 조건 충족! 아이템: '{}'", itemTime.getRoutineItemName());
-                processRoutineItemStartNotification(schedule, user, itemTime);
-            }
+        if (sentKeys.add(scheduleNotificationKey(user, schedule, NOTIFICATION_TYPE_SCHEDULE_START))) {
+            String title = scheduleStartTitle;
+            String body = createScheduleStartBody(schedule);
 
-            if (itemTime.getEndTime().isAfter(now)) {
-                allItemsCompleted = false;
-            }
+            Map<String, String> data = createNotificationData(schedule.getId().toString(), NOTIFICATION_TYPE_SCHEDULE_START);
+            sendAndSaveNotification(user, title, body, data, schedule.getId(), NOTIFICATION_TYPE_SCHEDULE_START);
         }
 
-        // 모든 루틴 아이템이 완료되었는지 체크
-        if (allItemsCompleted && !calculatedItems.isEmpty()) {
-            CalculatedRoutineItemTime lastItem = calculatedItems.get(calculatedItems.size() - 1);
-            if (lastItem.getEndTime().isBefore(now) || lastItem.getEndTime().isEqual(now)) {
-                log.info("   🏁 모든 루틴 아이템 완료");
-
-                // 스케줄의 실제 종료 시간을 확인하여 완료 처리
-                if (isScheduleCompleted(schedule, now)) {
-                    log.info("   ✅ 스케줄도 완료됨 - COMPLETED로 변경");
-                    markScheduleAsCompleted(schedule);
-                } else {
-                    log.info("   ⏳ 스케줄은 아직 진행 중 - IN_PROGRESS 유지");
-                    log.info("   └─ 스케줄 종료 시간: {}", schedule.getEndTime());
-                }
-            }
-        } else if (calculatedItems.isEmpty() && isScheduleCompleted(schedule, now)) {
+        markScheduleAsInProgress(schedule);
+    }
+
+    // 스케줄 종료 시각 도달 시 COMPLETED 전환
+    private void processScheduleEnd(Schedule schedule) {
+        if (schedule.getStatus() == Schedule.ScheduleStatus.IN_PROGRESS) {
+            log.info("🏁 [ScheduleNotificationService] 스케줄 종료 - Schedule ID: {}", schedule.getId());
             markScheduleAsCompleted(schedule);
         }
-
-        log.info("✅ [ScheduleNotificationService] 루틴 아이템 알림 처리 완료");
     }
 
     // 개별 아이템 루틴 처리
-    private void processRoutineItemStartNotification(Schedule schedule, User user, CalculatedRoutineItemTime itemTime) {
+    private void processRoutineItemStartNotification(Schedule schedule, User user, Long routineItemId, String routineItemName,
+                                                     Set<NotificationKey> sentKeys) {
+        if (schedule.getStatus() == Schedule.ScheduleStatus.COMPLETED || !user.isNotifyRoutineProgress()) {
+            return;
+        }
+
         // 스케줄 ID + 루틴 아이템 ID 조합으로 중복 체크
-        Optional<Notification> existingNotification = notificationRepository
-                .findByUserAndScheduleIdAndRelatedIdAndNotificationType(
-                        user, schedule.getId(), itemTime.getRoutineItemId(), NOTIFICATION_TYPE_ROUTINE_ITEM_START);
+        NotificationKey key = new NotificationKey(user.getId(), schedule.getId(), routineItemId, NOTIFICATION_TYPE_ROUTINE_ITEM_START);
 
-        if (existingNotification.isEmpty()) {
-            String title = itemTime.getRoutineItemName() + " 시작!";
-            String body = String.format("'%s' 일정의 [%s] 할 시간입니다!", schedule.getTitle(), itemTime.getRoutineItemName());
+        if (sentKeys.add(key)) {
+            log.info("   📤 루틴 아이템 알림 전송: '{}'", routineItemName);
+            String title = routineItemName + " 시작!";
+            String body = String.format("'%s' 일정의 [%s] 할 시간입니다!", schedule.getTitle(), routineItemName);
 
-            Map<String, String> data = createRoutineItemNotificationData(schedule, itemTime);
-            sendRoutineItemNotification(user, schedule, title, body, data, itemTime.getRoutineItemId());
+            Map<String, String> data = createRoutineItemNotificationData(schedule, routineItemId);
+            sendRoutineItemNotification(user, schedule, title, body, data, routineItemId);
         } else {
             log.debug("루틴 아이템 알림이 이미 전송되었습니다. Schedule ID: {}, Routine Item ID: {}",
-                    schedule.getId(), itemTime.getRoutineItemId());
+                    schedule.getId(), routineItemId);
         }
     }
 
-    // 스케줄 시작될 때 루틴의 첫 아이템 검사
-    private void processRoutineItemsAtScheduleStart(Schedule schedule, User user, LocalDateTime now) {
-        if (schedule.getRoutineId() == null || !user.isNotifyRoutineProgress()) {
-            return;
-        }
-
-        List<CalculatedRoutineItemTime> calculatedItems = routineService.calculateRoutineItemTimes(
-                schedule.getRoutineId(), schedule.getStartTime());
-
-        for (CalculatedRoutineItemTime itemTime : calculatedItems) {
-            if (itemTime.getStartTime().isEqual(now)) {
-                processRoutineItemStartNotification(schedule, user, itemTime);
-            }
-        }
+    // 스케줄 단위 알림의 중복 판별 키 (relatedId = 스케줄 ID)
+    private NotificationKey scheduleNotificationKey(User user, Schedule schedule, String notificationType) {
+        return new NotificationKey(user.getId(), schedule.getId(), schedule.getId(), notificationType);
     }
 
     // 스케줄 시작 알림 본문 생성
@@ -450,11 +321,11 @@ public class ScheduleNotificationService {
     }
 
     // 루틴 아이템 알림 데이터 생성
-    private Map<String, String> createRoutineItemNotificationData(Schedule schedule, CalculatedRoutineItemTime itemTime) {
+    private Map<String, String> createRoutineItemNotificationData(Schedule schedule, Long routineItemId) {
         Map<String, String> data = new HashMap<>();
         data.put("scheduleId", schedule.getId().toString());
-        data.put("routineId", itemTime.getRoutineId().toString());
-        data.put("routineItemId", itemTime.getRoutineItemId().toString());
+        data.put("routineId", schedule.getRoutineId().toString());
+        data.put("routineItemId", routineItemId.toString());
         data.put("type", NOTIFICATION_TYPE_ROUTINE_ITEM_START);
         return data;
     }
@@ -467,35 +338,26 @@ public class ScheduleNotificationService {
         Long userId = user.getId(); // 사용자 ID 미리 저장
 
         try {
-            // DB 저장 로직 (synchronized 블록)
-            synchronized (this) {
-                Optional<Notification> existingCheck = notificationRepository
-                        .findByUserAndRelatedIdAndNotificationType(user, relatedId, notificationType);
-                if (existingCheck.isPresent()) {
-                    log.info("💾 중복 알림 방지 - 이미 존재 (User: {}, RelatedID: {}, Type: {})", userId, relatedId, notificationType);
-                    return;
-                }
+            // DB 저장 - 중복은 uk_notification_dedup 유니크 인덱스가 막음
+            try {
                 Notification notification = Notification.builder()
                         .user(user) // DB 저장은 원래 User 객체 사용
                         .title(title)
                         .body(body)
                         .relatedId(relatedId)
+                        .scheduleId(relatedId)
                         .notificationType(notificationType)
                         .build();
                 savedNotification = notificationRepository.save(notification);
                 log.info("💾 {} 알림 DB 저장 완료 - ID: {}, User: {}, RelatedID: {}", notificationType, savedNotification.getId(), userId, relatedId);
-            } // synchronized 종료
+            } catch (DataIntegrityViolationException e) {
+                log.info("💾 중복 알림 방지 - 이미 존재 (User: {}, RelatedID: {}, Type: {})", userId, relatedId, notificationType);
+                return;
+            }
 
 
-            // DB 저장 후 FCM 또는 WebSocket으로 전송
-            try {
-                fcmService.sendNotificationToUser(String.valueOf(userId), title, body, data);
-                log.info("📤 {} 알림 전송 시도 완료 - User: {}, RelatedID: {}", notificationType, userId, relatedId);
-            } catch (Exception e) {
-                // sendNotificationToUser 내부에서 예외를 처리하고 로깅하므로, 여기서는 추가 로깅만
-                log.error("❌ {} 알림 전송 중 오류 발생 (sendNotificationToUser 호출 후) - User: {}, RelatedID: {}",
-                        notificationType, userId, relatedId, e);
-            }
+            // DB 저장 후 FCM 또는 WebSocket으로 전송 (전송 스레드 풀에서 비동기 처리)
+            dispatchNotification(savedNotification, userId, title, body, data);
 
         } catch (Exception e) {
             log.error("❌ {} 알림 저장/처리 실패 - User: {}, RelatedID: {}, 오류: {}",
@@ -513,15 +375,8 @@ public class ScheduleNotificationService {
         Long scheduleId = schedule.getId(); // 스케줄 ID 미리 저장
 
         try {
-            // DB 저장 로직 (synchronized 블록)
-            synchronized (this) {
-                Optional<Notification> existingCheck = notificationRepository
-                        .findByUserAndScheduleIdAndRelatedIdAndNotificationType(
-                                user, scheduleId, routineItemId, NOTIFICATION_TYPE_ROUTINE_ITEM_START);
-                if (existingCheck.isPresent()) {
-                    log.info("💾 중복 알림 방지 - 이미 존재 (User: {}, Schedule: {}, Item: {})", userId, scheduleId, routineItemId);
-                    return;
-                }
+            // DB 저장 - 중복은 uk_notification_dedup 유니크 인덱스가 막음
+            try {
                 Notification notification = Notification.builder()
                         .user(user) // DB 저장은 원래 User 객체 사용
                         .title(title)
@@ -532,35 +387,86 @@ public class ScheduleNotificationService {
                         .build();
                 savedNotification = notificationRepository.save(notification);
                 log.info("💾 루틴 아이템 알림 DB 저장 완료 - ID: {}, Schedule: {}, Item: {}", savedNotification.getId(), scheduleId, routineItemId);
-            } // synchronized 종료
-
-            // DB 저장 후 FCM 또는 WebSocket으로 전송
-            try {
-                // *** 최신 토큰(latestFcmToken)을 사용하여 전송 ***
-                fcmService.sendNotificationToUser(String.valueOf(userId), title, body, data);
-                log.info("📤 루틴 아이템 알림 전송 시도 완료 - User: {}, Schedule: {}, Item: {}", userId, scheduleId, routineItemId);
-            } catch (Exception e) {
-                log.error("❌ 루틴 아이템 알림 전송 중 오류 발생 (sendNotificationToUser 호출 후) - User: {}, Schedule: {}, Item: {}",
-                        userId, scheduleId, routineItemId, e);
+            } catch (DataIntegrityViolationException e) {
+                log.info("💾 중복 알림 방지 - 이미 존재 (User: {}, Schedule: {}, Item: {})", userId, scheduleId, routineItemId);
+                return;
             }
 
+            // DB 저장 후 FCM 또는 WebSocket으로 전송 (전송 스레드 풀에서 비동기 처리)
+            dispatchNotification(savedNotification, userId, title, body, data);
+
         } catch (Exception e) {
             log.error("❌ 루틴 아이템 알림 저장/처리 실패 - User: {}, Schedule: {}, Item: {}, 오류: {}",
                     userId, scheduleId, routineItemId, e.getMessage(), e);
         }
     }
 
+    /**
+     * 저장된 알림을 전송 스레드 풀로 넘기고, 전송 결과를 deliveryStatus에 기록
+     * 트랜잭션 안에서 호출되면 커밋 이후에 전송 (롤백된 알림이 나가지 않도록)
+     */
+    private void dispatchNotification(Notification notification, Long userId, String title, String body,
+                                      Map<String, String> data) {
+        Runnable dispatch = () -> fcmService.sendNotificationToUserAsync(String.valueOf(userId), title, body, data)
+                .whenComplete((status, e) -> {
+                    if (e != null) {
+                        log.error("❌ 알림 전송 중 오류 발생 - Notification ID: {}, User: {}", notification.getId(), userId, e);
+                    }
+                    Notification.DeliveryStatus result = status != null ? status : Notification.DeliveryStatus.FAILED;
+                    try {
+                        notificationRepository.updateDeliveryStatus(notification.getId(), result);
+                    } catch (Exception ex) {
+                        log.warn("⚠️ 알림 전송 결과 저장 실패 - Notification ID: {}, 오류: {}", notification.getId(), ex.getMessage());
+                    }
+                    log.info("📤 알림 전송 완료 - Notification ID: {}, User: {}, 결과: {}", notification.getId(), userId, result);
+                });
+
+        List<NotificationDispatch> batch = tickBatch.get();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch.run();
+                }
+            });
+        } else if (batch != null) {
+            // 알림 작업 중이면 모아두었다가 작업 끝에 sendEach로 일괄 전송
+            batch.add(new NotificationDispatch(notification.getId(), userId, title, body, data));
+        } else {
+            dispatch.run();
+        }
+    }
+
+    // 알림 작업에서 모인 알림 일괄 전송 후 결과별로 묶어서 deliveryStatus 저장
+    private void dispatchBatch(List<NotificationDispatch> batch) {
+        log.info("📦 [ScheduleNotificationService] 알림 {}개 일괄 전송 요청", batch.size());
+        fcmService.sendBatchAsync(batch).whenComplete((results, e) -> {
+            Map<Notification.DeliveryStatus, List<Long>> idsByStatus = new EnumMap<>(Notification.DeliveryStatus.class);
+            for (NotificationDispatch dispatch : batch) {
+                Notification.DeliveryStatus status = results != null ? results.get(dispatch.notificationId()) : null;
+                idsByStatus.computeIfAbsent(status != null ? status : Notification.DeliveryStatus.FAILED, k -> new ArrayList<>())
+                        .add(dispatch.notificationId());
+            }
+            if (e != null) {
+                log.error("❌ [ScheduleNotificationService] 알림 일괄 전송 중 오류 발생 - {}개", batch.size(), e);
+            }
+
+            try {
+                idsByStatus.forEach((status, ids) -> notificationRepository.updateDeliveryStatusByIdIn(ids, status));
+            } catch (Exception ex) {
+                log.warn("⚠️ 알림 전송 결과 저장 실패 - {}개, 오류: {}", batch.size(), ex.getMessage());
+            }
+            log.info("📤 [ScheduleNotificationService] 알림 일괄 전송 완료 - {}", idsByStatus.entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue().size())
+                    .collect(Collectors.joining(", ")));
+        });
+    }
+
     // 사용자 검증 - FCM 토큰이 없어도 알림 활성화되어 있으면 유효
     private boolean isValidNotificationUser(User user) {
         return user != null && user.isNotificationsEnabled();
     }
 
-    // 스케줄이 완료되었는지 확인
-    private boolean isScheduleCompleted(Schedule schedule, LocalDateTime now) {
-        return schedule.getEndTime() != null &&
-                (schedule.getEndTime().isBefore(now) || schedule.getEndTime().isEqual(now));
-    }
-
     // 스케줄을 IN_PROGRESS 상태로 변경
     private void markScheduleAsInProgress(Schedule schedule) {
         schedule.setStatus(Schedule.ScheduleStatus.IN_PROGRESS);
@@ -596,35 +502,33 @@ public class ScheduleNotificationService {
             data.put("routineItemName", routineItemName);
             data.put("type", notificationType);
 
-            // DB 저장 로직 (synchronized 블록)
-            synchronized (this) {
-                Optional<Notification> existingCheck = notificationRepository
-                        .findByUserAndRelatedIdAndNotificationType(user, relatedId, notificationType);
-                if (existingCheck.isPresent()) {
-                    log.info("💾 중복 알림 방지 - 이미 존재 (User: {}, RelatedID: {}, Type: {})", userId, relatedId, notificationType);
-                    return;
-                }
+            // 일정 생성/수정 트랜잭션 안에서 호출되므로 제약 조건 위반(롤백 유발) 전에 미리 확인
+            NotificationKey key = new NotificationKey(userId, relatedId, relatedId, notificationType);
+            if (notificationRepository.findKeysByUserIdInAndScheduleIdIn(List.of(userId), List.of(relatedId)).contains(key)) {
+                log.info("💾 중복 알림 방지 - 이미 존재 (User: {}, RelatedID: {}, Type: {})", userId, relatedId, notificationType);
+                return;
+            }
+
+            // DB 저장 - 중복은 uk_notification_dedup 유니크 인덱스가 막음
+            try {
                 Notification notification = Notification.builder()
                         .user(user) // DB 저장은 원래 User 객체 사용
                         .title(title)
                         .body(body)
                         .relatedId(relatedId)
+                        .scheduleId(relatedId)
                         .notificationType(notificationType)
                         .build();
                 savedNotification = notificationRepository.save(notification);
                 log.info("💾 지연 루틴 알림 DB 저장 완료 - ID: {}, User: {}, Schedule: {}", savedNotification.getId(), userId, relatedId);
-            } // synchronized 종료
+            } catch (DataIntegrityViolationException e) {
+                log.info("💾 중복 알림 방지 - 이미 존재 (User: {}, RelatedID: {}, Type: {})", userId, relatedId, notificationType);
+                return;
+            }
 
 
-            // DB 저장 후 FCM 또는 WebSocket으로 전송
-            try {
-                // *** 최신 토큰(latestFcmToken)을 사용하여 전송 ***
-                fcmService.sendNotificationToUser(String.valueOf(userId), title, body, data);
-                log.info("📤 지연 루틴 알림 전송 시도 완료 - User: {}, Schedule: {}", userId, relatedId);
-            } catch (Exception e) {
-                log.error("❌ 지연 루틴 알림 전송 중 오류 발생 (sendNotificationToUser 호출 후) - User: {}, Schedule: {}, 오류: {}",
-                        userId, relatedId, e);
-            }
+            // DB 저장 후 FCM 또는 WebSocket으로 전송 (트랜잭션 커밋 후 비동기 처리)
+            dispatchNotification(savedNotification, userId, title, body, data);
 
         } catch (Exception e) {
             log.error("❌ 지연 루틴 알림 저장/처리 실패 - User: {}, Schedule: {}, 오류: {}",
@@ -666,6 +570,7 @@ public class ScheduleNotificationService {
         }
 
         scheduleRepository.save(schedule);
+        notificationTimelineService.rebuild(schedule);
         return originalStartTime;
     }
 
@@ -692,6 +597,7 @@ public class ScheduleNotificationService {
         }
 
         scheduleRepository.save(schedule);
+        notificationTimelineService.rebuild(schedule);
         return originalStartTime;
     }
 
@@ -836,6 +742,7 @@ public class ScheduleNotificationService {
                 }
 
                 scheduleRepository.save(schedule);
+                notificationTimelineService.rebuild(schedule);
 
                 // 별도 날씨 알림 전송
                 sendWeatherAlertNotification(schedule, user, weatherDesc);
@@ -965,6 +872,7 @@ public class ScheduleNotificationService {
                 }
 
                 scheduleRepository.save(schedule);
+                notificationTimelineService.rebuild(schedule);
 
                 // 별도 교통 지연 알림 전송
                 sendTrafficDelayNotification(schedule, user, delayType, maxDelay);
@@ -11,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
@@ -28,11 +30,12 @@ public class ScheduleService {
 
     private final ScheduleRepository scheduleRepository;
     private final RoutineRepository routineRepository;
-    private final GoogleCalendarService googleCalendarService;
+    private final CalendarOutboxService calendarOutboxService;
     private final UserRepository userRepository;
     private final RoutineService routineService;
     private final ScheduleNotificationService scheduleNotificationService;
     private final TransportService transportService;
+    private final NotificationTimelineService notificationTimelineService;
 
     // 루틴 기반 일정 생성 (종료 시간을 직접 받음)
     public Schedule createFromRoutine(Long userId, Long routineId, String title, LocalDateTime startTime,
@@ -57,34 +60,6 @@ public class ScheduleService {
             throw new IllegalArgumentException("종료 시간이 유효하지 않습니다. 종료 시간은 시작 시간보다 뒤여야 합니다.");
         }
 
-        // 교통 시간 계산 (좌표가 있는 경우에만)
-        Integer originalDrivingTime = null;
-        Integer originalTransitTime = null;
-
-        if (startX != null && startY != null && destinationX != null && destinationY != null) {
-            try {
-                com.example.demo.dto.transport.TransportTimeRequest transportRequest =
-                        new com.example.demo.dto.transport.TransportTimeRequest();
-                transportRequest.setStartX(startX);
-                transportRequest.setStartY(startY);
-                transportRequest.setEndX(destinationX);
-                transportRequest.setEndY(destinationY);
-                transportRequest.setRemoteEvent(false);
-
-                com.example.demo.dto.transport.TransportTimeResponse transportTimes =
-                        transportService.calculateAllTransportTimes(transportRequest);
-
-                originalDrivingTime = transportTimes.getDriving();
-                originalTransitTime = transportTimes.getTransit();
-
-                log.info("📊 [ScheduleService] 원본 교통 시간 저장 - Schedule: '{}', 자차: {}분, 대중교통: {}분",
-                        title, originalDrivingTime, originalTransitTime);
-            } catch (Exception e) {
-                log.error("❌ [ScheduleService] 교통 시간 계산 실패 - Schedule: '{}', 에러: {}",
-                        title, e.getMessage());
-            }
-        }
-
         Schedule schedule = Schedule.builder()
                 .title(title)
                 .startTime(startTime)
@@ -101,19 +76,16 @@ public class ScheduleService {
                 .supplies(supplies)
                 .user(user)
                 .status(Schedule.ScheduleStatus.PENDING)
-                .originalDrivingTime(originalDrivingTime)
-                .originalTransitTime(originalTransitTime)
                 .build();
 
-        try {
-            String eventId = googleCalendarService.createEvent(schedule, userId);
-            schedule.setGoogleCalendarEventId(eventId);
-        } catch (Exception e) {
-            log.error("Google Calendar 이벤트 생성 실패 (User ID: {}): {}. 일정은 DB에 저장됩니다.", userId, e.getMessage(), e);
-            schedule.setGoogleCalendarEventId(null);
-        }
-
         Schedule savedSchedule = scheduleRepository.save(schedule);
+        notificationTimelineService.rebuild(savedSchedule);
+
+        // Google Calendar 반영은 outbox에 기록하고 커밋 후 배치로 전송
+        calendarOutboxService.enqueueCreate(savedSchedule);
+
+        // 교통 시간은 커밋 후 비동기로 계산해 채움 (좌표가 있는 경우에만)
+        fillTransportTimesAfterCommit(savedSchedule);
 
         // 지연 등록 알림 처리 - 루틴 시작 시간 기준으로 체크
         LocalDateTime now = LocalDateTime.now();
@@ -197,31 +169,6 @@ public class ScheduleService {
             coordinatesChanged = true;
         }
 
-        // 좌표가 변경되었으면 교통 시간 재계산
-        if (coordinatesChanged && startX != null && startY != null && destinationX != null && destinationY != null) {
-            try {
-                com.example.demo.dto.transport.TransportTimeRequest transportRequest =
-                        new com.example.demo.dto.transport.TransportTimeRequest();
-                transportRequest.setStartX(startX);
-                transportRequest.setStartY(startY);
-                transportRequest.setEndX(destinationX);
-                transportRequest.setEndY(destinationY);
-                transportRequest.setRemoteEvent(false);
-
-                com.example.demo.dto.transport.TransportTimeResponse transportTimes =
-                        transportService.calculateAllTransportTimes(transportRequest);
-
-                schedule.setOriginalDrivingTime(transportTimes.getDriving());
-                schedule.setOriginalTransitTime(transportTimes.getTransit());
-
-                log.info("📊 [ScheduleService] 일정 수정 - 교통 시간 재계산 완료 - Schedule ID: {}, 자차: {}분, 대중교통: {}분",
-                        scheduleId, transportTimes.getDriving(), transportTimes.getTransit());
-            } catch (Exception e) {
-                log.error("❌ [ScheduleService] 일정 수정 - 교통 시간 재계산 실패 - Schedule ID: {}, 에러: {}",
-                        scheduleId, e.getMessage());
-            }
-        }
-
         schedule.setTitle(title);
         schedule.setStartTime(startTime);
         schedule.setEndTime(endTime);
@@ -236,19 +183,16 @@ public class ScheduleService {
         schedule.setCategory(Category.valueOf(category.toUpperCase()));
         schedule.setRoutineId(routineId);
 
-        try {
-            if (schedule.getGoogleCalendarEventId() != null) {
-                googleCalendarService.updateEvent(schedule, userId);
-            } else {
-                String eventId = googleCalendarService.createEvent(schedule, userId);
-                schedule.setGoogleCalendarEventId(eventId);
-            }
-        } catch (Exception e) {
-            log.error("Google Calendar 이벤트 업데이트 실패 (User ID: {}, Schedule ID: {}): {}. 일정은 DB에 저장됩니다.",
-                    userId, scheduleId, e.getMessage(), e);
-        }
+        // Google Calendar 반영은 outbox에 기록하고 커밋 후 배치로 전송
+        calendarOutboxService.enqueueUpdate(schedule);
 
         Schedule savedSchedule = scheduleRepository.save(schedule);
+        notificationTimelineService.rebuild(savedSchedule);
+
+        // 좌표가 변경되었으면 커밋 후 교통 시간 재계산
+        if (coordinatesChanged) {
+            fillTransportTimesAfterCommit(savedSchedule);
+        }
 
         // 지연 등록 알림 처리 (루틴이 새로 추가되었거나 변경된 경우) - 루틴 시작 시간 기준으로 체크
         LocalDateTime now = LocalDateTime.now();
@@ -274,6 +218,57 @@ public class ScheduleService {
         return savedSchedule;
     }
 
+    /**
+     * 일정 저장(커밋) 후 교통 시간을 비동기로 계산해 원본 교통 시간으로 저장
+     * 채팅/일정 API 응답이 교통 API 호출을 기다리지 않도록 한다.
+     */
+    private void fillTransportTimesAfterCommit(Schedule schedule) {
+        Long scheduleId = schedule.getId();
+        Double startX = schedule.getStartX();
+        Double startY = schedule.getStartY();
+        Double destinationX = schedule.getDestinationX();
+        Double destinationY = schedule.getDestinationY();
+        if (startX == null || startY == null || destinationX == null || destinationY == null) {
+            return;
+        }
+
+        Runnable task = () -> {
+            com.example.demo.dto.transport.TransportTimeRequest transportRequest =
+                    new com.example.demo.dto.transport.TransportTimeRequest();
+            transportRequest.setStartX(startX);
+            transportRequest.setStartY(startY);
+            transportRequest.setEndX(destinationX);
+            transportRequest.setEndY(destinationY);
+            transportRequest.setRemoteEvent(false);
+
+            transportService.calculateAllTransportTimesAsync(transportRequest)
+                    .thenAccept(transportTimes -> {
+                        int updated = scheduleRepository.updateOriginalTransportTimes(scheduleId,
+                                startX, startY, destinationX, destinationY,
+                                transportTimes.getDriving(), transportTimes.getTransit());
+                        log.info("📊 [ScheduleService] 원본 교통 시간 저장 - Schedule ID: {}, 자차: {}분, 대중교통: {}분{}",
+                                scheduleId, transportTimes.getDriving(), transportTimes.getTransit(),
+                                updated == 0 ? " (좌표 변경/삭제로 반영 안 됨)" : "");
+                    })
+                    .exceptionally(e -> {
+                        log.error("❌ [ScheduleService] 교통 시간 계산 실패 - Schedule ID: {}, 에러: {}",
+                                scheduleId, e.getMessage());
+                        return null;
+                    });
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
     // 특정 일정 조회
     @Transactional(readOnly = true)
     public Schedule getScheduleById(Long userId, Long scheduleId) {
@@ -296,13 +291,9 @@ public class ScheduleService {
             throw new IllegalArgumentException("해당 일정에 대한 삭제 권한이 없습니다.");
         }
 
-        if (schedule.getGoogleCalendarEventId() != null && !schedule.getGoogleCalendarEventId().isEmpty()) {
-            try {
-                googleCalendarService.deleteEvent(schedule.getGoogleCalendarEventId(), userId);
-            } catch (Exception e) {
-                log.error("Google Calendar 이벤트 삭제 실패 (User ID: {}, Event ID: {}): {}. DB에서는 일정이 삭제됩니다.", userId, schedule.getGoogleCalendarEventId(), e.getMessage(), e);
-            }
-        }
+        // Google Calendar 이벤트 삭제는 outbox를 통해 커밋 후 전송
+        calendarOutboxService.enqueueDelete(schedule);
+        notificationTimelineService.deleteForSchedule(scheduleId);
         scheduleRepository.delete(schedule);
     }
 
@@ -345,15 +336,12 @@ public class ScheduleService {
                 .status(Schedule.ScheduleStatus.PENDING)
                 .build();
 
-        try {
-            String eventId = googleCalendarService.createEvent(schedule, userId);
-            schedule.setGoogleCalendarEventId(eventId);
-        } catch (Exception e) {
-            log.error("Google Calendar 이벤트 생성 실패 (User ID: {}): {}. 일정은 DB에 저장됩니다.", userId, e.getMessage(), e);
-            schedule.setGoogleCalendarEventId(null);
-        }
+        Schedule savedSchedule = scheduleRepository.save(schedule);
+        notificationTimelineService.rebuild(savedSchedule);
 
-        return scheduleRepository.save(schedule);
+        // Google Calendar 반영은 outbox에 기록하고 커밋 후 배치로 전송
+        calendarOutboxService.enqueueCreate(savedSchedule);
+        return savedSchedule;
     }
 
     public List<Schedule> findSchedulesByTitleAndTime(Long userId, String title, LocalDateTime dateTime) {
@@ -603,7 +591,7 @@ public class ScheduleService {
                 Schedule schedule = candidates.get(0);
                 log.info("Deleting schedule ID {} (Title: '{}') with Google Calendar sync", 
                         schedule.getId(), schedule.getTitle());
-                // deleteSchedule 메서드는 내부적으로 GoogleCalendarService.deleteEvent()를 호출합니다
+                // deleteSchedule 메서드는 내부적으로 Google Calendar 삭제 요청을 outbox에 등록합니다
                 deleteSchedule(userId, schedule.getId());
                 return true;
             } else if (candidates.isEmpty()) {
@@ -770,7 +758,7 @@ public class ScheduleService {
 
         log.info("Updating schedule ID {} with Google Calendar sync", existingSchedule.getId());
         
-        // updateSchedule 메서드는 내부적으로 GoogleCalendarService.updateEvent()를 호출합니다
+        // updateSchedule 메서드는 내부적으로 Google Calendar 수정 요청을 outbox에 등록합니다
         return updateSchedule(
             userId,
             existingSchedule.getId(),
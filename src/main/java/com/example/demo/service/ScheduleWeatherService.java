@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
@@ -125,43 +126,45 @@ public class ScheduleWeatherService {
 
     /**
      * 매 시간마다 진행 중이거나 곧 시작될 스케줄의 날씨 정보를 업데이트합니다.
+     * 스케줄별 조회를 순서대로 이어서 호출하므로 OpenWeather 초당 호출 수 안에서 지연되며 진행되고,
+     * 조회에 실패한 스케줄은 캐시를 갱신하지 않습니다.
      */
     @Scheduled(cron = "0 0 * * * ?") // 매 시간 정각에 실행
     public void updateScheduleWeatherInfo() {
         log.info("⏰ 정기 날씨 정보 업데이트 작업 시작");
         LocalDateTime now = LocalDateTime.now();
 
+        List<Schedule> activeSchedules;
         try {
             // 모든 사용자의 활성 스케줄 조회 (진행 중이거나 24시간 이내 시작 예정)
-            List<Schedule> activeSchedules = scheduleService.getActiveSchedulesForWeatherUpdate(now);
-
-            log.info("날씨 업데이트 대상 스케줄 {}개 발견", activeSchedules.size());
-
-            for (Schedule schedule : activeSchedules) {
-                try {
-                    updateWeatherForSchedule(schedule);
-                } catch (Exception e) {
-                    log.error("스케줄 ID {}의 날씨 정보 업데이트 실패: {}", schedule.getId(), e.getMessage());
-                }
-            }
-
-            // 오래된 캐시 정리 (24시간 이상 된 것)
-            cleanupOldCache();
-
+            activeSchedules = scheduleService.getActiveSchedulesForWeatherUpdate(now);
         } catch (Exception e) {
             log.error("정기 날씨 정보 업데이트 작업 실패: {}", e.getMessage(), e);
+            return;
         }
-
-        log.info("✅ 정기 날씨 정보 업데이트 작업 완료");
+        log.info("날씨 업데이트 대상 스케줄 {}개 발견", activeSchedules.size());
+
+        Flux.fromIterable(activeSchedules)
+                .concatMap(schedule -> updateWeatherForSchedule(schedule)
+                        .onErrorResume(e -> {
+                            log.error("스케줄 ID {}의 날씨 정보 업데이트 실패: {}", schedule.getId(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                // 오래된 캐시 정리 (24시간 이상 된 것)
+                .doFinally(signal -> {
+                    cleanupOldCache();
+                    log.info("✅ 정기 날씨 정보 업데이트 작업 완료");
+                })
+                .subscribe(null, e -> log.error("정기 날씨 정보 업데이트 작업 실패: {}", e.getMessage(), e));
     }
 
     /**
      * 특정 스케줄의 날씨 정보를 업데이트합니다.
      */
-    private void updateWeatherForSchedule(Schedule schedule) {
+    private Mono<Void> updateWeatherForSchedule(Schedule schedule) {
         if (schedule.getDestinationY() == null || schedule.getDestinationX() == null) {
             log.debug("스케줄 ID {}는 좌표 정보가 없어 날씨 업데이트를 건너뜁니다.", schedule.getId());
-            return;
+            return Mono.empty();
         }
 
         LocalDateTime now = LocalDateTime.now();
@@ -170,37 +173,35 @@ public class ScheduleWeatherService {
         if (daysUntilSchedule > MAX_FORECAST_DAYS) {
             log.debug("스케줄 ID {}는 {}일 후로 예보 범위를 벗어나 날씨 업데이트를 건너뜁니다.",
                     schedule.getId(), daysUntilSchedule);
-            return;
+            return Mono.empty();
         }
 
-        try {
-            if (daysUntilSchedule <= 1) {
-                // 현재 날씨 조회
-                weatherApiService.getCurrentWeather(schedule.getDestinationY(), schedule.getDestinationX())
-                    .subscribe(weatherResponse -> {
+        if (daysUntilSchedule <= 1) {
+            // 현재 날씨 조회
+            return weatherApiService.getCurrentWeather(schedule.getDestinationY(), schedule.getDestinationX())
+                    .doOnNext(weatherResponse -> {
                         ScheduleWeatherResponse.WeatherInfo weatherInfo = createWeatherInfo(weatherResponse);
                         weatherCache.put(schedule.getId(), weatherInfo);
                         weatherCacheTime.put(schedule.getId(), LocalDateTime.now());
                         log.info("현재 날씨 정보 업데이트 완료 - 스케줄 ID: {}, 온도: {}°C",
                                 schedule.getId(), weatherInfo.getTemperature());
-                    });
-            } else {
-                // 예보 조회
-                weatherApiService.getForecast(schedule.getDestinationY(), schedule.getDestinationX())
-                    .subscribe(forecastResponse -> {
-                        var closestForecast = findClosestForecast(forecastResponse, schedule.getStartTime());
-                        if (closestForecast.isPresent()) {
-                            ScheduleWeatherResponse.WeatherInfo weatherInfo = createWeatherInfoFromForecast(closestForecast.get());
-                            weatherCache.put(schedule.getId(), weatherInfo);
-                            weatherCacheTime.put(schedule.getId(), LocalDateTime.now());
-                            log.info("예보 날씨 정보 업데이트 완료 - 스케줄 ID: {}, 온도: {}°C",
-                                    schedule.getId(), weatherInfo.getTemperature());
-                        }
-                    });
-            }
-        } catch (Exception e) {
-            log.error("스케줄 ID {}의 날씨 정보 업데이트 중 오류: {}", schedule.getId(), e.getMessage());
+                    })
+                    .then();
         }
+
+        // 예보 조회
+        return weatherApiService.getForecast(schedule.getDestinationY(), schedule.getDestinationX())
+                .doOnNext(forecastResponse -> {
+                    var closestForecast = findClosestForecast(forecastResponse, schedule.getStartTime());
+                    if (closestForecast.isPresent()) {
+                        ScheduleWeatherResponse.WeatherInfo weatherInfo = createWeatherInfoFromForecast(closestForecast.get());
+                        weatherCache.put(schedule.getId(), weatherInfo);
+                        weatherCacheTime.put(schedule.getId(), LocalDateTime.now());
+                        log.info("예보 날씨 정보 업데이트 완료 - 스케줄 ID: {}, 온도: {}°C",
+                                schedule.getId(), weatherInfo.getTemperature());
+                    }
+                })
+                .then();
     }
 
     /**
@@ -0,0 +1,142 @@
+package com.example.demo.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 요청 병합(single-flight) 비동기 캐시
+ * 같은 키를 동시에 요청하면 진행 중인 계산(CompletableFuture) 하나를 함께 기다리고,
+ * 완료된 값은 TTL 동안 재사용한다. 최대 크기를 넘으면 만료 항목 → 가장 오래 사용되지 않은 항목(LRU) 순으로 제거한다.
+ * 실패한 계산은 캐시에 남기지 않는다.
+ */
+@Slf4j
+public class SingleFlightCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    // 적중률 집계 (진행 중인 계산을 함께 기다린 경우도 적중으로 집계)
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // lastAccessAt: 마지막 조회 시각 (LRU 정리 기준)
+    private record Entry<V>(CompletableFuture<V> future, long createdAt, AtomicLong lastAccessAt) {
+    }
+
+    public SingleFlightCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 캐시 조회 (없거나 만료/실패했으면 loader로 계산, 계산 중이면 같은 Future 반환)
+     * loader는 맵 락 밖에서 한 번만 호출된다.
+     */
+    public CompletableFuture<V> get(K key, Supplier<CompletableFuture<V>> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> existing = entries.get(key);
+        if (isUsable(existing, now)) {
+            hits.increment();
+            existing.lastAccessAt().set(now);
+            return existing.future();
+        }
+
+        Entry<V> created = new Entry<>(new CompletableFuture<>(), now, new AtomicLong(now));
+        Entry<V> entry = entries.compute(key, (k, current) -> isUsable(current, now) ? current : created);
+        if (entry != created) {
+            hits.increment();
+            entry.lastAccessAt().set(now);
+            return entry.future();
+        }
+        misses.increment();
+
+        try {
+            loader.get().whenComplete((value, e) -> {
+                if (e != null) {
+                    entries.remove(key, created);
+                    created.future().completeExceptionally(e);
+                } else {
+                    created.future().complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.future().completeExceptionally(e);
+        }
+
+        evictIfNeeded(now);
+        return created.future();
+    }
+
+    // 계산이 끝난 유효한 값만 조회 (없으면 null)
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (!isUsable(entry, now) || !entry.future().isDone()) {
+            return null;
+        }
+        entry.lastAccessAt().set(now);
+        return entry.future().getNow(null);
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private boolean isUsable(Entry<V> entry, long now) {
+        return entry != null
+                && now - entry.createdAt() <= ttlMillis
+                && !entry.future().isCompletedExceptionally();
+    }
+
+    // 최대 크기 초과 시 만료 항목 제거 후에도 넘치면 가장 오래 사용되지 않은 항목부터 90%까지 제거
+    private void evictIfNeeded(long now) {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        entries.entrySet().removeIf(e -> e.getValue().future().isDone() && now - e.getValue().createdAt() > ttlMillis);
+
+        int excess = entries.size() - (int) (maxSize * 0.9);
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .filter(e -> e.getValue().future().isDone())
+                    .sorted(Comparator.comparingLong(e -> e.getValue().lastAccessAt().get()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+        log.debug("[{}] 캐시 정리 - 현재 {}개 (최대 {}개)", name, entries.size(), maxSize);
+    }
+}
@@ -4,6 +4,10 @@ import com.example.demo.dto.midpoint.RecommendedStation;
 import com.example.demo.dto.midpoint.*; // Coordinates, MidpointResponse, RecommendedStation, GooglePlace 포함
 import com.example.demo.dto.odsay.OdsaySearchStationResponse; // 신규 DTO
 import com.example.demo.exception.LocationNotFoundException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.Data; // Lombok @Data import
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -27,6 +32,13 @@ public class SmartMidpointService {
     private final MidpointService midpointService; // Google Places 검색용
     private final OdysseyTransitService odysseyTransitService; // ODsay API 호출용
     private final GPT5ApiService gpt5ApiService; // GPT5 직접 호출용
+    private final SubwayStationIndex subwayStationIndex; // 지하철역 로컬 인덱스
+    private final GeocodingCache geocodingCache; // 위치 이름 정규화 (추천 문구 캐시 키)
+    private final MidpointEngine midpointEngine; // 기하 중앙값 + 이동 시간 기준 후보 순위
+    private final MeterRegistry meterRegistry;
+
+    // GPT에 넘기는 상위 후보 역 수 (캐시 키에도 같은 수만 사용)
+    private static final int RECOMMENDATION_CANDIDATES = 3;
 
 
     @Value("${gpt5.Mini.model}")
@@ -38,6 +50,32 @@ public class SmartMidpointService {
 
     private final Map<Long, MidpointSession> userSessions = new ConcurrentHashMap<>();
 
+    @Value("${igo.midpoint.ai-cache.ttl-minutes:60}")
+    private long aiCacheTtlMinutes;
+
+    @Value("${igo.midpoint.ai-cache.max-size:1000}")
+    private int aiCacheMaxSize;
+
+    // 로컬 인덱스에서 후보 역을 찾는 반경 (후보가 충분하면 Google Places 검색 생략)
+    @Value("${igo.midpoint.engine.search-radius-meters:2000}")
+    private double candidateSearchRadiusMeters;
+
+    // 위치 조합 + 후보 역 -> GPT 추천 문구
+    private SingleFlightCache<String, String> recommendationCache;
+
+    @PostConstruct
+    void initRecommendationCache() {
+        recommendationCache = new SingleFlightCache<>("midpoint-ai", aiCacheMaxSize, aiCacheTtlMinutes * 60 * 1000);
+        FunctionCounter.builder("igo.midpoint.ai-cache.requests", recommendationCache, SingleFlightCache::getHitCount)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("igo.midpoint.ai-cache.requests", recommendationCache, SingleFlightCache::getMissCount)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("igo.midpoint.ai-cache.size", recommendationCache, SingleFlightCache::size)
+                .register(meterRegistry);
+    }
+
     // --- processMidpointRequest 및 세션 처리 메소드들 ---
     public Mono<MidpointResponse> processMidpointRequest(Long userId, String userMessage) {
         try {
@@ -285,10 +323,17 @@ public class SmartMidpointService {
                         return Mono.just(MidpointResponse.builder().success(false).message("일부 위치의 좌표를 찾을 수 없습니다. 다시 시도해주세요.").build());
                     }
 
-                    // 2. 지리적 중간 지점 계산
-                    Coordinates geometricMidpoint = calculateMidpointInternal(coordinatesList);
+                    // 2. 지리적 중간 지점 계산 (기하 중앙값)
+                    Coordinates geometricMidpoint = midpointEngine.geometricMedian(coordinatesList);
                     log.info("Calculated geometric midpoint: lat={}, lng={}", geometricMidpoint.getLat(), geometricMidpoint.getLng());
 
+                    // 로컬 인덱스에 주변 환승역이 충분하면 Google Places/ODsay 역 검색 없이 바로 순위 계산
+                    List<RecommendedStation> indexedCandidates = findIndexedCandidates(geometricMidpoint);
+                    if (indexedCandidates.size() >= RECOMMENDATION_CANDIDATES) {
+                        log.info("Found {} transfer stations near midpoint in local station index.", indexedCandidates.size());
+                        return rankAndRespond(locations, coordinatesList, indexedCandidates);
+                    }
+
                     // 3. 중간 지점 근처 '지하철역' 검색 (Google Places API)
                     List<GooglePlace> nearbySubwayStationsGoogle;
                     try {
@@ -329,24 +374,15 @@ public class SmartMidpointService {
                                     }
                                     GooglePlace closestGoogleStation = nearbySubwayStationsGoogle.get(0);
                                     return findOdsayStationAndLanes(closestGoogleStation) // Fallback용 재호출
-                                        .map(fallbackStation -> {
+                                        .flatMap(fallbackStation -> {
                                             List<RecommendedStation> fallbackList = List.of(fallbackStation);
                                             return generateFinalResponse(locations, fallbackList, "조건에 맞는 환승역이 없어 가장 가까운 역 1곳을 추천합니다.");
                                         })
                                         .defaultIfEmpty(MidpointResponse.builder().success(false).message("가장 가까운 역의 환승 정보 조회에도 실패했습니다.").build());
 
                                 } else {
-                                    // 성공: 환승 많은 순 정렬 및 중복 제거, GPT 호출
-                                    filteredStations.sort(Comparator.comparing(RecommendedStation::getLaneCount).reversed());
-                                    List<RecommendedStation> distinctStations = filteredStations.stream()
-                                            .collect(Collectors.collectingAndThen(
-                                                    Collectors.toMap(RecommendedStation::getStationName, rs -> rs, (rs1, rs2) -> rs1.getLaneCount() >= rs2.getLaneCount() ? rs1 : rs2), // 이름 같으면 환승 많은 것 유지
-                                                    map -> new ArrayList<>(map.values())
-                                            ));
-                                    distinctStations.sort(Comparator.comparing(RecommendedStation::getLaneCount).reversed());
-
-                                    log.info("Filtered, distinct, and sorted recommended stations: {}", distinctStations.stream().map(RecommendedStation::getStationName).collect(Collectors.toList()));
-                                    return Mono.just(generateFinalResponse(locations, distinctStations, null));
+                                    // 성공: 중복 제거 후 이동 시간 순 정렬, GPT 호출
+                                    return rankAndRespond(locations, coordinatesList, filteredStations);
                                 }
                             });
                 })
@@ -356,6 +392,51 @@ public class SmartMidpointService {
                 });
     }
 
+    /**
+     * 후보 역을 참석자 이동 시간 순으로 정렬해 최종 응답 생성
+     * ODsay 경로 조회는 블로킹 호출이므로 별도 스레드에서 수행하고, 점수를 매기지 못하면 환승 많은 순을 유지한다.
+     */
+    private Mono<MidpointResponse> rankAndRespond(List<String> locations, List<Coordinates> participants,
+                                                  List<RecommendedStation> stations) {
+        List<RecommendedStation> distinctStations = stations.stream()
+                .collect(Collectors.collectingAndThen(
+                        Collectors.toMap(RecommendedStation::getStationName, rs -> rs, (rs1, rs2) -> rs1.getLaneCount() >= rs2.getLaneCount() ? rs1 : rs2), // 이름 같으면 환승 많은 것 유지
+                        map -> new ArrayList<>(map.values())
+                ));
+        distinctStations.sort(Comparator.comparing(RecommendedStation::getLaneCount).reversed());
+
+        return Mono.fromCallable(() -> midpointEngine.rank(participants, distinctStations, RECOMMENDATION_CANDIDATES))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ranked -> ranked.isEmpty() ? distinctStations : ranked.stream()
+                        .map(scored -> {
+                            RecommendedStation station = scored.station();
+                            // 거리로 추정한 시간이 섞이면 순위에만 쓰고 실제 이동 시간처럼 GPT에 넘기지 않음
+                            if (!scored.estimated()) {
+                                station.setMaxTravelMinutes((int) Math.round(scored.maxMinutes()));
+                                station.setAverageTravelMinutes((int) Math.round(scored.averageMinutes()));
+                            }
+                            return station;
+                        })
+                        .collect(Collectors.toList()))
+                .onErrorResume(e -> {
+                    log.warn("Travel-time ranking failed, falling back to transfer count order: {}", e.getMessage());
+                    return Mono.just(distinctStations);
+                })
+                .flatMap(rankedStations -> {
+                    log.info("Ranked recommended stations: {}", rankedStations.stream().map(RecommendedStation::getStationName).collect(Collectors.toList()));
+                    return generateFinalResponse(locations, rankedStations, null);
+                });
+    }
+
+    // 로컬 인덱스에서 중간 지점 주변의 환승역 후보 (추천 기준은 toRecommendedStation과 동일)
+    private List<RecommendedStation> findIndexedCandidates(Coordinates center) {
+        return subwayStationIndex.findNearby(center.getLat(), center.getLng(), candidateSearchRadiusMeters).stream()
+                .filter(s -> s.laneCount() >= 2 || s.lanes().stream().anyMatch(l -> l.contains("공항철도")))
+                .map(s -> new RecommendedStation(s.name().endsWith("역") ? s.name() : s.name() + "역",
+                        s.lng(), s.lat(), s.lanes(), s.laneCount(), s.stationId(), null, null))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Google Place 정보를 받아 가장 가까운 ODsay 지하철역 ID를 찾고,
      * 해당 역의 환승 정보를 조회하여 RecommendedStation 객체를 만드는 헬퍼 메소드 (비동기)
@@ -373,6 +454,14 @@ public class SmartMidpointService {
             googlePlace.getGeometry().getLocation().getLng()
         );
 
+        // 로컬 인덱스에 있는 역이면 ODsay 호출 없이 바로 판단
+        Optional<SubwayStationIndex.Station> indexedStation =
+            subwayStationIndex.findByName(googleStationName, coords.getLat(), coords.getLng());
+        if (indexedStation.isPresent()) {
+            log.debug("Resolved Google Place '{}' from local station index (ID: {})", googleStationName, indexedStation.get().stationId());
+            return toRecommendedStation(googleStationName, coords, indexedStation.get().lanes(), indexedStation.get().stationId());
+        }
+
         // ODsay searchStation API 호출 (이름 기반 검색)
         return odysseyTransitService.searchStationByName(googleStationName)
              // *** flatMap의 반환 타입은 Mono여야 함 ***
@@ -410,15 +499,10 @@ public class SmartMidpointService {
                 return odysseyTransitService.getStationInfo(odsayStationId)
                     .flatMap(stationInfoResponse -> {
                         Set<String> uniqueLanes = stationInfoResponse.collectUniqueLaneNames();
-                        int laneCount = uniqueLanes.size();
-                        boolean hasAirportLine = uniqueLanes.stream().anyMatch(l -> l.contains("공항철도"));
-                        if (laneCount >= 2 || hasAirportLine) {
-                            RecommendedStation recommended = new RecommendedStation(googleStationName, coords.getLng(), coords.getLat(), uniqueLanes, laneCount);
-                            return Mono.just(recommended);
-                        } else {
-                            log.debug("Station '{}' (ID: {}) with {} lanes ({}) did not meet criteria.", googleStationName, odsayStationId, laneCount, uniqueLanes);
-                            return Mono.<RecommendedStation>empty(); // 타입 명시
-                        }
+                        // 다음 요청부터는 로컬 인덱스에서 바로 찾도록 등록 (좌표가 없는 응답은 put에서 무시)
+                        subwayStationIndex.put(odsayStationId, closestOdsayStation.getStationName(),
+                            closestOdsayStation.getY(), closestOdsayStation.getX(), uniqueLanes);
+                        return toRecommendedStation(googleStationName, coords, uniqueLanes, odsayStationId);
                     }); // getStationInfo flatMap 종료
             }) // searchStationByName 결과 처리 flatMap 종료
             // .next() 제거됨 (flatMap이 이미 Mono 반환)
@@ -429,6 +513,18 @@ public class SmartMidpointService {
             });
     }
 
+    // 환승 노선 2개 이상 또는 공항철도 경유 역만 추천 대상
+    private Mono<RecommendedStation> toRecommendedStation(String googleStationName, Coordinates coords,
+                                                          Set<String> uniqueLanes, int odsayStationId) {
+        int laneCount = uniqueLanes.size();
+        boolean hasAirportLine = uniqueLanes.stream().anyMatch(l -> l.contains("공항철도"));
+        if (laneCount >= 2 || hasAirportLine) {
+            return Mono.just(new RecommendedStation(googleStationName, coords.getLng(), coords.getLat(), uniqueLanes, laneCount, odsayStationId, null, null));
+        }
+        log.debug("Station '{}' (ID: {}) with {} lanes ({}) did not meet criteria.", googleStationName, odsayStationId, laneCount, uniqueLanes);
+        return Mono.<RecommendedStation>empty(); // 타입 명시
+    }
+
     // 위도, 경도 기반 거리 계산 (Haversine formula - 근사치)
     private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
         if (lat2 == 0 || lon2 == 0) return Double.MAX_VALUE; // 좌표 없으면 최대 거리
@@ -448,7 +544,7 @@ public class SmartMidpointService {
 
     // --- generateFinalResponse, generateAIRecommendationODsay, 유틸리티, reset ---
     // (이전 답변 코드 유지)
-    private MidpointResponse generateFinalResponse(List<String> locations,
+    private Mono<MidpointResponse> generateFinalResponse(List<String> locations,
                                                     List<RecommendedStation> recommendedStations,
                                                     String fallbackMessage) {
          String topStationsText = recommendedStations.stream()
@@ -457,23 +553,23 @@ public class SmartMidpointService {
                         s.getStationName(), s.getLaneCount(), s.getUniqueLanes()))
                 .collect(Collectors.joining("\n"));
 
-        String gptMessage;
         if (fallbackMessage != null) {
-            gptMessage = fallbackMessage + "\n" + topStationsText;
+            return Mono.just(buildFinalResponse(recommendedStations, fallbackMessage + "\n" + topStationsText));
         } else if (recommendedStations.isEmpty()) {
-             gptMessage = "추천할 만한 환승역을 찾지 못했습니다. 입력한 위치를 다시 확인해주세요.";
-        }
-         else {
-            gptMessage = generateAIRecommendationODsay(locations, recommendedStations);
+            return Mono.just(buildFinalResponse(recommendedStations, "추천할 만한 환승역을 찾지 못했습니다. 입력한 위치를 다시 확인해주세요."));
         }
+        return generateAIRecommendationODsay(locations, recommendedStations)
+                .map(gptMessage -> buildFinalResponse(recommendedStations, gptMessage));
+    }
 
+    private MidpointResponse buildFinalResponse(List<RecommendedStation> recommendedStations, String gptMessage) {
         // MidpointResponse DTO 구조에 맞게 수정
         // 중간 좌표 계산 다시 필요 시 추가
         Coordinates midpointCoords = null;
         try {
              // 이 시점에는 locations에 대한 좌표가 없을 수 있으므로, 다시 계산 필요 시 주의
              // List<Coordinates> coordsList = locations.stream().map(loc -> geocodingService.getCoordinates(loc)).filter(Objects::nonNull).collect(Collectors.toList());
-             // if (!coordsList.isEmpty()) midpointCoords = calculateMidpointInternal(coordsList);
+             // if (!coordsList.isEmpty()) midpointCoords = midpointEngine.geometricMedian(coordsList);
         } catch (Exception e) {
             log.warn("Could not recalculate midpoint for response DTO: {}", e.getMessage());
         }
@@ -488,17 +584,43 @@ public class SmartMidpointService {
                 .build();
     }
 
-     private String generateAIRecommendationODsay(List<String> locations,
-                                                  List<RecommendedStation> candidates) {
+    /**
+     * GPT 추천 문구 (같은 위치 조합 + 상위 후보 역이면 캐시된 문구 재사용)
+     * 캐시에 없으면 GPT 호출을 별도 스레드에서 수행하므로 호출 측(이벤트 루프)을 막지 않으며,
+     * 같은 키로 동시에 들어온 요청은 진행 중인 호출 하나를 함께 기다린다.
+     */
+     private Mono<String> generateAIRecommendationODsay(List<String> locations,
+                                                        List<RecommendedStation> candidates) {
         if (candidates.isEmpty()) {
-            return "추천할 만한 환승역을 찾지 못했습니다.";
+            return Mono.just("추천할 만한 환승역을 찾지 못했습니다.");
         }
 
+        String cacheKey = recommendationCacheKey(locations, candidates);
+        // 같은 키를 기다리는 요청이 Future를 공유하므로 한 요청이 취소(연결 끊김)돼도 Future는 취소하지 않음
+        return Mono.fromFuture(() -> recommendationCache.get(cacheKey, () ->
+                        Mono.fromCallable(() -> callRecommendationModel(locations, candidates))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .toFuture()), true)
+                .onErrorResume(e -> {
+                    log.error("Error generating AI recommendation using ODsay results: {}", e.getMessage(), e);
+                    RecommendedStation topStation = candidates.get(0);
+                    return Mono.just(String.format("AI 추천 생성에 실패했습니다.\n환승이 가장 편리한 역은 '%s'(%d개 노선: %s) 입니다.",
+                            topStation.getStationName(), topStation.getLaneCount(), topStation.getUniqueLanes()));
+                });
+    }
+
+    // GPT 호출 (실패 시 예외 - 실패 결과는 캐시하지 않음)
+    private String callRecommendationModel(List<String> locations, List<RecommendedStation> candidates) {
         StringBuilder candidatesText = new StringBuilder();
-        for (int i = 0; i < Math.min(candidates.size(), 3); i++) {
+        for (int i = 0; i < Math.min(candidates.size(), RECOMMENDATION_CANDIDATES); i++) {
             RecommendedStation station = candidates.get(i);
-            candidatesText.append(String.format("%d. 역 이름: %s, 지나는 노선: %s (%d개)\n",
+            candidatesText.append(String.format("%d. 역 이름: %s, 지나는 노선: %s (%d개)",
                     i + 1, station.getStationName(), station.getUniqueLanes(), station.getLaneCount()));
+            if (station.getMaxTravelMinutes() != null) {
+                candidatesText.append(String.format(", 참석자 이동 시간: 최대 %d분 / 평균 %d분",
+                        station.getMaxTravelMinutes(), station.getAverageTravelMinutes()));
+            }
+            candidatesText.append("\n");
         }
 //당신은 "환승역 추천 요약 AI"입니다. **매우 간결하게** 답변해야 합니다.
 //
@@ -517,51 +639,61 @@ public class SmartMidpointService {
 //                4. 최종 답변 형식 예시:
 //                   "가장 추천하는 역은 **OO역**입니다. 총 N개 노선(A호선, B호선, C선) 환승이 가능하여 편리합니다."
 //                   (만약 2곳 추천 시: "추천 역은 OO역과 XX역입니다. OO역은 N개 노선(...), XX역은 M개 노선(...) 환승이 가능합니다.")
-        try {
-            String systemPrompt = String.format("""
-                당신은 "환승역 추천 요약 AI"입니다. **매우 간결하게** 답변해야 합니다.
-
-                [입력 정보]
-                - 참석자 출발 위치: %s
-                - 추천 지하철역 후보 목록 (환승 많은 순):
-                %s
-
-                [지시 사항]
-                1. 위 '추천 지하철역 후보 목록'에서 **가장 환승이 편리한 역 1곳** 을 선정하세요.
-                2. 선정된 각 역에 대해 다음 정보만 **간단히** 포함하여 **한두 문장**으로 추천 이유를 요약하세요:
-                   - 역 이름
-                   - 총 환승 가능 노선 수
-                   - 주요 노선 이름 목록 (괄호 안에 쉼표로 구분)
-                3. **절대로** 경로를 설명하거나 길게 부연 설명하지 마세요.
-                4. 최종 답변 형식 예시:
-                   "가장 추천하는 역은 "OO역" 입니다. 총 N개 노선(A호선, B호선, C선) 환승이 가능하여 편리합니다."
-                """,
-                    String.join(", ", locations),
-                    candidatesText.toString()
-            );
-
-            // ⭐ 직접 HTTP 호출로 변경
-            String aiResponse = gpt5ApiService.callGPT5(
-                    gpt5MiniModel,
-                    systemPrompt,
-                    gpt5MiniMaxTokens,
-                    gpt5MiniTemperature
-            );
-
-            if (aiResponse != null) {
-                log.info("GPT5 recommendation generated successfully based on ODsay station list.");
-                log.info(aiResponse);
-                return aiResponse;
-            } else {
-                throw new RuntimeException("GPT-5 API returned null");
-            }
+        String systemPrompt = String.format("""
+            당신은 "환승역 추천 요약 AI"입니다. **매우 간결하게** 답변해야 합니다.
+
+            [입력 정보]
+            - 참석자 출발 위치: %s
+            - 추천 지하철역 후보 목록 (참석자 이동 시간이 짧은 순):
+            %s
+
+            [지시 사항]
+            1. 위 '추천 지하철역 후보 목록'에서 **모두가 오가기 가장 편한 역 1곳** 을 선정하세요. (이동 시간이 있으면 목록 순서를 우선)
+            2. 선정된 각 역에 대해 다음 정보만 **간단히** 포함하여 **한두 문장**으로 추천 이유를 요약하세요:
+               - 역 이름
+               - 참석자 최대/평균 이동 시간 (목록에 있는 경우)
+               - 총 환승 가능 노선 수
+               - 주요 노선 이름 목록 (괄호 안에 쉼표로 구분)
+            3. **절대로** 경로를 설명하거나 길게 부연 설명하지 마세요.
+            4. 최종 답변 형식 예시:
+               "가장 추천하는 역은 "OO역" 입니다. 모두 최대 N분(평균 M분) 안에 도착할 수 있고, 총 K개 노선(A호선, B호선, C선) 환승이 가능합니다."
+            """,
+                String.join(", ", locations),
+                candidatesText.toString()
+        );
 
-        } catch (Exception e) {
-            log.error("Error generating AI recommendation using ODsay results: {}", e.getMessage(), e);
-            RecommendedStation topStation = candidates.get(0);
-            return String.format("AI 추천 생성에 실패했습니다.\n환승이 가장 편리한 역은 '%s'(%d개 노선: %s) 입니다.",
-                    topStation.getStationName(), topStation.getLaneCount(), topStation.getUniqueLanes());
+        // ⭐ 직접 HTTP 호출로 변경
+        String aiResponse = gpt5ApiService.callGPT5(
+                gpt5MiniModel,
+                systemPrompt,
+                gpt5MiniMaxTokens,
+                gpt5MiniTemperature
+        );
+
+        if (aiResponse == null) {
+            throw new IllegalStateException("GPT-5 API returned null");
         }
+        log.info("GPT5 recommendation generated successfully based on ODsay station list.");
+        log.info(aiResponse);
+        return aiResponse;
+    }
+
+    /**
+     * 추천 문구 캐시 키: 정규화한 출발 위치(순서 무관) + 상위 후보 역 ID(순서 유지)
+     * "강남역, 홍대입구" 와 "홍대입구 , 강남역"은 같은 키가 된다.
+     */
+    private String recommendationCacheKey(List<String> locations, List<RecommendedStation> candidates) {
+        String locationKey = locations.stream()
+                .map(geocodingCache::normalize)
+                .sorted()
+                .collect(Collectors.joining("|"));
+        String stationKey = candidates.stream()
+                .limit(RECOMMENDATION_CANDIDATES)
+                .map(s -> s.getStationId() != null
+                        ? String.valueOf(s.getStationId())
+                        : SubwayStationIndex.normalizeName(s.getStationName()))
+                .collect(Collectors.joining(","));
+        return locationKey + "#" + stationKey;
     }
 
      private List<String> extractLocationsFromMessage(String message) {
@@ -591,18 +723,6 @@ public class SmartMidpointService {
         }
     }
 
-     private Coordinates calculateMidpointInternal(List<Coordinates> coordinatesList) {
-        if (coordinatesList == null || coordinatesList.isEmpty()) {
-            throw new IllegalArgumentException("좌표 목록이 비어있습니다.");
-        }
-        double totalLat = 0.0, totalLng = 0.0;
-        for (Coordinates coords : coordinatesList) {
-            totalLat += coords.getLat();
-            totalLng += coords.getLng();
-        }
-        return new Coordinates(totalLat / coordinatesList.size(), totalLng / coordinatesList.size());
-     }
-
     public MidpointResponse resetAndStartOver(Long userId) {
         userSessions.remove(userId);
         return handleInitialRequest(userId, new MidpointSession());
@@ -0,0 +1,353 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 지하철역 로컬 인덱스 (역 ID, 이름, 좌표, 노선 목록)
+ * 중간 지점 추천 시 후보 역마다 ODsay를 두 번씩 호출하지 않도록 역 정보를 메모리에 보관하고,
+ * 격자(grid) 공간 인덱스로 좌표 주변 역을 바로 찾는다.
+ * 시작 시 스냅샷 파일(없으면 classpath 초기 데이터)에서 불러오고, ODsay로 새로 확인한 역은 추가되며,
+ * 오래된 항목은 주기적으로 노선 정보를 갱신한 뒤 스냅샷으로 저장한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubwayStationIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x49474F53; // "IGOS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final String CLASSPATH_SEED = "data/subway-stations.idx";
+
+    // 격자 한 칸 크기 (위도/경도 0.005도, 약 500m)
+    private static final double CELL_DEGREES = 0.005;
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private final OdysseyTransitService odysseyTransitService;
+
+    @Value("${igo.station-index.snapshot-path:./data/subway-stations.idx}")
+    private String snapshotPath;
+
+    @Value("${igo.station-index.match-radius-meters:700}")
+    private double matchRadiusMeters;
+
+    @Value("${igo.station-index.max-age-days:7}")
+    private int maxAgeDays;
+
+    @Value("${igo.station-index.refresh-batch-size:50}")
+    private int refreshBatchSize;
+
+    // 역 ID -> 역 정보 (원본), 조회는 아래 격자 인덱스로 수행
+    private final ConcurrentMap<Integer, Station> stations = new ConcurrentHashMap<>();
+    private final Grid grid = new Grid();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    /**
+     * 역 정보
+     * @param lanes 역을 지나는 고유 노선명 (환승 노선 포함)
+     * @param updatedAt 노선 정보를 마지막으로 확인한 시각 (epoch millis)
+     */
+    public record Station(int stationId, String name, double lat, double lng, Set<String> lanes, long updatedAt) {
+        public int laneCount() {
+            return lanes.size();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        Path path = Paths.get(snapshotPath);
+        try {
+            if (Files.exists(path)) {
+                try (InputStream in = Files.newInputStream(path)) {
+                    loadSnapshot(in);
+                }
+            } else {
+                ClassPathResource seed = new ClassPathResource(CLASSPATH_SEED);
+                if (seed.exists()) {
+                    try (InputStream in = seed.getInputStream()) {
+                        loadSnapshot(in);
+                    }
+                    dirty.set(true);
+                }
+            }
+            log.info("✅ [SubwayStationIndex] 지하철역 인덱스 로드 완료 - {}개 역", stations.size());
+        } catch (IOException e) {
+            log.warn("⚠️ [SubwayStationIndex] 스냅샷 로드 실패, 빈 인덱스로 시작: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 이름이 같은 역 중 좌표에서 가장 가까운 역 (매칭 반경 이내)
+     * @param name Google Places 등에서 받은 역 이름 (예: "강남역")
+     */
+    public Optional<Station> findByName(String name, double lat, double lng) {
+        String key = normalizeName(name);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        return grid.nearest(lat, lng, matchRadiusMeters, key);
+    }
+
+    /**
+     * 좌표 반경 내 역 목록 (가까운 순)
+     */
+    public List<Station> findNearby(double lat, double lng, double radiusMeters) {
+        return grid.nearby(lat, lng, radiusMeters);
+    }
+
+    public int size() {
+        return stations.size();
+    }
+
+    /**
+     * ODsay로 새로 확인한 역 정보를 인덱스에 추가/갱신 (좌표가 없는 역은 무시)
+     */
+    public void put(int stationId, String name, Double lat, Double lng, Set<String> lanes) {
+        if (name == null || lat == null || lng == null || lat == 0 || lng == 0) {
+            return;
+        }
+        index(new Station(stationId, name.trim(), lat, lng, Set.copyOf(lanes), System.currentTimeMillis()));
+        dirty.set(true);
+        log.debug("🚇 [SubwayStationIndex] 역 등록 - {} (ID: {}), 노선 {}개", name, stationId, lanes.size());
+    }
+
+    /**
+     * 오래된 역의 노선 정보를 ODsay에서 다시 조회 (배치 단위, 오래된 순)
+     * 조회는 논블로킹으로 하나씩 이어서 수행하므로 스케줄러 스레드를 점유하지 않으며,
+     * 이전 갱신이 끝나지 않았으면 이번 주기는 건너뛴다.
+     */
+    @Scheduled(fixedDelayString = "${igo.station-index.refresh-interval-ms:3600000}",
+            initialDelayString = "${igo.station-index.refresh-interval-ms:3600000}")
+    public void refreshStale() {
+        long threshold = System.currentTimeMillis() - Duration.ofDays(maxAgeDays).toMillis();
+        List<Station> stale = stations.values().stream()
+                .filter(station -> station.updatedAt() < threshold)
+                .sorted(Comparator.comparingLong(Station::updatedAt))
+                .limit(refreshBatchSize)
+                .toList();
+        if (stale.isEmpty() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        Flux.fromIterable(stale)
+                .concatMap(station -> odysseyTransitService.getStationInfo(station.stationId())
+                        .timeout(Duration.ofSeconds(10))
+                        .map(response -> {
+                            index(new Station(station.stationId(), station.name(), station.lat(), station.lng(),
+                                    Set.copyOf(response.collectUniqueLaneNames()), System.currentTimeMillis()));
+                            dirty.set(true);
+                            return 1;
+                        })
+                        .onErrorResume(e -> {
+                            // 한도 초과/일시 오류는 다음 주기에 다시 시도
+                            log.debug("역 정보 갱신 실패 - ID: {}, {}", station.stationId(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .count()
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(refreshed -> log.info("🔄 [SubwayStationIndex] 역 정보 갱신 - {}/{}개", refreshed, stale.size()),
+                        e -> log.warn("⚠️ [SubwayStationIndex] 역 정보 갱신 실패: {}", e.getMessage()));
+    }
+
+    // 변경이 있을 때만 스냅샷 파일 저장
+    @Scheduled(fixedDelayString = "${igo.station-index.snapshot-interval-ms:300000}")
+    @PreDestroy
+    public void saveSnapshot() {
+        if (!dirty.compareAndSet(true, false)) {
+            return;
+        }
+
+        Path path = Paths.get(snapshotPath).toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), "subway-stations", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                writeSnapshot(out, List.copyOf(stations.values()));
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("💾 [SubwayStationIndex] 스냅샷 저장 - {}개 역, {}", stations.size(), path);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("⚠️ [SubwayStationIndex] 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // "강남역", "강남 역", "신촌(경의중앙선)" -> "강남", "강남", "신촌"
+    static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String normalized = name.replaceAll("\\(.*?\\)", "").replaceAll("\\s+", "");
+        if (normalized.length() > 1 && normalized.endsWith("역")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    // 원본과 격자 인덱스에 함께 반영 (같은 역의 동시 갱신이 격자에 중복으로 남지 않도록 직렬화)
+    private synchronized void index(Station station) {
+        Station previous = stations.put(station.stationId(), station);
+        grid.replace(previous, station);
+    }
+
+    private void loadSnapshot(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("지원하지 않는 스냅샷 형식");
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int stationId = in.readInt();
+            String name = in.readUTF();
+            double lat = in.readDouble();
+            double lng = in.readDouble();
+            long updatedAt = in.readLong();
+            int laneCount = in.readUnsignedByte();
+            Set<String> lanes = new HashSet<>(laneCount);
+            for (int j = 0; j < laneCount; j++) {
+                lanes.add(in.readUTF());
+            }
+            index(new Station(stationId, name, lat, lng, Set.copyOf(lanes), updatedAt));
+        }
+    }
+
+    private void writeSnapshot(DataOutputStream out, List<Station> snapshot) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(snapshot.size());
+        for (Station station : snapshot) {
+            out.writeInt(station.stationId());
+            out.writeUTF(station.name());
+            out.writeDouble(station.lat());
+            out.writeDouble(station.lng());
+            out.writeLong(station.updatedAt());
+            List<String> lanes = station.lanes().stream().limit(255).collect(Collectors.toList());
+            out.writeByte(lanes.size());
+            for (String lane : lanes) {
+                out.writeUTF(lane);
+            }
+        }
+    }
+
+    /**
+     * 격자 인덱스 (셀별 불변 목록, 역이 바뀌면 해당 셀의 목록만 새로 만들어 교체)
+     * 정규화된 역 이름을 함께 보관해 조회 시 문자열 처리를 하지 않는다.
+     */
+    private static final class Grid {
+
+        private record Entry(Station station, String nameKey) {
+        }
+
+        private record Hit(Station station, double distance) {
+        }
+
+        private final ConcurrentMap<Long, List<Entry>> cells = new ConcurrentHashMap<>();
+
+        // 이전 역 정보(없으면 null)를 새 정보로 교체, 같은 셀이면 한 번에 교체된다
+        void replace(Station previous, Station station) {
+            long key = cellKey(station);
+            if (previous != null && cellKey(previous) != key) {
+                cells.computeIfPresent(cellKey(previous), (k, bucket) -> {
+                    List<Entry> remaining = bucket.stream()
+                            .filter(entry -> entry.station().stationId() != previous.stationId())
+                            .toList();
+                    return remaining.isEmpty() ? null : remaining;
+                });
+            }
+            cells.compute(key, (k, bucket) -> {
+                List<Entry> updated = new ArrayList<>(bucket == null ? 1 : bucket.size() + 1);
+                if (bucket != null) {
+                    for (Entry entry : bucket) {
+                        if (entry.station().stationId() != station.stationId()) {
+                            updated.add(entry);
+                        }
+                    }
+                }
+                updated.add(new Entry(station, normalizeName(station.name())));
+                return List.copyOf(updated);
+            });
+        }
+
+        List<Station> nearby(double lat, double lng, double radiusMeters) {
+            return search(lat, lng, radiusMeters, null).stream()
+                    .sorted(Comparator.comparingDouble(Hit::distance))
+                    .map(Hit::station)
+                    .toList();
+        }
+
+        Optional<Station> nearest(double lat, double lng, double radiusMeters, String nameKey) {
+            return search(lat, lng, radiusMeters, nameKey).stream()
+                    .min(Comparator.comparingDouble(Hit::distance))
+                    .map(Hit::station);
+        }
+
+        // nameKey가 null이면 이름 조건 없이 반경 내 전체
+        private List<Hit> search(double lat, double lng, double radiusMeters, String nameKey) {
+            if (cells.isEmpty()) {
+                return List.of();
+            }
+            double metersPerDegreeLng = METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(lat));
+            int latRange = (int) Math.ceil(radiusMeters / METERS_PER_DEGREE_LAT / CELL_DEGREES);
+            int lngRange = (int) Math.ceil(radiusMeters / metersPerDegreeLng / CELL_DEGREES);
+            long centerLat = cell(lat);
+            long centerLng = cell(lng);
+
+            List<Hit> hits = new ArrayList<>();
+            for (long dLat = -latRange; dLat <= latRange; dLat++) {
+                for (long dLng = -lngRange; dLng <= lngRange; dLng++) {
+                    List<Entry> bucket = cells.get(cellKey(centerLat + dLat, centerLng + dLng));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (Entry entry : bucket) {
+                        if (nameKey != null && !nameKey.equals(entry.nameKey())) {
+                            continue;
+                        }
+                        // 반경이 수 km 이내이므로 등장방형 근사로 충분
+                        double dy = (entry.station().lat() - lat) * METERS_PER_DEGREE_LAT;
+                        double dx = (entry.station().lng() - lng) * metersPerDegreeLng;
+                        double distance = Math.sqrt(dx * dx + dy * dy);
+                        if (distance <= radiusMeters) {
+                            hits.add(new Hit(entry.station(), distance));
+                        }
+                    }
+                }
+            }
+            return hits;
+        }
+
+        private static long cellKey(Station station) {
+            return cellKey(cell(station.lat()), cell(station.lng()));
+        }
+
+        private static long cell(double degrees) {
+            return (long) Math.floor(degrees / CELL_DEGREES);
+        }
+
+        private static long cellKey(long latCell, long lngCell) {
+            return (latCell << 32) ^ (lngCell & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.example.demo.service;
 
 import com.example.demo.dto.transport.TransportTimeRequest;
 import com.example.demo.dto.transport.TransportTimeResponse;
+import com.example.demo.entity.api.ApiDailyUsage;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -16,16 +19,17 @@ import org.springframework.web.client.RestTemplate;
 import java.net.URLEncoder;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransportService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate tmapRestTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Value("${tmap.appkey}")
@@ -34,177 +38,163 @@ public class TransportService {
     @Value("${tmap.transit.appkey}")
     private String tmapTransitAppKey;
 
-    // 대중교통 API 일일 호출 수 제한을 추적하기 위한 카운터
-    private static int transitApiCallCounter = 0;
-    private static final int TRANSIT_API_DAILY_LIMIT = 10;
+    private final ThreadPoolTaskExecutor transportApiExecutor;
+    private final RouteCache routeCache;
+    // 외부 API 호출 한도 (TMAP 대중교통 일일 한도 포함)
+    private final ApiQuotaManager apiQuotaManager;
+    private final OdysseyTransitService odysseyTransitService;
 
-    // 마지막 카운터 리셋 시간
-    private static long lastCounterResetTime = System.currentTimeMillis();
+    @Value("${igo.transport.timeout-seconds:15}")
+    private long transportTimeoutSeconds;
 
-    // 캐시 구현 - 동일한 출발지/도착지에 대한 결과를 저장
-    private static final ConcurrentMap<String, CachedTransportResult> transportTimeCache = new ConcurrentHashMap<>();
+    // TMAP 한도 소진 시 도보 시간 추정용 보행 속도 (직선 거리에 우회 계수 적용)
+    @Value("${igo.transport.walking-estimate-speed-kmh:4.0}")
+    private double walkingEstimateSpeedKmh;
 
-    // 캐시 결과의 유효 시간 (1시간)
-    private static final long CACHE_VALIDITY_PERIOD = 60 * 60 * 1000;
+    private static final double WALKING_DETOUR_FACTOR = 1.3;
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
 
-    // 동일한 캐시 키에 대한 모든 API 호출을 동기화하기 위한 락 맵
-    private static final ConcurrentMap<String, ReentrantLock> apiCallLocks = new ConcurrentHashMap<>();
+    // 동일한 출발지/도착지(격자 칸 + 출발 시간대)에 대한 결과 캐시 (동시 요청은 진행 중인 계산 하나를 공유)
+    private SingleFlightCache<RouteCache.RouteKey, CachedTransportResult> transportTimeCache;
+    private SingleFlightCache<RouteCache.RouteKey, Integer> transitTimeCache;
+
+    @PostConstruct
+    public void initCache() {
+        transportTimeCache = routeCache.create("tmap");
+        transitTimeCache = routeCache.create("tmap-transit");
+    }
 
     /**
      * 모든 교통수단의 이동시간을 계산
      */
     public TransportTimeResponse calculateAllTransportTimes(TransportTimeRequest request) {
+        try {
+            return calculateAllTransportTimesAsync(request).get(transportTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("⏱️ 교통 시간 계산 시간 초과 ({}초) - 계산은 계속 진행되어 캐시에 저장됩니다.", transportTimeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("교통 시간 계산 실패: {}", e.getMessage(), e);
+        }
+        return TransportTimeResponse.builder().build();
+    }
+
+    /**
+     * 모든 교통수단의 이동시간을 비동기 계산
+     * 도보/자차/대중교통 API를 병렬로 호출하고, 같은 구간의 동시 요청은 한 번만 호출한다.
+     * 모든 교통수단 조회에 실패하면 예외로 완료되며 결과는 캐시하지 않는다.
+     */
+    public CompletableFuture<TransportTimeResponse> calculateAllTransportTimesAsync(TransportTimeRequest request) {
         // 입력값 검증
         if (request.getStartX() == null || request.getStartY() == null ||
                 request.getEndX() == null || request.getEndY() == null) {
             log.error("좌표값 누락: 모든 좌표(startX, startY, endX, endY)가 필요합니다");
-            return TransportTimeResponse.builder().build();
+            return CompletableFuture.completedFuture(TransportTimeResponse.builder().build());
         }
 
         // 비대면 일정인 경우 API 호출을 하지 않고 null 반환 (프론트엔드에서 처리함)
         if (request.isRemoteEvent()) {
             log.info("비대면 일정은 이동시간 계산이 필요 없습니다.");
-            return TransportTimeResponse.builder().build();
+            return CompletableFuture.completedFuture(TransportTimeResponse.builder().build());
         }
 
-        // 캐시 키 생성
-        String cacheKey = String.format("%f_%f_%f_%f",
-                request.getStartX(), request.getStartY(),
-                request.getEndX(), request.getEndY());
-
-        // 🔒 캐시 키별로 락 획득하여 중복 호출 완전 방지
-        ReentrantLock lock = apiCallLocks.computeIfAbsent(cacheKey, k -> new ReentrantLock());
-
-        try {
-            lock.lock();
-            log.info("🔒 전체 API 호출 락 획득: {} (스레드: {})", cacheKey, Thread.currentThread().getName());
-
-            // 락 획득 후 캐시 재확인 (다른 스레드가 이미 계산했을 수 있음)
-            CachedTransportResult cachedResult = transportTimeCache.get(cacheKey);
-            if (cachedResult != null && !isCacheExpired(cachedResult)) {
-                log.info("🎯 락 획득 후 캐시에서 모든 교통 시간 정보 반환: {}", cacheKey);
-                return TransportTimeResponse.builder()
-                        .walking(cachedResult.getWalking())
-                        .driving(cachedResult.getDriving())
-                        .transit(cachedResult.getTransit())
-                        .build();
-            }
+        RouteCache.RouteKey cacheKey = createCacheKey(request);
 
+        return transportTimeCache.get(cacheKey, () -> {
             log.info("🚀 실제 API 호출 시작 - 캐시키: {} (스레드: {})", cacheKey, Thread.currentThread().getName());
 
-            // 교통수단별 소요시간 계산 (락 보호 하에서)
-            Integer walkingTime = calculateWalkingTimeInternal(request);
-            Integer drivingTime = calculateDrivingTimeInternal(request);
-            Integer transitTime = calculateTransitTimeInternal(request);
-
-            // 결과 캐싱
-            CachedTransportResult result = new CachedTransportResult(
-                    walkingTime, drivingTime, transitTime, System.currentTimeMillis()
-            );
-            transportTimeCache.put(cacheKey, result);
-
-            log.info("✅ 모든 API 호출 완료 및 캐시 저장: {} (도보:{}분, 자차:{}분, 대중교통:{}분)",
-                    cacheKey, walkingTime, drivingTime, transitTime);
-
-            return TransportTimeResponse.builder()
-                    .walking(walkingTime)
-                    .driving(drivingTime)
-                    .transit(transitTime)
-                    .build();
-
-        } finally {
-            lock.unlock();
-            log.info("🔓 전체 API 호출 락 해제: {} (스레드: {})", cacheKey, Thread.currentThread().getName());
-
-            // 락 맵에서 제거 (메모리 누수 방지)
-            if (!lock.hasQueuedThreads()) {
-                apiCallLocks.remove(cacheKey, lock);
-            }
-        }
+            // 교통수단별 소요시간 병렬 계산
+            CompletableFuture<Integer> walking = CompletableFuture.supplyAsync(
+                    () -> calculateWalkingTimeInternal(request), transportApiExecutor);
+            CompletableFuture<Integer> driving = CompletableFuture.supplyAsync(
+                    () -> calculateDrivingTimeInternal(request), transportApiExecutor);
+            CompletableFuture<Integer> transit = CompletableFuture.supplyAsync(
+                    () -> calculateTransitTimeInternal(request), transportApiExecutor);
+
+            // 모든 교통수단 조회에 실패(호출 한도 초과, API 오류)하면 실패로 완료해 캐시에 남기지 않음
+            return CompletableFuture.allOf(walking, driving, transit).thenCompose(ignored -> {
+                if (walking.join() == null && driving.join() == null && transit.join() == null) {
+                    log.warn("⚠️ 모든 교통수단 시간 조회 실패 - 캐시하지 않음: {}", cacheKey);
+                    return CompletableFuture.<CachedTransportResult>failedFuture(
+                            new IllegalStateException("교통 시간 조회 실패"));
+                }
+                CachedTransportResult result = new CachedTransportResult(
+                        walking.join(), driving.join(), transit.join(), System.currentTimeMillis());
+                log.info("✅ 모든 API 호출 완료 및 캐시 저장: {} (도보:{}분, 자차:{}분, 대중교통:{}분)",
+                        cacheKey, result.getWalking(), result.getDriving(), result.getTransit());
+                return CompletableFuture.completedFuture(result);
+            });
+        }).thenApply(result -> TransportTimeResponse.builder()
+                .walking(result.getWalking())
+                .driving(result.getDriving())
+                .transit(result.getTransit())
+                .build());
     }
 
     /**
      * 대중교통 이동시간만 별도 계산
      */
     public Integer calculateTransitTimeOnly(TransportTimeRequest request) {
-        // 캐시 키 생성
-        String cacheKey = String.format("%f_%f_%f_%f",
-                request.getStartX(), request.getStartY(),
-                request.getEndX(), request.getEndY());
+        if (request.getStartX() == null || request.getStartY() == null ||
+                request.getEndX() == null || request.getEndY() == null) {
+            log.error("좌표값 누락: 모든 좌표(startX, startY, endX, endY)가 필요합니다");
+            return null;
+        }
+
+        RouteCache.RouteKey cacheKey = createCacheKey(request);
 
-        // 캐시된 결과 확인
-        CachedTransportResult cachedResult = transportTimeCache.get(cacheKey);
-        if (cachedResult != null && !isCacheExpired(cachedResult) && cachedResult.getTransit() != null) {
+        // 전체 교통 시간 캐시에 대중교통 결과가 있으면 재사용
+        CachedTransportResult cachedResult = transportTimeCache.getIfPresent(cacheKey);
+        if (cachedResult != null && cachedResult.getTransit() != null) {
             log.info("캐시에서 대중교통 시간 정보 반환: {}", cacheKey);
             return cachedResult.getTransit();
         }
 
-        // 일일 API 호출 제한 확인 및 리셋
-        checkAndResetDailyCounter();
-
-        // 이미 일일 한도에 도달했다면
-        if (transitApiCallCounter >= TRANSIT_API_DAILY_LIMIT) {
-            log.warn("대중교통 API 일일 호출 제한에 도달했습니다 ({}회)", TRANSIT_API_DAILY_LIMIT);
-            return null;
+        Integer cachedTransit = transitTimeCache.getIfPresent(cacheKey.withMode("tmap-transit"));
+        if (cachedTransit != null) {
+            log.info("캐시에서 대중교통 시간 정보 반환: {}", cacheKey);
+            return cachedTransit;
         }
 
-        // 🔒 대중교통만 계산할 때도 락 사용
-        ReentrantLock lock = apiCallLocks.computeIfAbsent(cacheKey, k -> new ReentrantLock());
-
         try {
-            lock.lock();
-            log.info("🔒 대중교통 API 호출 락 획득: {}", cacheKey);
-
-            // 락 획득 후 캐시 재확인
-            cachedResult = transportTimeCache.get(cacheKey);
-            if (cachedResult != null && !isCacheExpired(cachedResult) && cachedResult.getTransit() != null) {
-                log.info("🎯 락 획득 후 캐시에서 대중교통 시간 정보 반환: {}", cacheKey);
-                return cachedResult.getTransit();
-            }
-
-            Integer transitTime = calculateTransitTimeInternal(request);
-
-            // 캐시 업데이트 (기존 값 유지하면서 transit만 업데이트)
-            transportTimeCache.compute(cacheKey, (k, existing) -> {
-                if (existing == null) {
-                    return new CachedTransportResult(null, null, transitTime, System.currentTimeMillis());
-                } else {
-                    return new CachedTransportResult(
-                            existing.getWalking(), existing.getDriving(), transitTime, System.currentTimeMillis()
-                    );
-                }
-            });
-
-            return transitTime;
-
-        } finally {
-            lock.unlock();
-            log.info("🔓 대중교통 API 호출 락 해제: {}", cacheKey);
-
-            if (!lock.hasQueuedThreads()) {
-                apiCallLocks.remove(cacheKey, lock);
-            }
+            return transitTimeCache.get(cacheKey.withMode("tmap-transit"), () -> CompletableFuture.supplyAsync(
+                            () -> calculateTransitTimeInternal(request), transportApiExecutor))
+                    .get(transportTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("⏱️ 대중교통 시간 계산 시간 초과 ({}초)", transportTimeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("대중교통 이동시간 계산 실패: {}", e.getMessage(), e);
         }
+        return null;
+    }
+
+    // 캐시 키 생성 (출발/도착 격자 칸 + 현재 출발 시간대)
+    private RouteCache.RouteKey createCacheKey(TransportTimeRequest request) {
+        return routeCache.key("tmap", request.getStartX(), request.getStartY(),
+                request.getEndX(), request.getEndY());
     }
 
     /**
      * 대중교통 API 상태 확인
      */
     public Map<String, Object> getTransitApiStatus() {
-        checkAndResetDailyCounter();
-
-        Map<String, Object> status = new HashMap<>();
-        status.put("available", transitApiCallCounter < TRANSIT_API_DAILY_LIMIT);
-        status.put("remainingCalls", TRANSIT_API_DAILY_LIMIT - transitApiCallCounter);
-        status.put("totalLimit", TRANSIT_API_DAILY_LIMIT);
-
-        return status;
+        return apiQuotaManager.getStatus(ApiDailyUsage.Provider.TMAP_TRANSIT);
     }
 
     /**
-     * 도보 이동시간 계산 (내부용 - 락 보호 하에서 호출)
+     * 도보 이동시간 계산 (내부용 - 교통 API 스레드 풀에서 병렬 호출)
+     * TMAP 한도 소진 시 직선 거리로 추정
      */
     private Integer calculateWalkingTimeInternal(TransportTimeRequest request) {
+        return apiQuotaManager.callOrDegrade(ApiDailyUsage.Provider.TMAP,
+                () -> requestWalkingTime(request),
+                () -> estimateWalkingTime(request));
+    }
+
+    private Integer requestWalkingTime(TransportTimeRequest request) {
         try {
             String url = "https://apis.openapi.sk.com/tmap/routes/pedestrian?version=1&format=json";
 
@@ -234,7 +224,7 @@ public class TransportService {
             HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(formData, headers);
 
             long startTime = System.currentTimeMillis();
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<String> response = tmapRestTemplate.exchange(
                     url, HttpMethod.POST, entity, String.class);
             long endTime = System.currentTimeMillis();
             log.info("🚶 도보 API 호출 완료: {}ms 소요", (endTime - startTime));
@@ -266,10 +256,20 @@ public class TransportService {
     }
 
     /**
-     * 자차 이동시간 계산 (내부용 - 락 보호 하에서 호출)
+     * 자차 이동시간 계산 (내부용 - 교통 API 스레드 풀에서 병렬 호출)
      * 외부에서도 호출 가능하도록 public으로 변경 (교통 지연 체크용)
      */
     public Integer calculateDrivingTimeInternal(TransportTimeRequest request) {
+        // 자차 시간은 교통 지연 판단에 쓰이므로 한도 소진 시 추정하지 않고 생략
+        return apiQuotaManager.callOrDegrade(ApiDailyUsage.Provider.TMAP,
+                () -> requestDrivingTime(request),
+                () -> {
+                    log.warn("🚗 TMAP 호출 한도 초과 - 자차 시간 계산 생략");
+                    return null;
+                });
+    }
+
+    private Integer requestDrivingTime(TransportTimeRequest request) {
         try {
             String url = "https://apis.openapi.sk.com/tmap/routes?version=1&format=json";
 
@@ -289,7 +289,7 @@ public class TransportService {
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
 
             log.info("🚗 자차 API 호출 시작 (스레드: {})", Thread.currentThread().getName());
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<String> response = tmapRestTemplate.exchange(
                     url, HttpMethod.POST, entity, String.class);
 
             if (response.getStatusCode() == HttpStatus.OK) {
@@ -307,12 +307,23 @@ public class TransportService {
     }
 
     /**
-     * 대중교통 이동시간 계산 (내부용 - 락 보호 하에서 호출)
+     * 대중교통 이동시간 계산 (내부용 - 교통 API 스레드 풀에서 병렬 호출)
      */
     private Integer calculateTransitTimeInternal(TransportTimeRequest request) {
         //log.info("🚌 대중교통 API 호출 - 임시로 null 반환 (API 제한으로 인해 주석 처리됨)");
         log.info("🚌 대중교통 API 호출");
 
+        // TMAP 대중교통 한도 소진 시 오디세이(ODsay) 조회 결과(구간 캐시 포함)로 대체
+        return apiQuotaManager.callOrDegrade(ApiDailyUsage.Provider.TMAP_TRANSIT,
+                () -> requestTransitTime(request),
+                () -> {
+                    log.warn("🚌 TMAP 대중교통 호출 한도 초과 - 오디세이 조회로 대체");
+                    return odysseyTransitService.getTransitTime(
+                            request.getStartX(), request.getStartY(), request.getEndX(), request.getEndY());
+                });
+    }
+
+    private Integer requestTransitTime(TransportTimeRequest request) {
         /* API 호출 제한으로 인해 임시 주석 처리*/
         try {
             String url = "https://apis.openapi.sk.com/transit/routes/sub";
@@ -332,12 +343,9 @@ public class TransportService {
 
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
 
-            // API 호출 카운터 증가
-            transitApiCallCounter++;
-            log.info("🚌 대중교통 API 실제 호출 시작 ({}번째/일일 제한 {}회) - 스레드: {}",
-                    transitApiCallCounter, TRANSIT_API_DAILY_LIMIT, Thread.currentThread().getName());
+            log.info("🚌 대중교통 API 실제 호출 시작 - 스레드: {}", Thread.currentThread().getName());
 
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<String> response = tmapRestTemplate.exchange(
                     url, HttpMethod.POST, entity, String.class);
 
             if (response.getStatusCode() == HttpStatus.OK) {
@@ -372,23 +380,21 @@ public class TransportService {
         return null; // 임시로 null 반환
     }
 
-    /**
-     * 일일 API 호출 카운터 확인 및 필요시 리셋
-     */
-    private synchronized void checkAndResetDailyCounter() {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastCounterResetTime > 86_400_000) {
-            transitApiCallCounter = 0;
-            lastCounterResetTime = currentTime;
-            log.info("대중교통 API 일일 호출 카운터 리셋됨");
-        }
+    // 직선 거리 x 우회 계수 / 보행 속도 (분, 올림)
+    private Integer estimateWalkingTime(TransportTimeRequest request) {
+        double distanceMeters = distanceMeters(request.getStartY(), request.getStartX(),
+                request.getEndY(), request.getEndX()) * WALKING_DETOUR_FACTOR;
+        int minutes = (int) Math.ceil(distanceMeters / (walkingEstimateSpeedKmh * 1000 / 60));
+        log.warn("🚶 TMAP 호출 한도 초과 - 도보 시간을 직선 거리로 추정: {}분", minutes);
+        return minutes;
     }
 
-    /**
-     * 캐시된 결과가 유효한지 확인
-     */
-    private boolean isCacheExpired(CachedTransportResult result) {
-        return (System.currentTimeMillis() - result.getTimestamp()) > CACHE_VALIDITY_PERIOD;
+    private double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
     }
 
     /**
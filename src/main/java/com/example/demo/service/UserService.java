@@ -2,6 +2,7 @@ package com.example.demo.service;
 
 import com.example.demo.entity.user.User;
 import com.example.demo.entity.user.UserStatus;
+import com.example.demo.jwt.AuthenticatedUserCache;
 import com.example.demo.repository.*;
 import com.example.demo.dto.notification.NotificationSettingsDto;
 import jakarta.persistence.EntityNotFoundException;
@@ -20,7 +21,9 @@ public class UserService {
     private final RoutineRepository routineRepository;
     private final RoutineItemRepository routineItemRepository;
     private final NotificationRepository notificationRepository;
+    private final NotificationTimelineRepository notificationTimelineRepository;
     private final OAuthRevokeService oAuthRevokeService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Transactional(readOnly = true)
     public String getUserNickname(Long userId) {
@@ -54,6 +57,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        authenticatedUserCache.invalidate(userId);
     }
 
     @Transactional
@@ -76,7 +80,8 @@ public class UserService {
         // 3. 사용자의 루틴 삭제
         routineRepository.deleteAllByUserId(userId);
 
-        // 4. 사용자의 일정 삭제
+        // 4. 사용자의 알림 타임라인 및 일정 삭제
+        notificationTimelineRepository.deleteAllByUserId(userId);
         scheduleRepository.deleteAllByUserId(userId);
 
         // 5. 사용자 정보 마스킹 (소프트 삭제)
@@ -112,6 +117,7 @@ public class UserService {
         user.setNotifyAiFeature(false);
 
         userRepository.save(user);
+        authenticatedUserCache.invalidate(userId);
     }
 
     public User updateNotificationSettings(Long userId, NotificationSettingsDto settingsDto) {
@@ -140,7 +146,9 @@ public class UserService {
         if (settingsDto.getNotifyAiFeature() != null) {
             user.setNotifyAiFeature(settingsDto.getNotifyAiFeature());
         }
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        authenticatedUserCache.invalidate(userId);
+        return savedUser;
     }
 
     @Transactional(readOnly = true)
@@ -164,6 +172,7 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다. ID: " + userId));
         user.setFcmToken(fcmToken);
         userRepository.save(user);
+        authenticatedUserCache.invalidate(userId);
     }
     
     public void saveUserAppFcmToken(Long userId, String appFcmToken) {
@@ -171,6 +180,7 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다. ID: " + userId));
         user.setAppFcmToken(appFcmToken); // '앱' 토큰 저장
         userRepository.save(user);
+        authenticatedUserCache.invalidate(userId);
     }
 
 }
@@ -1,9 +1,8 @@
 package com.example.demo.service;
 
-import com.example.demo.dto.weather.WeatherDetails;
 import com.example.demo.dto.weather.WeatherForecastResponse;
-import com.example.demo.dto.weather.WeatherMain;
 import com.example.demo.dto.weather.WeatherResponse;
+import com.example.demo.entity.api.ApiDailyUsage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,19 +10,48 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class WeatherApiService {
     private final WebClient webClient;
+    private final ApiQuotaManager apiQuotaManager;
 
     @Value("${weather.api.key}")
     private String apiKey;
 
+    // 호출 한도 소진 시 대신 쓸 수 있는 마지막 조회 결과의 최대 경과 시간
+    @Value("${igo.weather.fallback-max-age-minutes:180}")
+    private long fallbackMaxAgeMinutes;
+
+    // 위치별(약 1km 격자) 마지막 조회 결과 - 한도 소진 시 대체용
+    private final ConcurrentMap<String, LastResponse<WeatherResponse>> lastWeather = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LastResponse<WeatherForecastResponse>> lastForecast = new ConcurrentHashMap<>();
+
     // 위도/경도로 현재 날씨 조회
+    // 초당 호출 수를 넘으면 지연 후 호출, 일일 한도 초과 시 같은 위치의 최근 조회 결과로 대체
+    // 최근 결과가 없거나 API 오류면 Mono.error (임의의 기본 날씨로 대체하지 않음)
     public Mono<WeatherResponse> getCurrentWeather(double lat, double lon) {
+        return apiQuotaManager.acquire(ApiDailyUsage.Provider.OPENWEATHER).flatMap(allowed -> {
+            if (!allowed) {
+                WeatherResponse fallback = findRecent(lastWeather, lat, lon);
+                if (fallback != null) {
+                    log.warn("Weather API quota exceeded - using last response for lat: {}, lon: {}", lat, lon);
+                    return Mono.just(fallback);
+                }
+                log.warn("Weather API quota exceeded for lat: {}, lon: {}", lat, lon);
+                return Mono.<WeatherResponse>error(new IllegalStateException("OpenWeather 호출 한도 초과"));
+            }
+            return requestCurrentWeather(lat, lon)
+                    .doOnNext(response -> remember(lastWeather, lat, lon, response));
+        });
+    }
+
+    private Mono<WeatherResponse> requestCurrentWeather(double lat, double lon) {
         return webClient.get()
             .uri(uriBuilder -> uriBuilder
                 .scheme("https")
@@ -38,15 +66,27 @@ public class WeatherApiService {
             .retrieve()
             .bodyToMono(WeatherResponse.class)
             .doOnSuccess(response -> log.info("Weather API success for lat: {}, lon: {}", lat, lon))
-            .doOnError(error -> log.error("Weather API error for lat: {}, lon: {}", lat, lon, error))
-            .onErrorResume(throwable -> {
-                log.error("Weather API fallback triggered", throwable);
-                return Mono.just(createFallbackWeather(lat, lon));
-            });
+            .doOnError(error -> log.error("Weather API error for lat: {}, lon: {}", lat, lon, error));
     }
 
-    // 5일 예보 조회
+    // 5일 예보 조회 (초당 호출 수를 넘으면 지연 후 호출, 일일 한도 초과 시 같은 위치의 최근 예보로 대체)
     public Mono<WeatherForecastResponse> getForecast(double lat, double lon) {
+        return apiQuotaManager.acquire(ApiDailyUsage.Provider.OPENWEATHER).flatMap(allowed -> {
+            if (!allowed) {
+                WeatherForecastResponse fallback = findRecent(lastForecast, lat, lon);
+                if (fallback != null) {
+                    log.warn("Forecast API quota exceeded - using last response for lat: {}, lon: {}", lat, lon);
+                    return Mono.just(fallback);
+                }
+                log.warn("Forecast API quota exceeded for lat: {}, lon: {}", lat, lon);
+                return Mono.<WeatherForecastResponse>error(new IllegalStateException("OpenWeather 호출 한도 초과"));
+            }
+            return requestForecast(lat, lon)
+                    .doOnNext(response -> remember(lastForecast, lat, lon, response));
+        });
+    }
+
+    private Mono<WeatherForecastResponse> requestForecast(double lat, double lon) {
         return webClient.get()
             .uri(uriBuilder -> uriBuilder
                 .scheme("https")
@@ -64,20 +104,28 @@ public class WeatherApiService {
             .doOnError(error -> log.error("Forecast API error for lat: {}, lon: {}", lat, lon, error));
     }
 
-    // API 장애 시 기본 날씨 데이터
-    private WeatherResponse createFallbackWeather(double lat, double lon) {
-        return WeatherResponse.builder()
-            .main(WeatherMain.builder()
-                .temp(20.0)
-                .feels_like(20.0)
-                .humidity(50)
-                .build())
-            .weather(List.of(WeatherDetails.builder()
-                .main("Clear")
-                .description("맑음")
-                .build()))
-            .name("Unknown")
-            .build();
+    private <T> void remember(ConcurrentMap<String, LastResponse<T>> responses, double lat, double lon, T response) {
+        long now = System.currentTimeMillis();
+        // 저장할 때 오래된 결과 정리 (대체에 쓸 수 없는 결과는 보관하지 않음)
+        responses.values().removeIf(last -> isExpired(last, now));
+        responses.put(locationKey(lat, lon), new LastResponse<>(response, now));
+    }
+
+    private <T> T findRecent(ConcurrentMap<String, LastResponse<T>> responses, double lat, double lon) {
+        LastResponse<T> last = responses.get(locationKey(lat, lon));
+        return last == null || isExpired(last, System.currentTimeMillis()) ? null : last.response();
+    }
+
+    private boolean isExpired(LastResponse<?> last, long now) {
+        return now - last.storedAt() > TimeUnit.MINUTES.toMillis(fallbackMaxAgeMinutes);
+    }
+
+    // 소수점 둘째 자리(약 1km)로 묶은 위치 키
+    private String locationKey(double lat, double lon) {
+        return Math.round(lat * 100) + ":" + Math.round(lon * 100);
+    }
+
+    private record LastResponse<T>(T response, long storedAt) {
     }
 
     // 날씨 조건을 문자열로 변환 (현재 날씨용)
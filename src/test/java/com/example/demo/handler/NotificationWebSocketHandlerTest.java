@@ -0,0 +1,99 @@
+package com.example.demo.handler;
+
+import com.example.demo.jwt.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationWebSocketHandlerTest {
+
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationWebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new NotificationWebSocketHandler(jwtTokenProvider, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(handler, "sendTimeLimitMs", 5000);
+        ReflectionTestUtils.setField(handler, "bufferSizeLimitBytes", 524288);
+        ReflectionTestUtils.setField(handler, "overflowStrategy", ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+        handler.initMetrics();
+    }
+
+    @Test
+    void broadcastSerializesOnceAndSendsSameFrameToEverySession() throws Exception {
+        WebSocketSession laptop = connect("a@igo.com", "s1");
+        WebSocketSession phone = connect("a@igo.com", "s2");
+        WebSocketSession other = connect("b@igo.com", "s3");
+
+        int delivered = handler.broadcastNotification(List.of("a@igo.com", "b@igo.com", "offline@igo.com"),
+                Map.of("type", "SEVERE_WEATHER_ALERT", "title", "호우 특보", "body", "외출 시 우산을 챙기세요"));
+
+        // 세션이 있는 사용자 2명에게 전송 (접속하지 않은 사용자는 제외)
+        assertThat(delivered).isEqualTo(2);
+
+        TextMessage frame = lastFrame(laptop);
+        assertThat(lastFrame(phone)).isSameAs(frame);
+        assertThat(lastFrame(other)).isSameAs(frame);
+        assertThat(frame.getPayload()).contains("\"type\":\"SEVERE_WEATHER_ALERT\"").contains("호우 특보");
+
+        assertThat(meterRegistry.get("igo.websocket.broadcasts").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("igo.websocket.frames").tag("result", "sent").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void broadcastSkipsUsersWhoseSessionsAreClosed() throws Exception {
+        connect("a@igo.com", "s1");
+        WebSocketSession closed = connect("b@igo.com", "s2");
+        when(closed.isOpen()).thenReturn(false);
+
+        int delivered = handler.broadcastNotification(List.of("a@igo.com", "b@igo.com"),
+                Map.of("type", "SEVERE_WEATHER_ALERT"));
+
+        assertThat(delivered).isEqualTo(1);
+        assertThat(meterRegistry.get("igo.websocket.frames").tag("result", "sent").counter().count()).isEqualTo(1);
+    }
+
+    private WebSocketSession connect(String userEmail, String sessionId) throws Exception {
+        String token = "token-" + sessionId;
+        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
+        when(jwtTokenProvider.getUserId(token)).thenReturn(userEmail);
+
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        when(session.getId()).thenReturn(sessionId);
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/ws/notifications?token=" + token));
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+
+        handler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    // 연결 성공 메시지 다음으로 받은 프레임
+    @SuppressWarnings("unchecked")
+    private TextMessage lastFrame(WebSocketSession session) throws Exception {
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, times(2)).sendMessage(captor.capture());
+        return (TextMessage) captor.getValue();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatIntentParserTest {
+
+    // 2026-10-16 (금) 오전 10시 기준
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 16, 10, 0);
+
+    private ChatIntentParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new ChatIntentParser(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(parser, "enabled", true);
+        ReflectionTestUtils.setField(parser, "maxTitleLength", 30);
+        parser.registerMetrics();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "오늘 일정 보여줘, 2026-10-16T00:00",
+            "내일 뭐 있어?, 2026-10-17T00:00",
+            "모레 약속 알려줘, 2026-10-18T00:00",
+            "3일 후 일정 알려줘, 2026-10-19T00:00",
+            "금요일 일정 보여줘, 2026-10-16T00:00",
+            "다음주 월요일 일정 보여줘, 2026-10-19T00:00",
+            "12월 25일 일정 있어?, 2026-12-25T00:00",
+            "10월 16일 일정 보여줘, 2026-10-16T00:00"
+    })
+    void parsesScheduleQueryDates(String message, String datetime) {
+        Optional<ChatIntentParser.ParsedIntent> parsed = parser.parse(message, NOW);
+
+        assertThat(parsed).isPresent();
+        assertThat(parsed.get().intent()).isEqualTo("QUERY_SCHEDULE");
+        assertThat(parsed.get().slots()).containsExactlyEntriesOf(Map.of("datetime", datetime));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "내일 오후 3시에 스터디 일정 잡아줘, 스터디, 2026-10-17T15:00, ",
+            "모레 15:30에 치과 예약 추가해줘, 치과 예약, 2026-10-18T15:30, ",
+            "내일 오전 9시 반에 면접 일정 등록해줘, 면접, 2026-10-17T09:30, ",
+            "내일 오후 2시부터 4시까지 팀 회의 일정 등록해줘, 팀 회의, 2026-10-17T14:00, 2026-10-17T16:00",
+            "글피 저녁 7시부터 9시까지 동아리 모임 일정 추가해줘, 동아리 모임, 2026-10-19T19:00, 2026-10-19T21:00",
+            "내일 오전 10시부터 오후 1시까지 세미나 일정 등록해줘, 세미나, 2026-10-17T10:00, 2026-10-17T13:00",
+            "내일 12시에 점검 일정 등록해줘, 점검, 2026-10-17T12:00, ",
+            "내일 19시에 스터디 일정 등록해줘, 스터디, 2026-10-17T19:00, "
+    })
+    void parsesScheduleCreateTimes(String message, String title, String datetime, String endTime) {
+        Optional<ChatIntentParser.ParsedIntent> parsed = parser.parse(message, NOW);
+
+        assertThat(parsed).isPresent();
+        assertThat(parsed.get().intent()).isEqualTo("CREATE_SCHEDULE");
+        Map<String, Object> slots = parsed.get().slots();
+        assertThat(slots.get("title")).isEqualTo(title);
+        assertThat(slots.get("datetime")).isEqualTo(datetime);
+        assertThat(slots.get("endTime")).isEqualTo(endTime);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "내일 오후 2시부터 4시까지 잠실역에서 강남역까지 팀 회의 일정 등록해줘, 잠실역, 강남역, 팀 회의",
+            "12월 25일 오후 7시에 강남역에서 홍대입구역으로 송년회 일정 만들어줘, 강남역, 홍대입구역, 송년회",
+            "내일 오후 6시 신촌역에서 합정역으로 동창 모임 추가해줘, 신촌역, 합정역, 동창 모임"
+    })
+    void parsesLocationPairs(String message, String startLocation, String location, String title) {
+        Optional<ChatIntentParser.ParsedIntent> parsed = parser.parse(message, NOW);
+
+        assertThat(parsed).isPresent();
+        Map<String, Object> slots = parsed.get().slots();
+        assertThat(slots.get("startLocation")).isEqualTo(startLocation);
+        assertThat(slots.get("location")).isEqualTo(location);
+        assertThat(slots.get("title")).isEqualTo(title);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // 모델이 판단해야 하는 표현
+            "내일 오후 3시에 출근 루틴 일정 등록해줘",
+            "내일 오후 3시 회의 일정 취소해줘",
+            "매주 월요일 오전 9시에 운동 일정 추가해줘",
+            "내일 오후 2시에 줌 회의 일정 등록해줘",
+            // 날짜가 없거나 두 개 이상
+            "오후 3시에 회의 일정 등록해줘",
+            "오늘이랑 내일 일정 보여줘",
+            // 오전/오후 표시가 없는 1~11시, 시각과 떨어진 시간대 표현, 자정
+            "내일 3시에 회의 일정 등록해줘",
+            "내일 9시 반에 회의 일정 등록해줘",
+            "내일 10시부터 오후 1시까지 세미나 일정 등록해줘",
+            "내일 7시 저녁 약속 잡아줘",
+            "내일 오후 7시에 저녁 약속 잡아줘",
+            "내일 밤 12시에 야식 일정 추가해줘",
+            "오늘 오후 11시부터 밤 12시까지 게임 일정 등록해줘",
+            // 끝 시각이 시작 시각보다 빠름
+            "내일 오후 4시부터 2시까지 회의 일정 등록해줘",
+            // 이미 지났거나 없는 날짜
+            "3월 1일 일정 보여줘",
+            "10월 15일 오후 3시에 회의 일정 등록해줘",
+            "2월 30일 오후 3시에 회의 일정 등록해줘",
+            // 해석하지 못한 내용이 남음
+            "이번주 일정 보여줘",
+            "내일 강남역 일정 보여줘",
+            "내일 오후 2시에 강남역에서 회의 일정 등록해줘",
+            "내일 오후 2시에 회의 일정 등록하고 오후 5시에 저녁 일정도 등록해줘"
+    })
+    void fallsBackToModel(String message) {
+        assertThat(parser.parse(message, NOW)).isEmpty();
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        parser.parse("오늘 일정 보여줘", NOW);
+        parser.parse("내일 3시에 회의 일정 등록해줘", NOW);
+
+        assertThat(parser.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void skipsParsingWhenDisabled() {
+        ReflectionTestUtils.setField(parser, "enabled", false);
+
+        assertThat(parser.parse("오늘 일정 보여줘", NOW)).isEmpty();
+    }
+}
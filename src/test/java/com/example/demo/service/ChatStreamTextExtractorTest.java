@@ -0,0 +1,75 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatStreamTextExtractorTest {
+
+    @Test
+    void streamsOnlyResponseValueOfJson() {
+        ChatStreamTextExtractor extractor = new ChatStreamTextExtractor();
+
+        assertThat(extractor.append("{\"intent\":\"GENERAL_CHAT\",\"slots\":{},")).isEmpty();
+        assertThat(extractor.append("\"response\": \"안녕")).isEqualTo("안녕");
+        assertThat(extractor.append("하세요!\"")).isEqualTo("하세요!");
+        assertThat(extractor.append("}")).isEmpty();
+
+        assertThat(extractor.fullText())
+                .isEqualTo("{\"intent\":\"GENERAL_CHAT\",\"slots\":{},\"response\": \"안녕하세요!\"}");
+    }
+
+    @Test
+    void waitsForResponseFieldNameSplitAcrossChunks() {
+        ChatStreamTextExtractor extractor = new ChatStreamTextExtractor();
+
+        assertThat(extractor.append("{\"resp")).isEmpty();
+        assertThat(extractor.append("onse\":\"네")).isEqualTo("네");
+    }
+
+    @Test
+    void decodesUnicodeEscapeSplitAcrossChunks() {
+        ChatStreamTextExtractor extractor = new ChatStreamTextExtractor();
+        extractor.append("{\"response\":\"");
+
+        assertThat(extractor.append("caf\\u00")).isEqualTo("caf");
+        assertThat(extractor.append("e9 가")).isEqualTo("é 가");
+    }
+
+    @Test
+    void decodesEscapeWhenBackslashEndsChunk() {
+        ChatStreamTextExtractor extractor = new ChatStreamTextExtractor();
+        extractor.append("{\"response\":\"");
+
+        assertThat(extractor.append("첫 줄\\")).isEqualTo("첫 줄");
+        assertThat(extractor.append("n둘째 줄 \\")).isEqualTo("\n둘째 줄 ");
+        assertThat(extractor.append("\"인용\\\"\"}")).isEqualTo("\"인용\"");
+    }
+
+    @Test
+    void stopsAtClosingQuote() {
+        ChatStreamTextExtractor extractor = new ChatStreamTextExtractor();
+
+        assertThat(extractor.append("{\"response\":\"끝\", \"extra\":\"무시\"}")).isEqualTo("끝");
+        assertThat(extractor.append(" 뒤에 온 내용")).isEmpty();
+    }
+
+    @Test
+    void passesPlainTextThrough() {
+        ChatStreamTextExtractor extractor = new ChatStreamTextExtractor();
+
+        assertThat(extractor.append("  ")).isEmpty();
+        assertThat(extractor.append(" 오늘은")).isEqualTo("오늘은");
+        assertThat(extractor.append(" 맑아요")).isEqualTo(" 맑아요");
+    }
+
+    @Test
+    void holdsBackStructuredText() {
+        ChatStreamTextExtractor extractor = new ChatStreamTextExtractor();
+
+        assertThat(extractor.append("INT")).isEmpty();
+        assertThat(extractor.append("ENT: QUERY_SCHEDULE\n")).isEmpty();
+        assertThat(extractor.append("DATETIME: 2026-10-16T00:00")).isEmpty();
+        assertThat(extractor.fullText()).isEqualTo("INTENT: QUERY_SCHEDULE\nDATETIME: 2026-10-16T00:00");
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.midpoint.Coordinates;
+import com.example.demo.dto.midpoint.RecommendedStation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MidpointEngineTest {
+
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private final OdysseyTransitService odysseyTransitService = mock(OdysseyTransitService.class);
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+    private MidpointEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+
+        engine = new MidpointEngine(odysseyTransitService, executor, meterRegistry);
+        ReflectionTestUtils.setField(engine, "sumWeight", 0.5);
+        ReflectionTestUtils.setField(engine, "maxSpeedKmh", 60.0);
+        ReflectionTestUtils.setField(engine, "estimateSpeedKmh", 20.0);
+        ReflectionTestUtils.setField(engine, "estimateOverheadMinutes", 10.0);
+        ReflectionTestUtils.setField(engine, "maxCandidates", 2);
+        ReflectionTestUtils.setField(engine, "parallelism", 2);
+        engine.registerMetrics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void medianOfSinglePointIsThatPoint() {
+        Coordinates median = engine.geometricMedian(List.of(new Coordinates(37.5, 127.0)));
+
+        assertThat(distanceMeters(median, new Coordinates(37.5, 127.0))).isLessThan(1);
+    }
+
+    @Test
+    void medianOfSymmetricPointsIsCenter() {
+        Coordinates median = engine.geometricMedian(List.of(
+                new Coordinates(37.49, 126.99), new Coordinates(37.49, 127.01),
+                new Coordinates(37.51, 126.99), new Coordinates(37.51, 127.01)));
+
+        assertThat(distanceMeters(median, new Coordinates(37.5, 127.0))).isLessThan(1);
+    }
+
+    @Test
+    void medianConvergesToMiddleOfCollinearPoints() {
+        // 가운데 참석자 위치가 기하 중앙값 (산술 평균은 먼 쪽으로 약 3km 끌려감)
+        Coordinates middle = new Coordinates(37.5, 127.0113);
+        Coordinates median = engine.geometricMedian(List.of(
+                new Coordinates(37.5, 127.0), middle, new Coordinates(37.5, 127.113)));
+
+        assertThat(distanceMeters(median, middle)).isLessThan(5);
+    }
+
+    @Test
+    void medianResistsOutlier() {
+        Coordinates center = new Coordinates(37.5, 127.0);
+        Coordinates median = engine.geometricMedian(List.of(
+                center,
+                new Coordinates(37.501, 127.001),
+                new Coordinates(37.499, 127.001),
+                new Coordinates(37.5005, 126.999),
+                new Coordinates(37.70, 127.30)));
+
+        assertThat(distanceMeters(median, center)).isLessThan(200);
+    }
+
+    @Test
+    void medianHandlesCoincidentPoints() {
+        Coordinates same = new Coordinates(37.5, 127.0);
+
+        Coordinates allSame = engine.geometricMedian(List.of(same, same, same));
+        assertThat(distanceMeters(allSame, same)).isLessThan(1);
+
+        // 두 명이 같은 위치면 그 위치가 중앙값 (0으로 나누지 않고 수렴)
+        Coordinates twoSame = engine.geometricMedian(List.of(same, same, new Coordinates(37.5, 127.113)));
+        assertThat(Double.isFinite(twoSame.getLat()) && Double.isFinite(twoSame.getLng())).isTrue();
+        assertThat(distanceMeters(twoSame, same)).isLessThan(5);
+    }
+
+    @Test
+    void medianRejectsEmptyInput() {
+        assertThatThrownBy(() -> engine.geometricMedian(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rankOrdersByTransitMinutesAndPrunesByLowerBound() {
+        ReflectionTestUtils.setField(engine, "parallelism", 1);
+        ReflectionTestUtils.setField(engine, "maxCandidates", 8);
+        // 참석자별 실제 대중교통 시간: 한가운데역만 느리고 나머지는 20분
+        when(odysseyTransitService.getTransitTime(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> invocation.getArgument(3, Double.class) == 37.50 ? 35 : 20);
+        List<Coordinates> participants = List.of(new Coordinates(37.50, 127.00), new Coordinates(37.50, 127.04));
+        RecommendedStation center = station("한가운데역", 37.50, 127.02, 2);
+        RecommendedStation north = station("북쪽역", 37.501, 127.02, 4);
+        RecommendedStation south = station("남쪽역", 37.499, 127.02, 2);
+        // 직선 거리 하한(약 22분씩)만으로도 점수가 상위 2개(30점)보다 나빠 ODsay를 호출하지 않아야 함
+        RecommendedStation far = station("먼역", 37.70, 127.02, 5);
+
+        List<MidpointEngine.ScoredStation> ranked = engine.rank(participants, List.of(far, south, north, center), 2);
+
+        // 직선 거리가 가장 가까운 한가운데역(35분)보다 20분인 역이 앞서고, 점수가 같으면 환승 노선이 많은 역이 먼저
+        assertThat(ranked).extracting(MidpointEngine.ScoredStation::station).containsExactly(north, south);
+        assertThat(ranked.get(0).maxMinutes()).isEqualTo(20);
+        assertThat(ranked.get(0).score()).isEqualTo(30);
+        assertThat(ranked).allSatisfy(scored -> assertThat(scored.estimated()).isFalse());
+
+        verify(odysseyTransitService, never()).getTransitTime(anyDouble(), anyDouble(), anyDouble(), eq(37.70));
+        assertThat(candidateCount("evaluated")).isEqualTo(3);
+        assertThat(candidateCount("pruned")).isEqualTo(1);
+        assertThat(candidateCount("capped")).isZero();
+    }
+
+    @Test
+    void rankMarksEstimatedScoresAndCountsCappedCandidates() {
+        // ODsay 조회 실패 -> 모든 참석자 시간을 거리로 추정
+        when(odysseyTransitService.getTransitTime(anyDouble(), anyDouble(), anyDouble(), anyDouble())).thenReturn(null);
+        List<Coordinates> participants = List.of(new Coordinates(37.50, 127.00), new Coordinates(37.50, 127.04));
+        RecommendedStation middle = station("가운데역", 37.50, 127.02, 2);
+        RecommendedStation nearby = station("근처역", 37.51, 127.02, 2);
+        RecommendedStation far = station("먼역", 37.60, 127.02, 2);
+
+        List<MidpointEngine.ScoredStation> ranked = engine.rank(participants, List.of(far, nearby, middle), 1);
+
+        assertThat(ranked).hasSize(1);
+        assertThat(ranked.get(0).station()).isSameAs(middle);
+        assertThat(ranked.get(0).estimatedCount()).isEqualTo(2);
+        assertThat(ranked.get(0).estimated()).isTrue();
+
+        // max-candidates(2)에서 잘린 먼역은 pruned가 아니라 capped로 집계
+        assertThat(candidateCount("capped")).isEqualTo(1);
+        assertThat(candidateCount("evaluated") + candidateCount("pruned")).isEqualTo(2);
+    }
+
+    private RecommendedStation station(String name, double lat, double lng, int laneCount) {
+        return new RecommendedStation(name, lng, lat, Set.of("2호선", "신분당선"), laneCount, null, null, null);
+    }
+
+    private double candidateCount(String result) {
+        return meterRegistry.get("igo.midpoint.engine.candidates").tag("result", result).counter().count();
+    }
+
+    private double distanceMeters(Coordinates a, Coordinates b) {
+        double dLat = (a.getLat() - b.getLat()) * METERS_PER_DEGREE_LAT;
+        double dLng = (a.getLng() - b.getLng()) * METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(a.getLat()));
+        return Math.hypot(dLat, dLng);
+    }
+}
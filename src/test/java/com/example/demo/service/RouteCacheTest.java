@@ -0,0 +1,100 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteCacheTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 10, 16, 10, 5);
+
+    // 강남역 부근, 격자 칸 가운데쯤
+    private static final double START_X = 127.0271;
+    private static final double START_Y = 37.4979;
+    private static final double END_X = 127.1000;
+    private static final double END_Y = 37.5133;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RouteCache routeCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        routeCache = new RouteCache(meterRegistry);
+        ReflectionTestUtils.setField(routeCache, "cellMeters", 100.0);
+        ReflectionTestUtils.setField(routeCache, "timeBucketMinutes", 30);
+        ReflectionTestUtils.setField(routeCache, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(routeCache, "maxSize", 100);
+    }
+
+    @Test
+    void nearbyCoordinatesShareKey() {
+        RouteCache.RouteKey key = routeCache.key("tmap", START_X, START_Y, END_X, END_Y, DEPARTURE);
+        // 약 3m 떨어진 좌표
+        RouteCache.RouteKey nearby = routeCache.key("tmap", START_X + 0.00002, START_Y + 0.00002, END_X, END_Y, DEPARTURE);
+
+        assertThat(nearby).isEqualTo(key);
+    }
+
+    @Test
+    void pointsInSameLatitudeBandShareLongitudeGrid() {
+        // 같은 위도 칸 위쪽 경계 부근에서 위도만 약 5m 다른 두 점 (경도는 경도 칸 경계 근처)
+        // 각 점의 위도로 경도 칸 크기를 계산하면 서로 다른 경도 칸이 됨
+        RouteCache.RouteKey lower = routeCache.key("tmap", 127.02805, 37.498143, END_X, END_Y, DEPARTURE);
+        RouteCache.RouteKey upper = routeCache.key("tmap", 127.02805, 37.498193, END_X, END_Y, DEPARTURE);
+
+        assertThat(upper).isEqualTo(lower);
+    }
+
+    @Test
+    void distantCoordinatesGetDifferentKey() {
+        RouteCache.RouteKey key = routeCache.key("tmap", START_X, START_Y, END_X, END_Y, DEPARTURE);
+        // 약 330m 북쪽
+        RouteCache.RouteKey moved = routeCache.key("tmap", START_X, START_Y + 0.003, END_X, END_Y, DEPARTURE);
+
+        assertThat(moved).isNotEqualTo(key);
+    }
+
+    @Test
+    void groupsDepartureTimesByBucket() {
+        RouteCache.RouteKey key = routeCache.key("tmap", START_X, START_Y, END_X, END_Y, DEPARTURE);
+
+        assertThat(routeCache.key("tmap", START_X, START_Y, END_X, END_Y, DEPARTURE.plusMinutes(20)))
+                .isEqualTo(key);
+        assertThat(routeCache.key("tmap", START_X, START_Y, END_X, END_Y, DEPARTURE.plusMinutes(35)))
+                .isNotEqualTo(key);
+    }
+
+    @Test
+    void separatesModesForSameRoute() {
+        RouteCache.RouteKey car = routeCache.key("tmap", START_X, START_Y, END_X, END_Y, DEPARTURE);
+        RouteCache.RouteKey transit = car.withMode("tmap-transit");
+
+        assertThat(transit).isNotEqualTo(car);
+        assertThat(transit).isEqualTo(routeCache.key("tmap-transit", START_X, START_Y, END_X, END_Y, DEPARTURE));
+    }
+
+    @Test
+    void createdCacheReportsHitsAndMisses() {
+        SingleFlightCache<RouteCache.RouteKey, Integer> cache = routeCache.create("odsay-transit");
+        RouteCache.RouteKey key = routeCache.key("odsay-transit", START_X, START_Y, END_X, END_Y, DEPARTURE);
+
+        cache.get(key, () -> CompletableFuture.completedFuture(25)).join();
+        cache.get(key, () -> CompletableFuture.completedFuture(30)).join();
+
+        assertThat(meterRegistry.get("igo.route.cache.requests")
+                .tag("cache", "odsay-transit").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("igo.route.cache.requests")
+                .tag("cache", "odsay-transit").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("igo.route.cache.hit.ratio")
+                .tag("cache", "odsay-transit").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("igo.route.cache.size")
+                .tag("cache", "odsay-transit").gauge().value()).isEqualTo(1);
+    }
+}
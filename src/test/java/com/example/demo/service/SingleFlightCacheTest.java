@@ -0,0 +1,117 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightCacheTest {
+
+    private static final long ONE_HOUR = 60 * 60 * 1000;
+
+    @Test
+    void coalescesConcurrentRequestsForSameKey() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>("test", 10, ONE_HOUR);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+
+        CompletableFuture<Integer> first = cache.get("a", () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<Integer> second = cache.get("a", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(2);
+        });
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).isNotDone();
+        pending.complete(1);
+
+        assertThat(first.join()).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reusesCompletedValueUntilTtlExpires() throws InterruptedException {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>("test", 10, 50);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join();
+        assertThat(cache.getIfPresent("a")).isEqualTo(1);
+
+        Thread.sleep(100);
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.get("a", () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheFailedLoads() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>("test", 10, ONE_HOUR);
+
+        CompletableFuture<Integer> failed = cache.get("a",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("조회 실패")));
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(cache.size()).isZero();
+
+        CompletableFuture<Integer> retried = cache.get("a", () -> CompletableFuture.completedFuture(1));
+        assertThat(retried.join()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheLoaderThatThrows() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>("test", 10, ONE_HOUR);
+
+        CompletableFuture<Integer> failed = cache.get("a", () -> {
+            throw new IllegalStateException("조회 실패");
+        });
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesFirst() throws InterruptedException {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>("test", 3, ONE_HOUR);
+
+        put(cache, "a", 1);
+        put(cache, "b", 2);
+        put(cache, "c", 3);
+        Thread.sleep(5);
+        assertThat(cache.getIfPresent("a")).isEqualTo(1); // a를 가장 최근에 사용한 항목으로 갱신
+
+        // 최대 크기를 넘으면 90%(2개)까지 오래 사용되지 않은 b, c부터 제거
+        put(cache, "d", 4);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getIfPresent("a")).isEqualTo(1);
+        assertThat(cache.getIfPresent("d")).isEqualTo(4);
+        assertThat(cache.getIfPresent("b")).isNull();
+        assertThat(cache.getIfPresent("c")).isNull();
+    }
+
+    @Test
+    void keepsInFlightEntriesWhenEvicting() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>("test", 1, ONE_HOUR);
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+
+        CompletableFuture<Integer> inFlight = cache.get("a", () -> pending);
+        put(cache, "b", 2);
+
+        // 진행 중인 계산은 제거하지 않아 같은 Future를 계속 공유
+        assertThat(cache.get("a", () -> CompletableFuture.completedFuture(0))).isSameAs(inFlight);
+    }
+
+    private static void put(SingleFlightCache<String, Integer> cache, String key, int value) {
+        try {
+            Thread.sleep(5); // 항목마다 마지막 사용 시각이 달라지도록
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        cache.get(key, () -> CompletableFuture.completedFuture(value)).join();
+    }
+}